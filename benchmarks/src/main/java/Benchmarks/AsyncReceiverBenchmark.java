@@ -0,0 +1,102 @@
+package Benchmarks;
+
+import Receiver.AsyncReceiver;
+import Receiver.ConcurrentReceiver;
+import Utils.FileManager;
+import Utils.PersistenceMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the latency of an update followed by a save when the save is
+ * written by the caller, with a {@link ConcurrentReceiver}, and when it is
+ * left to the background writer of an {@link AsyncReceiver}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class AsyncReceiverBenchmark {
+
+    /** Number of entries in the store. */
+    @Param({"1000", "100000"})
+    public int size;
+
+    /** Strategy used to persist the entries. */
+    @Param({"SNAPSHOT", "JOURNAL"})
+    public PersistenceMode mode;
+
+    /** Whether saves are written in the background. */
+    @Param({"false", "true"})
+    public boolean async;
+
+    /** The store under test. */
+    private ConcurrentReceiver receiver;
+
+    /** Standard output, restored after the benchmark. */
+    private PrintStream stdout;
+
+    /**
+     * Writes a data file of the given size and loads it.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataStoreFixture.writeDataFile(size);
+        stdout = System.out;
+        System.setOut(DataStoreFixture.DISCARD);
+        FileManager fileManager = new FileManager(mode);
+        receiver = async
+                ? AsyncReceiver.open(
+                        fileManager,
+                        AsyncReceiver.DEFAULT_INTERVAL_MILLIS,
+                        AsyncReceiver.DEFAULT_DIRTY_THRESHOLD
+                )
+                : new ConcurrentReceiver(fileManager);
+    }
+
+    /**
+     * Stops the background writer and restores the data file and standard
+     * output.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (receiver instanceof AsyncReceiver) {
+            ((AsyncReceiver) receiver).close();
+        }
+        System.setOut(stdout);
+        DataStoreFixture.writeDataFile(size);
+    }
+
+    /**
+     * Overwrites the first name of a random entry and saves the store.
+     */
+    @Benchmark
+    public void updateAndSave() {
+        receiver.update(
+                ThreadLocalRandom.current().nextInt(size), "Jean", null, null
+        );
+        receiver.storeToFile();
+    }
+}
\ No newline at end of file
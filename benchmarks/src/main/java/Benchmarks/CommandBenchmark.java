@@ -0,0 +1,159 @@
+package Benchmarks;
+
+import Command.AddCommand;
+import Command.DeleteCommand;
+import Command.FindCommand;
+import Command.ListCommand;
+import Command.RedoCommand;
+import Command.UndoCommand;
+import Command.UndoHistory;
+import Command.UpdateCommand;
+import Receiver.Receiver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks every command against a store of the given size.
+ *
+ * <p>Mutating commands are paired with their undo so that the store keeps
+ * the same size across invocations.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class CommandBenchmark {
+
+    /** Number of entries in the store. */
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    /** The store under test. */
+    private Receiver receiver;
+
+    /** History of executed commands. */
+    private UndoHistory history;
+
+    /** 1-based index of the entry in the middle of the store. */
+    private String middle;
+
+    /** Standard output, restored after the benchmark. */
+    private PrintStream stdout;
+
+    /**
+     * Writes a data file of the given size and loads it.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataStoreFixture.writeDataFile(size);
+        stdout = System.out;
+        System.setOut(DataStoreFixture.DISCARD);
+        receiver = new Receiver();
+        history = new UndoHistory();
+        middle = String.valueOf(size / 2 + 1);
+    }
+
+    /**
+     * Restores standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * Adds an entry and undoes the addition.
+     */
+    @Benchmark
+    public void addAndUndo() {
+        AddCommand add = new AddCommand(receiver, "john pork jo@pig.com");
+        add.execute();
+        add.undo();
+    }
+
+    /**
+     * Updates the entry in the middle of the store.
+     */
+    @Benchmark
+    public void update() {
+        new UpdateCommand(
+                receiver, middle + " jean luc jean.luc@domain.com"
+        ).execute();
+    }
+
+    /**
+     * Deletes the entry in the middle of the store and undoes the deletion.
+     */
+    @Benchmark
+    public void deleteAndUndo() {
+        DeleteCommand delete = new DeleteCommand(receiver, middle);
+        delete.execute();
+        delete.undo();
+    }
+
+    /**
+     * Updates the entry in the middle of the store and reverts it through an
+     * {@link UndoCommand}.
+     */
+    @Benchmark
+    public void updateAndUndoCommand() {
+        UpdateCommand update = new UpdateCommand(
+                receiver, middle + " jean luc jean.luc@domain.com"
+        );
+        update.execute();
+        history.record(update);
+        new UndoCommand(receiver, history).execute();
+    }
+
+    /**
+     * Updates the entry in the middle of the store, undoes the update and
+     * redoes it from the history.
+     */
+    @Benchmark
+    public void updateUndoAndRedo() {
+        UpdateCommand update = new UpdateCommand(
+                receiver, middle + " jean luc jean.luc@domain.com"
+        );
+        update.execute();
+        history.record(update);
+        new UndoCommand(receiver, history).execute();
+        new RedoCommand(receiver, history).execute();
+    }
+
+    /**
+     * Lists every entry in the store.
+     */
+    @Benchmark
+    public void list() {
+        new ListCommand(receiver).execute();
+    }
+
+    /**
+     * Finds an entry by email.
+     */
+    @Benchmark
+    public void findByEmail() {
+        new FindCommand(
+                receiver, "email " + DataStoreFixture.email(size / 2)
+        ).execute();
+    }
+}
\ No newline at end of file
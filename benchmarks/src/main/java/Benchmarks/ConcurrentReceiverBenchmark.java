@@ -0,0 +1,127 @@
+package Benchmarks;
+
+import Receiver.ConcurrentReceiver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of a {@link ConcurrentReceiver} shared by several
+ * threads.
+ *
+ * <p>Run with {@code -t 1}, {@code -t 4} and {@code -t 16} to compare the
+ * lookup and update benchmarks at each thread count, and with
+ * {@code -tg 1,1}, {@code -tg 3,1} or {@code -tg 15,1} to change the mix of
+ * the readers and the writer in the {@code mixed} group.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ConcurrentReceiverBenchmark {
+
+    /** Number of entries in the store. */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** The store shared by every thread. */
+    private ConcurrentReceiver receiver;
+
+    /** Standard output, restored after the benchmark. */
+    private PrintStream stdout;
+
+    /**
+     * Writes a data file of the given size and loads it.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataStoreFixture.writeDataFile(size);
+        stdout = System.out;
+        System.setOut(DataStoreFixture.DISCARD);
+        receiver = new ConcurrentReceiver();
+    }
+
+    /**
+     * Restores standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * Finds a random entry by email.
+     *
+     * @return the positions of the matching entries
+     */
+    @Benchmark
+    public int[] lookup() {
+        return receiver.findByEmail(
+                DataStoreFixture.email(ThreadLocalRandom.current().nextInt(size))
+        );
+    }
+
+    /**
+     * Reads the email of a random entry.
+     *
+     * @return the email
+     */
+    @Benchmark
+    public String read() {
+        return receiver.getEmail(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    /**
+     * Overwrites the first name of a random entry.
+     */
+    @Benchmark
+    public void update() {
+        receiver.update(
+                ThreadLocalRandom.current().nextInt(size), "Jean", null, null
+        );
+    }
+
+    /**
+     * Reader half of the {@code mixed} group: reads random entries while a
+     * writer updates others.
+     *
+     * @return the email
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public String mixedRead() {
+        return read();
+    }
+
+    /**
+     * Writer half of the {@code mixed} group.
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedUpdate() {
+        update();
+    }
+}
\ No newline at end of file
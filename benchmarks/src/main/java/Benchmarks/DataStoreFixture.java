@@ -0,0 +1,63 @@
+package Benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Helpers shared by the benchmarks to prepare a data store of a given size.
+ */
+public class DataStoreFixture {
+
+    /** Data file read by {@link Utils.FileManager}, relative to the working directory. */
+    public static final Path DATA_FILE = Paths.get("src/dataStore.txt");
+
+    /** Journal file written by {@link Utils.FileManager} in journal mode. */
+    public static final Path JOURNAL_FILE = Paths.get("src/dataStore.journal");
+
+    /** Stream that discards everything written to it. */
+    public static final PrintStream DISCARD =
+            new PrintStream(OutputStream.nullOutputStream());
+
+    /**
+     * Writes a data file with the given number of entries, replacing any
+     * existing data file and journal.
+     *
+     * @param size the number of entries to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeDataFile(int size) throws IOException {
+        Files.createDirectories(DATA_FILE.getParent());
+        Files.deleteIfExists(JOURNAL_FILE);
+        try (BufferedWriter writer = Files.newBufferedWriter(DATA_FILE)) {
+            for (int i = 0; i < size; i++) {
+                writer.write(entry(i));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Builds the entry with the given number.
+     *
+     * @param i the entry number
+     * @return the entry as {@code "<first> <last> <email>"}
+     */
+    public static String entry(int i) {
+        return "First" + i + " Last" + (i % 1000) + " " + email(i);
+    }
+
+    /**
+     * Builds the email of the entry with the given number.
+     *
+     * @param i the entry number
+     * @return the email of the entry
+     */
+    public static String email(int i) {
+        return "user" + i + "@example.com";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package Benchmarks;
+
+import Utils.Durability;
+import Utils.FileManager;
+import Utils.LoadMode;
+import Utils.PersistenceMode;
+import Utils.StoreFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of a save at each {@link Durability} level, both for
+ * rewriting the whole data file and for appending one change to the
+ * journal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class DurabilityBenchmark {
+
+    /** Number of entries in the data file. */
+    @Param({"1000", "100000"})
+    public int size;
+
+    /** Durability of the saves. */
+    @Param({"NONE", "FSYNC", "GROUP_COMMIT"})
+    public Durability durability;
+
+    /** Entries saved by the snapshot benchmark. */
+    private List<String> entries;
+
+    /** File manager rewriting the whole data file on save. */
+    private FileManager snapshots;
+
+    /** File manager appending changes to the journal on save. */
+    private FileManager journal;
+
+    /** Number of the next entry added to the journal. */
+    private int next;
+
+    /** Standard output, restored after the benchmark. */
+    private PrintStream stdout;
+
+    /**
+     * Writes a data file of the given size and opens it in both modes.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataStoreFixture.writeDataFile(size);
+        stdout = System.out;
+        System.setOut(DataStoreFixture.DISCARD);
+        snapshots = new FileManager(
+                PersistenceMode.SNAPSHOT, LoadMode.EAGER, StoreFormat.TEXT,
+                durability
+        );
+        entries = new ArrayList<>(snapshots.loadFromFile());
+        journal = new FileManager(
+                PersistenceMode.JOURNAL, LoadMode.EAGER, StoreFormat.TEXT,
+                durability
+        );
+        journal.loadFromFile();
+        next = size;
+    }
+
+    /**
+     * Restores the data file and standard output.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(stdout);
+        DataStoreFixture.writeDataFile(size);
+    }
+
+    /**
+     * Atomically replaces the whole data file.
+     */
+    @Benchmark
+    public void saveSnapshot() {
+        snapshots.saveToFile(entries);
+    }
+
+    /**
+     * Appends one added entry to the journal. The journal is compacted, as
+     * in normal use, whenever it holds as many records as there are
+     * entries.
+     */
+    @Benchmark
+    public void saveJournal() {
+        String entry = DataStoreFixture.entry(next++);
+        journal.getJournal().logAdd(entry);
+        entries.add(entry);
+        journal.saveToFile(entries);
+    }
+}
\ No newline at end of file
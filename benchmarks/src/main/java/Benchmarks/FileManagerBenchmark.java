@@ -0,0 +1,139 @@
+package Benchmarks;
+
+import Utils.FileManager;
+import Utils.LoadMode;
+import Utils.PersistenceMode;
+import Utils.StoreConverter;
+import Utils.StoreFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks loading and saving the data file with {@link FileManager}, in
+ * both the text and binary formats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class FileManagerBenchmark {
+
+    /** Number of entries in the data file. */
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    /** Entries saved by the save benchmarks. */
+    private List<String> entries;
+
+    /** Standard output, restored after the benchmark. */
+    private PrintStream stdout;
+
+    /**
+     * Writes a data file of the given size.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataStoreFixture.writeDataFile(size);
+        stdout = System.out;
+        System.setOut(DataStoreFixture.DISCARD);
+        entries = new ArrayList<>(new FileManager().loadFromFile());
+        StoreConverter.toBinary(
+                DataStoreFixture.DATA_FILE, Paths.get("src/dataStore.bin")
+        );
+    }
+
+    /**
+     * Restores the data file and standard output.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(stdout);
+        DataStoreFixture.writeDataFile(size);
+    }
+
+    /**
+     * Loads and decodes every line of the data file.
+     *
+     * @return the loaded entries
+     */
+    @Benchmark
+    public List<String> loadEager() {
+        return new FileManager(PersistenceMode.SNAPSHOT, LoadMode.EAGER)
+                .loadFromFile();
+    }
+
+    /**
+     * Maps the data file and indexes its lines without decoding them.
+     *
+     * @return the loaded entries
+     */
+    @Benchmark
+    public List<String> loadMapped() {
+        return new FileManager(PersistenceMode.SNAPSHOT, LoadMode.MAPPED)
+                .loadFromFile();
+    }
+
+    /**
+     * Reads and decodes every record of the binary data file.
+     *
+     * @return the loaded entries
+     */
+    @Benchmark
+    public List<String> loadBinary() {
+        return new FileManager(
+                PersistenceMode.SNAPSHOT, LoadMode.EAGER, StoreFormat.BINARY
+        ).loadFromFile();
+    }
+
+    /**
+     * Rewrites the whole binary data file, with its checksum.
+     */
+    @Benchmark
+    public void saveBinary() {
+        new FileManager(
+                PersistenceMode.SNAPSHOT, LoadMode.EAGER, StoreFormat.BINARY
+        ).saveToFile(entries);
+    }
+
+    /**
+     * Rewrites the whole data file.
+     */
+    @Benchmark
+    public void saveSnapshot() {
+        new FileManager(PersistenceMode.SNAPSHOT).saveToFile(entries);
+    }
+
+    /**
+     * Appends one added entry to the journal and flushes it.
+     */
+    @Benchmark
+    public void saveJournal() {
+        FileManager fileManager = new FileManager(PersistenceMode.JOURNAL);
+        fileManager.getJournal().logAdd(DataStoreFixture.entry(size));
+        fileManager.saveToFile(entries);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package Benchmarks;
+
+import Command.AddCommand;
+import Command.ImportCommand;
+import Receiver.Receiver;
+import Utils.InvalidInputException;
+import Utils.OutputSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks an {@link ImportCommand} of a file in which a given share of
+ * the lines is invalid, into an empty store.
+ *
+ * <p>Also measures rejecting a single invalid line, which is what the
+ * invalid lines add to the import.</p>
+ *
+ * <p>The import is undone after each invocation so that the store stays
+ * empty. Output is discarded, so that the cost of rejecting invalid lines
+ * is not hidden behind printing their error messages.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ImportBenchmark {
+
+    /** File the lines to import are written to. */
+    private static final Path IMPORT_FILE = Paths.get("import.txt");
+
+    /** Number of lines in the file. */
+    @Param({"100000"})
+    public int lines;
+
+    /** Percentage of the lines that are invalid. */
+    @Param({"0", "20"})
+    public int invalidPercent;
+
+    /** The store under test. */
+    private Receiver receiver;
+
+    /**
+     * Writes the file to import and loads an empty store.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataStoreFixture.writeDataFile(0);
+        try (BufferedWriter writer = Files.newBufferedWriter(IMPORT_FILE)) {
+            for (int i = 0; i < lines; i++) {
+                if (i % 100 < invalidPercent) {
+                    // Alternate between a bad email and a missing field
+                    writer.write(i % 2 == 0
+                            ? "first" + i + " last" + i + " not-an-email"
+                            : "first" + i + " " + DataStoreFixture.email(i));
+                } else {
+                    writer.write(DataStoreFixture.entry(i));
+                }
+                writer.newLine();
+            }
+        }
+        receiver = new Receiver();
+        receiver.setOutput(OutputSink.QUIET);
+    }
+
+    /**
+     * Imports the file and removes the entries again.
+     */
+    @Benchmark
+    public void importAndUndo() {
+        ImportCommand command = new ImportCommand(receiver, IMPORT_FILE);
+        command.execute();
+        command.undo();
+    }
+
+    /**
+     * Validates an add with an invalid email, as an import does for each
+     * line.
+     *
+     * @return the error message
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String rejectInvalidLine() {
+        try {
+            new AddCommand(receiver, "first last not-an-email").validate();
+            return null;
+        } catch (InvalidInputException e) {
+            return e.getMessage();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package Benchmarks;
+
+import Command.ImportCommand;
+import Receiver.Receiver;
+import Utils.OutputSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks how an {@link ImportCommand} of a large file into an empty
+ * store scales with the number of threads that parse it.
+ *
+ * <p>The file is parsed on a {@link ForkJoinPool} of the given parallelism,
+ * so running every parallelism up to the number of cores shows the
+ * speed-up of the parallel parsing over one thread, for example with
+ * {@code -PjmhArgs="ImportScalingBenchmark -p lines=10000000"}. Entries are
+ * added to the receiver on the calling thread either way, in the order of
+ * the file, so the speed-up levels off once parsing a chunk takes less
+ * time than adding the previous one.</p>
+ *
+ * <p>Each import takes long enough to be timed on its own. It is undone
+ * after each invocation, outside the timing, so that the store stays
+ * empty. Output is discarded.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ImportScalingBenchmark {
+
+    /** File the lines to import are written to. */
+    private static final Path IMPORT_FILE = Paths.get("import-scaling.txt");
+
+    /** Number of lines in the file. */
+    @Param({"100000", "1000000", "10000000"})
+    public int lines;
+
+    /** Number of threads that parse the file. */
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    /** The pool that the file is parsed on. */
+    private ForkJoinPool pool;
+
+    /** The store under test. */
+    private Receiver receiver;
+
+    /** The import of the last invocation. */
+    private ImportCommand command;
+
+    /**
+     * Writes the file to import and loads an empty store.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataStoreFixture.writeDataFile(0);
+        try (BufferedWriter writer = Files.newBufferedWriter(IMPORT_FILE)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write(DataStoreFixture.entry(i));
+                writer.newLine();
+            }
+        }
+        pool = new ForkJoinPool(parallelism);
+        receiver = new Receiver();
+        receiver.setOutput(OutputSink.QUIET);
+    }
+
+    /**
+     * Removes the entries added by the last import.
+     */
+    @TearDown(Level.Invocation)
+    public void undo() {
+        command.undo();
+    }
+
+    /**
+     * Shuts the pool down.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Imports the file.
+     */
+    @Benchmark
+    public void importFile() {
+        command = new ImportCommand(receiver, IMPORT_FILE, pool);
+        command.execute();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package Benchmarks;
+
+import Receiver.Receiver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the buffered {@link Receiver#list()} with printing each entry
+ * through {@code printf}, as the receiver used to.
+ *
+ * <p>Output goes to an auto-flushing {@link PrintStream} over a discarding
+ * stream, like {@code System.out}, so the cost of formatting, encoding and
+ * flushing is measured without any terminal.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ListBenchmark {
+
+    /** Number of entries in the store. */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** The store under test. */
+    private Receiver receiver;
+
+    /** Standard output, restored after the benchmark. */
+    private PrintStream stdout;
+
+    /**
+     * Writes a data file of the given size and loads it.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataStoreFixture.writeDataFile(size);
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream(), true));
+        receiver = new Receiver();
+    }
+
+    /**
+     * Restores standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * Lists every entry through the buffered list path.
+     */
+    @Benchmark
+    public void buffered() {
+        receiver.list();
+    }
+
+    /**
+     * Lists every entry with one {@code printf} per entry.
+     */
+    @Benchmark
+    public void printf() {
+        List<String> entries = receiver.getDataEntries();
+        for (int i = 0; i < entries.size(); i++) {
+            System.out.printf("%02d. %s\n", i + 1, entries.get(i));
+        }
+    }
+
+    /**
+     * Lists a page of 100 entries from the middle of the store.
+     */
+    @Benchmark
+    public void page() {
+        receiver.list(size / 2, 100);
+    }
+}
\ No newline at end of file
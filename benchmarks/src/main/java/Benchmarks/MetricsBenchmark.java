@@ -0,0 +1,119 @@
+package Benchmarks;
+
+import Command.Command;
+import Command.FindCommand;
+import Command.UndoHistory;
+import Command.UpdateCommand;
+import Invoker.Invoker;
+import Receiver.Receiver;
+import Utils.Metrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of recording {@link Metrics} when commands are
+ * executed through an {@link Invoker}, using cheap commands so that the
+ * overhead is as visible as it can be.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class MetricsBenchmark {
+
+    /** Number of entries in the store. */
+    private static final int SIZE = 1000;
+
+    /** Whether metrics are recorded. */
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    /** The store under test. */
+    private Receiver receiver;
+
+    /** History of executed commands. */
+    private UndoHistory history;
+
+    /** Invoker executing the commands. */
+    private Invoker invoker;
+
+    /** Standard output, restored after the benchmark. */
+    private PrintStream stdout;
+
+    /**
+     * Writes a data file and loads it.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataStoreFixture.writeDataFile(SIZE);
+        stdout = System.out;
+        System.setOut(DataStoreFixture.DISCARD);
+        Metrics.setEnabled(enabled);
+        receiver = new Receiver();
+        history = new UndoHistory();
+        invoker = new Invoker();
+    }
+
+    /**
+     * Restores standard output and re-enables metrics.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+        Metrics.setEnabled(true);
+    }
+
+    /**
+     * Updates an entry, which is recorded in the history.
+     */
+    @Benchmark
+    public void update() {
+        execute(new UpdateCommand(receiver, "500 jean luc jl@domain.com"));
+    }
+
+    /**
+     * Looks an entry up by email through the index.
+     */
+    @Benchmark
+    public void find() {
+        execute(new FindCommand(
+                receiver, "email " + DataStoreFixture.email(SIZE / 2)
+        ));
+    }
+
+    /**
+     * Runs a failing update, whose error message is printed.
+     */
+    @Benchmark
+    public void failure() {
+        execute(new UpdateCommand(receiver, "0 jean"));
+    }
+
+    /**
+     * Executes a command through the invoker.
+     *
+     * @param command the command to execute
+     */
+    private void execute(Command command) {
+        invoker.executeCommand(command, history);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package Benchmarks;
+
+import Utils.AsyncSink;
+import Utils.BufferedSink;
+import Utils.OutputSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of printing the one-line message of a command through
+ * each {@link OutputSink}, writing to a file as a stand-in for the
+ * terminal.
+ *
+ * <p>{@code stdout} prints through a {@link PrintStream} that flushes on
+ * every line, as {@link System#out} does.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class OutputSinkBenchmark {
+
+    /** File the output is written to. */
+    private static final String OUTPUT_FILE = "output.txt";
+
+    /** Sink under test. */
+    @Param({"stdout", "buffered", "async", "quiet"})
+    public String sink;
+
+    /** The sink under test. */
+    private OutputSink output;
+
+    /** Standard output, restored after the benchmark. */
+    private PrintStream stdout;
+
+    /**
+     * Opens the output file and the sink writing to it.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stdout = System.out;
+        switch (sink) {
+            case "stdout":
+                System.setOut(new PrintStream(
+                        new FileOutputStream(OUTPUT_FILE), true
+                ));
+                output = OutputSink.STDOUT;
+                break;
+            case "buffered":
+                output = new BufferedSink(
+                        new FileOutputStream(OUTPUT_FILE),
+                        BufferedSink.DEFAULT_BUFFER_SIZE
+                );
+                break;
+            case "async":
+                output = new AsyncSink(new BufferedSink(
+                        new FileOutputStream(OUTPUT_FILE),
+                        BufferedSink.DEFAULT_BUFFER_SIZE
+                ));
+                break;
+            default:
+                output = OutputSink.QUIET;
+        }
+    }
+
+    /**
+     * Closes the sink and restores standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        output.close();
+        if (System.out != stdout) {
+            System.out.close();
+            System.setOut(stdout);
+        }
+    }
+
+    /**
+     * Prints the message of an add.
+     */
+    @Benchmark
+    public void println() {
+        output.println("Add");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package Benchmarks;
+
+import Receiver.Receiver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares positional edits and lookups on the {@link Receiver} with an
+ * {@link ArrayList} of formatted entries and a linear scan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class PositionalBenchmark {
+
+    /** Number of entries in the store. */
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    /** The store under test. */
+    private Receiver receiver;
+
+    /** Baseline list holding the same entries. */
+    private List<String> baseline;
+
+    /** Email of the entry in the middle of the store. */
+    private String email;
+
+    /** Suffix of the baseline entry with that email. */
+    private String emailSuffix;
+
+    /** Standard output, restored after the benchmark. */
+    private PrintStream stdout;
+
+    /**
+     * Writes a data file of the given size and loads it into the receiver
+     * and the baseline list.
+     *
+     * @throws IOException if the data file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataStoreFixture.writeDataFile(size);
+        stdout = System.out;
+        System.setOut(DataStoreFixture.DISCARD);
+        receiver = new Receiver();
+        baseline = new ArrayList<>(receiver.getDataEntries());
+        email = DataStoreFixture.email(size / 2);
+        emailSuffix = " " + email;
+        receiver.findByEmail(email);
+    }
+
+    /**
+     * Restores standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * Deletes the first entry of the receiver and inserts it back.
+     */
+    @Benchmark
+    public void receiverDeleteFirst() {
+        String firstName = receiver.getFirstName(0);
+        String lastName = receiver.getLastName(0);
+        String entryEmail = receiver.getEmail(0);
+        receiver.delete(0);
+        receiver.insertAtIndex(0, firstName, lastName, entryEmail);
+    }
+
+    /**
+     * Deletes the first entry of the baseline list and inserts it back.
+     */
+    @Benchmark
+    public void arrayListDeleteFirst() {
+        baseline.add(0, baseline.remove(0));
+    }
+
+    /**
+     * Finds an entry through the receiver's email index.
+     *
+     * @return the positions of the matching entries
+     */
+    @Benchmark
+    public int[] receiverFindByEmail() {
+        return receiver.findByEmail(email);
+    }
+
+    /**
+     * Finds an entry by scanning the baseline list.
+     *
+     * @return the position of the matching entry
+     */
+    @Benchmark
+    public int arrayListScanByEmail() {
+        for (int i = 0; i < baseline.size(); i++) {
+            if (baseline.get(i).endsWith(emailSuffix)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
\ No newline at end of file
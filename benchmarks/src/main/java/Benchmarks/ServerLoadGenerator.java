@@ -0,0 +1,172 @@
+package Benchmarks;
+
+import Client.CommandServer;
+import Receiver.ConcurrentReceiver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load generator for a {@link CommandServer}: opens a number of
+ * connections, sends commands on each as fast as the server answers them
+ * for a fixed time, and prints the requests per second together with the
+ * latency percentiles.
+ *
+ * <p>Usage: {@code ServerLoadGenerator [connections] [seconds]
+ * [write-percent] [port]}. Without a port, a server is started in this
+ * process on the data store of {@link DataStoreFixture}. Writes alternate
+ * between adding an entry and deleting the first one, so the size of the
+ * store stays the same, and reads list one page of ten entries.</p>
+ */
+public class ServerLoadGenerator {
+
+    /** Number of entries in the data store of an in-process server. */
+    private static final int STORE_SIZE = 10000;
+
+    /** Most latencies recorded per connection. */
+    private static final int MAX_SAMPLES = 1 << 22;
+
+    /**
+     * Runs the load and prints the results.
+     *
+     * @param args connections, seconds, write percentage and port
+     * @throws Exception if a connection fails
+     */
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int writePercent = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        CommandServer server = null;
+        int port;
+        if (args.length > 3) {
+            port = Integer.parseInt(args[3]);
+        } else {
+            DataStoreFixture.writeDataFile(STORE_SIZE);
+            server = new CommandServer(new ConcurrentReceiver(), 0);
+            port = server.getPort();
+        }
+
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        long[][] samples = new long[connections][];
+        int[] counts = new int[connections];
+        Thread[] threads = new Thread[connections];
+        for (int i = 0; i < connections; i++) {
+            int id = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    samples[id] = new long[1024];
+                    counts[id] = run(port, end, writePercent, samples, id);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads[i].start();
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        if (server != null) {
+            server.close();
+        }
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (int i = 0; i < connections; i++) {
+            System.arraycopy(samples[i], 0, all, at, counts[i]);
+            at += counts[i];
+        }
+        Arrays.sort(all);
+        System.out.printf(
+                "connections=%d writes=%d%% requests=%d rate=%.0f/s "
+                + "p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus%n",
+                connections, writePercent, total, total / elapsed,
+                percentile(all, 0.50), percentile(all, 0.99),
+                percentile(all, 0.999), percentile(all, 1.0)
+        );
+    }
+
+    /**
+     * Sends commands on one connection until the end time, recording the
+     * latency of each.
+     *
+     * @param port the port of the server
+     * @param end the time to stop at, as given by {@link System#nanoTime()}
+     * @param writePercent the percentage of commands that are writes
+     * @param samples the latency arrays of every connection
+     * @param id the index of this connection
+     * @return the number of latencies recorded
+     * @throws IOException if the connection fails
+     */
+    private static int run(int port, long end, int writePercent,
+                           long[][] samples, int id) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int count = 0;
+        boolean add = true;
+        try (Socket socket =
+                     new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.UTF_8
+            ));
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                String command;
+                if (random.nextInt(100) < writePercent) {
+                    command = add
+                            ? "add load gen" + id + " lg" + count + "@test.com"
+                            : "delete 1";
+                    add = !add;
+                } else {
+                    command = "list " + random.nextInt(STORE_SIZE) + " 10";
+                }
+                out.write((command + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                String line;
+                while ((line = in.readLine()) != null && !line.isEmpty()) {
+                    // Skip the output of the command
+                }
+                if (line == null) {
+                    break;
+                }
+                if (count == samples[id].length && count < MAX_SAMPLES) {
+                    samples[id] = Arrays.copyOf(samples[id], count * 2);
+                }
+                if (count < samples[id].length) {
+                    samples[id][count++] = System.nanoTime() - now;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets a percentile of sorted latencies, in microseconds.
+     *
+     * @param sorted the latencies in nanoseconds, sorted
+     * @param fraction the percentile, between 0 and 1
+     * @return the latency at the percentile in microseconds, or 0 if there
+     *         are none
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1000.0;
+    }
+}
\ No newline at end of file
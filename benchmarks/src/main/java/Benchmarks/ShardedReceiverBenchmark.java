@@ -0,0 +1,125 @@
+package Benchmarks;
+
+import Receiver.ShardedReceiver;
+import Utils.Durability;
+import Utils.FileManager;
+import Utils.PersistenceMode;
+import Utils.StoreFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how loading and saving a {@link ShardedReceiver} scale with the
+ * number of shards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ShardedReceiverBenchmark {
+
+    /** Data file the shard files are named after. */
+    private static final Path SHARD_FILE = Paths.get("src/dataStore.txt");
+
+    /** Number of entries in the store. */
+    @Param({"1000000"})
+    public int size;
+
+    /** Number of shards. */
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    /** File managers of the shards. */
+    private FileManager[] fileManagers;
+
+    /** Order file of the store. */
+    private final Path orderFile = ShardedReceiver.orderFile(SHARD_FILE);
+
+    /** The store saved by the save benchmark. */
+    private ShardedReceiver receiver;
+
+    /** Standard output, restored after the benchmark. */
+    private PrintStream stdout;
+
+    /**
+     * Writes the shard files of a store of the given size and loads it.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        stdout = System.out;
+        System.setOut(DataStoreFixture.DISCARD);
+        deleteShardFiles();
+        fileManagers = ShardedReceiver.fileManagers(
+                SHARD_FILE, shards, PersistenceMode.SNAPSHOT,
+                StoreFormat.TEXT, Durability.NONE
+        );
+        ShardedReceiver store = new ShardedReceiver(fileManagers, orderFile);
+        for (int i = 0; i < size; i++) {
+            store.add("First" + i, "Last" + (i % 1000),
+                    DataStoreFixture.email(i));
+        }
+        store.storeToFile();
+        receiver = new ShardedReceiver(fileManagers, orderFile);
+    }
+
+    /**
+     * Deletes the shard files and restores standard output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deleteShardFiles();
+        System.setOut(stdout);
+    }
+
+    /**
+     * Loads every shard, in parallel, and the order file.
+     *
+     * @return the loaded store
+     */
+    @Benchmark
+    public ShardedReceiver load() {
+        return new ShardedReceiver(fileManagers, orderFile);
+    }
+
+    /**
+     * Saves every shard, in parallel, and the order file.
+     */
+    @Benchmark
+    public void save() {
+        receiver.storeToFile();
+    }
+
+    /**
+     * Deletes the data files of every shard and the order file.
+     */
+    private void deleteShardFiles() {
+        try {
+            for (int i = 0; i < shards; i++) {
+                Files.deleteIfExists(Paths.get("src/dataStore-" + i + ".txt"));
+            }
+            Files.deleteIfExists(orderFile);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
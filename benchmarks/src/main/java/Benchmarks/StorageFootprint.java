@@ -0,0 +1,85 @@
+package Benchmarks;
+
+import Receiver.Receiver;
+import Receiver.StorageMode;
+import Utils.FileManager;
+import Utils.StoreFormat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures the heap taken by the records of a {@link Receiver} in each
+ * {@link StorageMode}.
+ *
+ * <p>Usage: {@code StorageFootprint [count] [first-names] [last-names]
+ * [domains]}. For each mode, a receiver on an empty data file is filled
+ * with {@code count} contacts whose names and email domains are drawn from
+ * pools of the given sizes, and the heap used after a full collection is
+ * compared with the heap used before. Every email is different. The heap
+ * must be large enough to hold the records in
+ * {@link StorageMode#STRINGS} mode, about 200 bytes per contact.</p>
+ */
+public class StorageFootprint {
+
+    /** Full collections run before reading the heap used. */
+    private static final int GC_ROUNDS = 5;
+
+    /**
+     * Fills a receiver in each mode and prints the heap its records take.
+     *
+     * @param args count, first names, last names and domains
+     * @throws Exception if the data file cannot be created
+     */
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int firstNames = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int lastNames = args.length > 2 ? Integer.parseInt(args[2]) : 50000;
+        int domains = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+        for (StorageMode mode : StorageMode.values()) {
+            Path file = Files.createTempFile("footprint", ".txt");
+            try {
+                long before = usedHeap();
+                long start = System.nanoTime();
+                Receiver receiver = new Receiver(
+                        new FileManager(file, StoreFormat.TEXT), mode
+                );
+                for (int i = 0; i < count; i++) {
+                    receiver.add(
+                            "First" + (i % firstNames),
+                            "Last" + (i * 7919 % lastNames),
+                            "user" + i + "@domain" + (i % domains) + ".com"
+                    );
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                long used = usedHeap() - before;
+                System.out.printf(
+                        "mode=%s contacts=%d heap=%.1fMB bytes/contact=%.1f "
+                        + "fill=%.1fs%n",
+                        mode, count, used / 1048576.0, (double) used / count,
+                        seconds
+                );
+                Reference.reachabilityFence(receiver);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Gets the heap used after running full collections.
+     *
+     * @return the bytes of heap used
+     */
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
\ No newline at end of file
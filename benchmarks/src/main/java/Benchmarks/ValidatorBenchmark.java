@@ -0,0 +1,95 @@
+package Benchmarks;
+
+import Utils.InputValidator;
+import Utils.ValidatorMode;
+import Utils.WordFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link InputValidator} with each {@link ValidatorMode}, and
+ * {@link WordFormatter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    /** Validator implementation under test. */
+    @Param({"REGEX", "SCANNER"})
+    public ValidatorMode mode;
+
+    /** A valid email address. */
+    public String validEmail = "john.pork-jr@mail.pig-farm.com";
+
+    /** An email address rejected near its end. */
+    public String invalidEmail = "john.pork-jr@mail.pig-farm.c0m";
+
+    /** A valid plain token. */
+    public String token = "email09_";
+
+    /** A word to capitalise. */
+    public String word = "mCdONALD";
+
+    /**
+     * Selects the validator implementation.
+     */
+    @Setup
+    public void setUp() {
+        InputValidator.setMode(mode);
+    }
+
+    /**
+     * Validates a valid email address.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public boolean validEmail() {
+        return InputValidator.validate_email(validEmail);
+    }
+
+    /**
+     * Validates an invalid email address.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public boolean invalidEmail() {
+        return InputValidator.validate_email(invalidEmail);
+    }
+
+    /**
+     * Validates a plain token.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public boolean validateString() {
+        return InputValidator.validate_string(token);
+    }
+
+    /**
+     * Capitalises a word.
+     *
+     * @return the capitalised word
+     */
+    @Benchmark
+    public String capitalise() {
+        return WordFormatter.capitalise(word);
+    }
+}
\ No newline at end of file
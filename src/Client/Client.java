@@ -1,69 +1,83 @@
 package Client;
 
-import Command.*;
-import Utils.InvalidInputException;
-import Invoker.Invoker;
+import Command.UndoHistory;
 import Receiver.Receiver;
+import Receiver.StorageMode;
+import Utils.AsyncSink;
+import Utils.BufferedSink;
+import Utils.FileManager;
+import Utils.Metrics;
+import Utils.OutputSink;
+import Utils.PersistenceMode;
 
-import java.util.Stack;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
+/**
+ * Entry point that executes commands read from a file or from standard
+ * input, one per line, through a {@link CommandDriver}.
+ *
+ * <p>Usage: {@code Client [--journal] [--dictionary] [--quiet | --async]
+ * [file]}. Commands are read from standard input if no file, or {@code -},
+ * is given. With {@code --journal}, changes are appended to a journal
+ * instead of rewriting the data file on every save. With
+ * {@code --dictionary}, the records are kept in memory in
+ * {@link StorageMode#DICTIONARY} mode.</p>
+ *
+ * <p>Output is collected in a {@link BufferedSink} and written when the
+ * buffer fills up or no more input is ready. With {@code --async}, it is
+ * written by a background thread through an {@link AsyncSink}, and with
+ * {@code --quiet} it is discarded.</p>
+ *
+ * <p>The size of the receiver and the depth of the history are published
+ * as gauges of {@link Metrics}, which can be read over JMX while the
+ * commands run.</p>
+ */
 public class Client {
-    public static void main(String[] args) throws InvalidInputException {
-        Invoker invoker = new Invoker();
-        Receiver rcvr = new Receiver();
-        Stack<Command> history = new Stack<Command>();
+    public static void main(String[] args) throws IOException {
+        PersistenceMode mode = PersistenceMode.SNAPSHOT;
+        StorageMode storage = StorageMode.STRINGS;
+        String input = "-";
+        String output = "";
+        for (String arg : args) {
+            if (arg.equals("--journal")) {
+                mode = PersistenceMode.JOURNAL;
+            } else if (arg.equals("--dictionary")) {
+                storage = StorageMode.DICTIONARY;
+            } else if (arg.equals("--quiet") || arg.equals("--async")) {
+                output = arg;
+            } else {
+                input = arg;
+            }
+        }
 
-//        AddCommand add = new AddCommand(
-//                rcvr, "John Pork jo@pig.com"
-//        );
-//        AddCommand add2 = new AddCommand(
-//                rcvr, "Tom Cat tc@cat.com"
-//        );
-//        UpdateCommand update = new UpdateCommand(
-//                rcvr, "1 John Dog jp@dog.com hhh"
-//        );
-//        ListCommand list = new ListCommand(rcvr);
-//        DeleteCommand delete = new DeleteCommand(rcvr, "1");
-//        UndoCommand undo = new UndoCommand(rcvr, history);
-        Command[] commands = {
-//                add, add2, list, update, undo, list, delete, undo, undo
-                new AddCommand(rcvr, "NAME1 name2 email@email.com"),    // valid
-                new AddCommand(rcvr, "^!@#$ name4 email09_"),           // valid
-                new AddCommand(rcvr, "name1 name2 _email@email.com"),   // valid
-                new AddCommand(rcvr, "name1 name2 email_@email.com"),   // valid
-                new AddCommand(rcvr, "name1 name2 email__@email.com"),  // valid
-                new AddCommand(rcvr, "name1 name2 e__mail@email.com"),  // valid
-                new AddCommand(rcvr, "name1 name2 EMAIL@EMAIL.com"),    // valid
-                new AddCommand(rcvr, "name1 name2 EMAIL@E.MAIL.com"),   // valid
-//                new DeleteCommand(rcvr, "1.2"),   // valid
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-//                new UndoCommand(rcvr, history),
-                new ListCommand(rcvr),
-                new UpdateCommand(rcvr, "10.6 jean luc jean.luc@domain.com"),
-                new UpdateCommand(rcvr, "2 aLiCe McDoNaLd alice@domain.com"),
-                new ListCommand(rcvr),
-                new ListCommand(rcvr)
-
-        };
-
-        invoker.setCommandsForExecution(commands);
-        invoker.executeCommand(history);
-        rcvr.storeToFile();
+        Receiver rcvr;
+        try {
+            rcvr = new Receiver(new FileManager(mode), storage);
+        } catch (UncheckedIOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        OutputSink sink = output.equals("--quiet") ? OutputSink.QUIET
+                : output.equals("--async") ? new AsyncSink(new BufferedSink())
+                : new BufferedSink();
+        rcvr.setOutput(sink);
+        UndoHistory history = new UndoHistory();
+        Metrics.gauge("receiver.size", rcvr::size);
+        Metrics.gauge("history.depth", history::size);
+        Metrics.registerMBean();
+        CommandDriver driver = new CommandDriver(rcvr, history);
+        try (BufferedReader reader = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Paths.get(input))) {
+            driver.run(reader);
+        } finally {
+            sink.close();
+        }
     }
 }
\ No newline at end of file
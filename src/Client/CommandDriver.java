@@ -0,0 +1,238 @@
+package Client;
+
+import Command.AddCommand;
+import Command.Command;
+import Command.DeleteCommand;
+import Command.FindCommand;
+import Command.ImportCommand;
+import Command.ListCommand;
+import Command.MetricsCommand;
+import Command.RedoCommand;
+import Command.UndoCommand;
+import Command.UndoHistory;
+import Command.UpdateCommand;
+import Invoker.Invoker;
+import Receiver.Receiver;
+import Utils.InvalidInputException;
+import Utils.OutputSink;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Driver that reads commands line by line from a stream and executes them
+ * through an {@link Invoker} as they are read.
+ *
+ * <p>Each line holds one command: a command name followed by its
+ * parameters, in the same form as the parameters of the command's
+ * constructor, for example {@code add John Doe jd@mail.com},
+ * {@code update 1 Jane}, {@code delete 2}, {@code list}, {@code list 0 10},
+ * {@code find email jd@mail.com}, {@code undo}, {@code redo},
+ * {@code metrics}, which prints the {@link Utils.Metrics}, or
+ * {@code import entries.txt}, which adds the entries of a file through an
+ * {@link ImportCommand}. Command names are not case-sensitive. Blank lines
+ * and lines starting with {@code #} are skipped.</p>
+ *
+ * <p>Only one line is held in memory at a time, and the undo history keeps
+ * a bounded number of entries, so inputs of any length can be piped
+ * through the driver. The receiver is saved every
+ * {@link #DEFAULT_SAVE_INTERVAL} commands and once more at the end of the
+ * input. An import is saved as soon as it has executed, and undone if the
+ * save fails.</p>
+ */
+public class CommandDriver {
+
+    /** Default number of commands executed between two saves. */
+    public static final int DEFAULT_SAVE_INTERVAL = 65536;
+
+    /** The receiver that the commands operate on. */
+    private final Receiver receiver;
+
+    /** History that undoable commands are recorded in. */
+    private final UndoHistory history;
+
+    /** Invoker that executes the commands. */
+    private final Invoker invoker;
+
+    /** Number of commands executed between two saves. */
+    private final int saveInterval;
+
+    /**
+     * Constructs a driver that saves the receiver every
+     * {@link #DEFAULT_SAVE_INTERVAL} commands.
+     *
+     * @param receiver the receiver that the commands operate on
+     * @param history the history to record undoable commands in
+     */
+    public CommandDriver(Receiver receiver, UndoHistory history) {
+        this(receiver, history, DEFAULT_SAVE_INTERVAL);
+    }
+
+    /**
+     * Constructs a driver.
+     *
+     * @param receiver the receiver that the commands operate on
+     * @param history the history to record undoable commands in
+     * @param saveInterval the number of commands executed between two
+     *                     saves
+     * @throws InvalidInputException if the receiver or history is missing,
+     *                               or the interval is not positive
+     */
+    public CommandDriver(Receiver receiver, UndoHistory history,
+                         int saveInterval) {
+        if (receiver == null || history == null) {
+            throw new InvalidInputException("Error: Input cannot be null.");
+        }
+        if (saveInterval <= 0) {
+            throw new InvalidInputException(
+                    "Error: Save interval must be positive."
+            );
+        }
+        this.receiver = receiver;
+        this.history = history;
+        this.invoker = new Invoker(receiver.getOutput());
+        this.saveInterval = saveInterval;
+    }
+
+    /**
+     * Reads and executes every command in the stream, then saves the
+     * receiver.
+     *
+     * <p>Lines that do not hold a known command are skipped, and their
+     * error messages are printed with their line numbers. The error
+     * messages of commands that fail are printed by the invoker. The
+     * output of the receiver is flushed whenever no more input is ready, so
+     * that interactive input gets its output before the next line is
+     * typed.</p>
+     *
+     * @param reader the stream to read commands from
+     * @return the number of commands executed
+     * @throws IOException if the stream cannot be read
+     * @throws java.io.UncheckedIOException if the receiver cannot be saved
+     */
+    public long run(BufferedReader reader) throws IOException {
+        long lineNumber = 0;
+        long executed = 0;
+        OutputSink output = this.receiver.getOutput();
+        while (true) {
+            if (!reader.ready()) {
+                output.flush();
+            }
+            String line = reader.readLine();
+            if (line == null) {
+                break;
+            }
+            lineNumber++;
+            Command command;
+            try {
+                command = parse(line);
+            } catch (InvalidInputException e) {
+                output.println(
+                        "Line " + lineNumber + ": " + e.getMessage()
+                );
+                continue;
+            }
+            if (command == null) {
+                continue;
+            }
+            if (command instanceof ImportCommand) {
+                this.invoker.executeImport(this.receiver,
+                        ((ImportCommand) command).getFile(), this.history);
+            } else {
+                this.invoker.executeCommand(command, this.history);
+            }
+            if (++executed % this.saveInterval == 0) {
+                this.receiver.storeToFile();
+            }
+        }
+        this.receiver.storeToFile();
+        output.flush();
+        return executed;
+    }
+
+    /**
+     * Parses one line into a command.
+     *
+     * @param line the line to parse
+     * @return the command, or {@code null} if the line is blank or a comment
+     * @throws InvalidInputException if the command name is unknown, a
+     *                               command that takes no parameters is
+     *                               given some, or an import is given no
+     *                               valid file
+     */
+    Command parse(String line) {
+        int start = 0;
+        int end = line.length();
+        while (start < end && line.charAt(start) == ' ') {
+            start++;
+        }
+        if (start == end || line.charAt(start) == '#') {
+            return null;
+        }
+        int space = line.indexOf(' ', start);
+        String name = space < 0 ? line.substring(start)
+                : line.substring(start, space);
+        String params = space < 0 ? null : line.substring(space + 1);
+        if (params != null && params.isBlank()) {
+            params = null;
+        }
+
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "add":
+                return new AddCommand(this.receiver, params);
+            case "update":
+                return new UpdateCommand(this.receiver, params);
+            case "delete":
+                return new DeleteCommand(this.receiver, params);
+            case "list":
+                return new ListCommand(this.receiver, params);
+            case "find":
+                return new FindCommand(this.receiver, params);
+            case "undo":
+                requireNoParameters(name, params);
+                return new UndoCommand(this.receiver, this.history);
+            case "redo":
+                requireNoParameters(name, params);
+                return new RedoCommand(this.receiver, this.history);
+            case "metrics":
+                requireNoParameters(name, params);
+                return new MetricsCommand(this.receiver.getOutput());
+            case "import":
+                if (params == null) {
+                    throw new InvalidInputException(
+                            "Error: Command import needs a file."
+                    );
+                }
+                try {
+                    return new ImportCommand(this.receiver,
+                            Paths.get(params.trim()));
+                } catch (InvalidPathException e) {
+                    throw new InvalidInputException(
+                            "Error: Invalid file " + params.trim() + "."
+                    );
+                }
+            default:
+                throw new InvalidInputException(
+                        "Error: Unknown command " + name + "."
+                );
+        }
+    }
+
+    /**
+     * Checks that a command that takes no parameters was not given any.
+     *
+     * @param name the name of the command
+     * @param params the parameters given, or {@code null} if none
+     * @throws InvalidInputException if parameters were given
+     */
+    private static void requireNoParameters(String name, String params) {
+        if (params != null) {
+            throw new InvalidInputException(
+                    "Error: Command " + name + " takes no parameters."
+            );
+        }
+    }
+}
\ No newline at end of file
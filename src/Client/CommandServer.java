@@ -0,0 +1,380 @@
+package Client;
+
+import Command.Command;
+import Command.FindCommand;
+import Command.ImportCommand;
+import Command.ListCommand;
+import Command.MetricsCommand;
+import Command.UndoHistory;
+import Invoker.Invoker;
+import Receiver.ConcurrentReceiver;
+import Receiver.StorageMode;
+import Utils.FileManager;
+import Utils.InvalidInputException;
+import Utils.Metrics;
+import Utils.OutputSink;
+import Utils.PersistenceMode;
+import Utils.StringSink;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-running server that keeps one receiver loaded and executes commands
+ * sent over local TCP connections.
+ *
+ * <p>Clients send one command per line, in the form read by
+ * {@link CommandDriver}. The server answers each command with the output
+ * it prints, followed by an empty line that marks the end of the response.
+ * Each connection is handled on its own virtual thread when the Java
+ * runtime provides them, and on its own platform thread otherwise.</p>
+ *
+ * <p>All connections share the receiver and one undo history, so an undo
+ * reverts the latest change made through any connection. Commands that
+ * change the records run one at a time under
+ * {@link ConcurrentReceiver#atomically(Runnable)}, while lists, finds and
+ * metrics each run under {@link ConcurrentReceiver#reading(Runnable)},
+ * concurrently with each other. The receiver is saved every
+ * {@link CommandDriver#DEFAULT_SAVE_INTERVAL} changing commands, after
+ * every import once its lock is released, and when the server is
+ * closed.</p>
+ *
+ * <p>Each connection has its own {@link Invoker} and collects the output of
+ * its commands in its own {@link StringSink}. While the server runs, the
+ * output of the receiver is routed to the sink of the connection whose
+ * thread is printing. A response is written to the socket only once the
+ * command has released its lock, so a slow client never holds up the
+ * others.</p>
+ *
+ * <p>The size of the receiver and the depth of the history are published
+ * as the {@code receiver.size} and {@code history.depth} gauges of
+ * {@link Metrics}, which are registered with JMX.</p>
+ */
+public class CommandServer implements AutoCloseable {
+
+    /** Default port the server listens on. */
+    public static final int DEFAULT_PORT = 4440;
+
+    /** The receiver that the commands operate on. */
+    private final ConcurrentReceiver receiver;
+
+    /** History that undoable commands are recorded in. */
+    private final UndoHistory history = new UndoHistory();
+
+    /** Driver used to parse the lines received. */
+    private final CommandDriver parser;
+
+    /** Socket accepting connections on the loopback address. */
+    private final ServerSocket serverSocket;
+
+    /** Executor running one task per connection. */
+    private final ExecutorService connections = newConnectionExecutor();
+
+    /** Sockets of the open connections, closed with the server. */
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+
+    /** Number of changing commands executed since the last save. */
+    private final AtomicLong changes = new AtomicLong();
+
+    /** Thread accepting connections. */
+    private final Thread acceptor;
+
+    /** Output of the receiver before the server routed it to connections. */
+    private final OutputSink previousOutput;
+
+    /** Response of the connection served by the current thread, if any. */
+    private final ThreadLocal<StringSink> response = new ThreadLocal<>();
+
+    /**
+     * Sink that the receiver prints to while the server runs: the response
+     * of the connection served by the printing thread, or the previous
+     * output of the receiver for other threads.
+     */
+    private final OutputSink routedOutput = new OutputSink() {
+        @Override
+        public void print(String text) {
+            output().print(text);
+        }
+
+        @Override
+        public void println(String line) {
+            output().println(line);
+        }
+
+        @Override
+        public void flush() {
+            output().flush();
+        }
+    };
+
+    /**
+     * Starts a server for the given receiver, listening on the given port of
+     * the loopback address.
+     *
+     * <p>The output of the receiver is routed to the connection whose
+     * command is printing until the server is closed.</p>
+     *
+     * @param receiver the receiver that the commands operate on
+     * @param port the port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public CommandServer(ConcurrentReceiver receiver, int port)
+            throws IOException {
+        if (receiver == null) {
+            throw new InvalidInputException("Error: Input cannot be null.");
+        }
+        this.receiver = receiver;
+        this.parser = new CommandDriver(receiver, this.history);
+        Metrics.gauge("receiver.size", receiver::size);
+        Metrics.gauge("history.depth", this.history::size);
+        Metrics.registerMBean();
+        this.serverSocket =
+                new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        this.previousOutput = receiver.getOutput();
+        receiver.setOutput(this.routedOutput);
+        this.acceptor = new Thread(this::accept, "server-acceptor");
+        this.acceptor.start();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections, closes the open ones, saves the receiver
+     * and restores the output of the receiver.
+     *
+     * @throws UncheckedIOException if the receiver cannot be saved
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+        try {
+            acceptor.join();
+            connections.shutdown();
+            for (Socket socket : sockets) {
+                closeQuietly(socket);
+            }
+            connections.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            receiver.storeToFile();
+        } finally {
+            receiver.setOutput(previousOutput);
+        }
+    }
+
+    /**
+     * Starts a server on the default data file and runs it until the
+     * program is stopped.
+     *
+     * <p>Usage: {@code CommandServer [--journal] [--dictionary] [port]},
+     * where {@code --dictionary} keeps the records in memory in
+     * {@link StorageMode#DICTIONARY} mode. An argument that is neither an
+     * option nor a port prints the usage and exits.</p>
+     *
+     * @param args the command-line arguments
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        PersistenceMode mode = PersistenceMode.SNAPSHOT;
+        StorageMode storage = StorageMode.STRINGS;
+        int port = DEFAULT_PORT;
+        for (String arg : args) {
+            if (arg.equals("--journal")) {
+                mode = PersistenceMode.JOURNAL;
+            } else if (arg.equals("--dictionary")) {
+                storage = StorageMode.DICTIONARY;
+            } else {
+                try {
+                    port = Integer.parseInt(arg);
+                } catch (NumberFormatException e) {
+                    port = -1;
+                }
+                if (port < 0 || port > 0xFFFF) {
+                    System.err.println("Usage: CommandServer [--journal]"
+                            + " [--dictionary] [port]");
+                    System.exit(1);
+                    return;
+                }
+            }
+        }
+        ConcurrentReceiver receiver;
+        try {
+            receiver = new ConcurrentReceiver(new FileManager(mode), storage);
+        } catch (UncheckedIOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        CommandServer server = new CommandServer(receiver, port);
+        Runtime.getRuntime().addShutdownHook(
+                new Thread(server::close, "server-close")
+        );
+        System.out.println("Listening on port " + server.getPort());
+    }
+
+    /**
+     * Accepts connections until the server socket is closed, handing each
+     * one to the connection executor.
+     */
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                continue;
+            }
+            sockets.add(socket);
+            try {
+                connections.execute(() -> serve(socket));
+            } catch (RuntimeException e) {
+                sockets.remove(socket);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Executes the commands received on a connection until the client
+     * closes it, writing the response to each command once it has run.
+     *
+     * @param socket the socket of the connection
+     */
+    private void serve(Socket socket) {
+        StringSink output = new StringSink();
+        Invoker invoker = new Invoker(output);
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.UTF_8
+            ));
+            Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    socket.getOutputStream(), StandardCharsets.UTF_8
+            ));
+            response.set(output);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                execute(line, invoker, output);
+                writer.write(output.take());
+                writer.write('\n');
+                writer.flush();
+            }
+        } catch (IOException e) {
+            // Connection closed by the client or the server
+        } finally {
+            response.remove();
+            sockets.remove(socket);
+        }
+    }
+
+    /**
+     * Parses and executes one line, printing the output of the command or
+     * the error message of an invalid line.
+     *
+     * @param line the line received
+     * @param invoker the invoker of the connection
+     * @param output the response of the connection
+     */
+    private void execute(String line, Invoker invoker, StringSink output) {
+        Command command;
+        try {
+            command = parser.parse(line);
+        } catch (InvalidInputException e) {
+            output.println(e.getMessage());
+            return;
+        }
+        if (command == null) {
+            return;
+        }
+        if (command instanceof ListCommand
+                || command instanceof FindCommand
+                || command instanceof MetricsCommand) {
+            receiver.reading(() -> invoker.executeCommand(command, history));
+            return;
+        }
+        receiver.atomically(() -> invoker.executeCommand(command, history));
+        boolean due = changes.incrementAndGet()
+                % CommandDriver.DEFAULT_SAVE_INTERVAL == 0;
+        if (due || command instanceof ImportCommand) {
+            try {
+                receiver.storeToFile();
+            } catch (UncheckedIOException e) {
+                output.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gets the sink that the current thread prints to: the response of its
+     * connection, or the previous output of the receiver for other
+     * threads.
+     *
+     * @return the sink
+     */
+    private OutputSink output() {
+        StringSink sink = response.get();
+        return sink != null ? sink : previousOutput;
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread if
+     * the Java runtime supports them, or on a pooled daemon thread
+     * otherwise.
+     *
+     * @return the executor
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "server-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Closes a socket, ignoring errors.
+     *
+     * @param socket the socket to close
+     */
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+}
\ No newline at end of file
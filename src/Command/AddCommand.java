@@ -2,6 +2,7 @@ package Command;
 
 import Utils.InvalidInputException;
 import Utils.InputValidator;
+import Utils.Tokenizer;
 import Utils.WordFormatter;
 import Receiver.Receiver;
 
@@ -20,14 +21,20 @@ public class AddCommand implements Command {
     /** The receiver that actually performs the add operation. */
     private final Receiver receiver;
 
-    /**
-     * Parameters required for the add operation, space-separated.
-     * <p>
-     * This string is updated in {@link #execute()} after normalising the
-     * casing of the first two parameters.
-     * </p>
-     */
-    private String params;
+    /** Parameters required for the add operation, space-separated. */
+    private final String params;
+
+    /** Capitalised first name, set once the parameters are validated. */
+    private String firstName;
+
+    /** Capitalised last name, set once the parameters are validated. */
+    private String lastName;
+
+    /** Email, set once the parameters are validated. */
+    private String email;
+
+    /** Zero-based position the entry was added at, used by the history. */
+    private int position;
 
     /**
      * Constructs an {@code AddCommand} with the specified receiver and
@@ -53,26 +60,18 @@ public class AddCommand implements Command {
     }
 
     /**
-     * Executes the add operation by validating the inputs, normalising the
-     * casing of the first two parameters using {@link WordFormatter#capitalise(
-     * String)}, joining them back into a string, and invoking the
-     * {@code add} method on the receiver.
-     *
-     * <p>The parameters string is split by spaces, expecting exactly three
-     * elements: two words (such as name and role/title) and an email. The first
-     * and second elements are capitalised (first letter uppercase, rest
-     * lowercase) while the third is validated as a proper email format.</p>
+     * Validates the parameters and normalises the casing of the first two
+     * using {@link WordFormatter#capitalise(String)}.
      *
-     * <p>If validation fails, an {@link InvalidInputException} is thrown.</p>
-     *
-     * <p><b>Note:</b> The {@code params} field is updated with the capitalised
-     * and re-joined string before being passed to the receiver.</p>
+     * <p>The parameters string is split by spaces with a {@link Tokenizer},
+     * expecting exactly three elements, the third of which must be a valid
+     * email format. Only the fields that are kept are copied.</p>
      *
      * @throws InvalidInputException if the input is malformed or contains an
      *                               invalid email
      */
     @Override
-    public void execute() {
+    public void validate() {
         if (this.receiver == null) {
             throw new InvalidInputException(
                     "Error: Receiver cannot be null, add not successful."
@@ -83,37 +82,97 @@ public class AddCommand implements Command {
                     "Error: Input cannot be null, add not successful."
             );
         }
-        String[] inputs = this.params.split(" ");
-        if (inputs.length != 3) {
+        Tokenizer inputs = Tokenizer.local();
+        if (inputs.split(this.params) != 3) {
             throw new InvalidInputException(
                     "Error: Addition not successful: invalid number of " +
                     "parameters, add not successful.");
         }
-        if (!InputValidator.validate_email(inputs[2])
-                && !InputValidator.validate_string(inputs[2])) {
+        String email = inputs.field(2);
+        if (!InputValidator.validate_email(email)
+                && !InputValidator.validate_string(email)) {
             throw new InvalidInputException(
                     "Error: Addition not successful: invalid email format, " +
                     "add not successful.");
         }
-        inputs[0] = WordFormatter.capitalise(inputs[0]);
-        inputs[1] = WordFormatter.capitalise(inputs[1]);
-        this.params = String.join(" ", inputs);
-        this.receiver.add(this.params);
-        System.out.println("Add");
+        this.firstName = WordFormatter.capitalise(
+                this.params, inputs.start(0), inputs.end(0)
+        );
+        this.lastName = WordFormatter.capitalise(
+                this.params, inputs.start(1), inputs.end(1)
+        );
+        this.email = email;
+    }
+
+    /**
+     * Executes the add operation by validating the inputs, normalising the
+     * casing of the first two parameters using {@link WordFormatter#capitalise(
+     * String)}, and invoking the {@code add} method on the receiver with the
+     * three fields.
+     *
+     * <p>The parameters string is split by spaces, expecting exactly three
+     * elements: two words (such as name and role/title) and an email. The first
+     * and second elements are capitalised (first letter uppercase, rest
+     * lowercase) while the third is validated as a proper email format. This
+     * is skipped if {@link #validate()} has already been called.</p>
+     *
+     * <p>If validation fails, an {@link InvalidInputException} is thrown.</p>
+     *
+     * @throws InvalidInputException if the input is malformed or contains an
+     *                               invalid email
+     */
+    @Override
+    public void execute() {
+        if (this.email == null) {
+            validate();
+        }
+        apply();
+        this.receiver.getOutput().println("Add");
+    }
+
+    /**
+     * Adds the validated entry to the receiver without printing anything.
+     * {@link #validate()} must have succeeded before this is called.
+     */
+    void apply() {
+        this.position = this.receiver.add(
+                this.firstName, this.lastName, this.email
+        );
     }
 
     /**
-     * Undoes the add operation by removing the most recently added entry from
-     * the receiver's data store.
+     * Undoes the add operation by removing the added entry from the
+     * receiver's data store.
      *
-     * <p>This assumes that the add operation appends the entry to the end of
-     * the data list and that no other entries have been added since. It should
-     * only be called immediately after {@link #execute()}.</p>
+     * <p>This assumes that no other entries have been added or removed
+     * since. It should only be called immediately after
+     * {@link #execute()}.</p>
      */
     @Override
     public void undo() {
-        receiver.delete(receiver.getDataEntries().size() - 1);
-        System.out.println("Undo");
+        receiver.delete(this.position);
+        this.receiver.getOutput().println("Undo");
+    }
+
+    /**
+     * Gets the position the entry was added at by the last
+     * {@link #execute()}.
+     *
+     * @return the zero-based position of the added entry
+     */
+    int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Records the position of the added entry, which is all that is needed
+     * to undo the addition.
+     *
+     * @param history the history to record the change in
+     */
+    @Override
+    public void recordTo(UndoHistory history) {
+        history.recordAdd(this.position);
     }
 
     /**
@@ -0,0 +1,171 @@
+package Command;
+
+import Receiver.Receiver;
+import Utils.InvalidInputException;
+import Utils.OutputSink;
+import Utils.StringSink;
+
+/**
+ * Composite command that executes a batch of commands as one unit.
+ *
+ * <p>This command follows the Command design pattern. Every command in the
+ * batch is validated before any of them runs, and if one fails while
+ * executing, the commands already executed are undone, so a batch either
+ * applies completely or not at all. Undoing the batch reverts all of its
+ * commands.</p>
+ *
+ * <p>The batch does not save the data store itself; use
+ * {@link Invoker.Invoker#executeBatch(Receiver, Command[], UndoHistory)} to
+ * save it once after the batch, and undo the batch if the save fails.</p>
+ */
+public class BatchCommand implements Command {
+
+    /** The receiver that the commands in the batch operate on. */
+    private final Receiver receiver;
+
+    /** The commands in the batch, in execution order. */
+    private final Command[] commands;
+
+    /**
+     * Constructs a {@code BatchCommand} with the specified receiver and
+     * commands.
+     *
+     * @param receiver the receiver the commands operate on
+     * @param commands the commands to execute as one unit
+     */
+    public BatchCommand(Receiver receiver, Command[] commands) {
+        this.receiver = receiver;
+        this.commands = commands;
+    }
+
+    /**
+     * Validates every command in the batch.
+     *
+     * @throws InvalidInputException if any command in the batch is invalid,
+     *                               with the message of the first invalid
+     *                               command
+     */
+    @Override
+    public void validate() {
+        if (this.receiver == null) {
+            throw new InvalidInputException(
+                    "Error: Receiver cannot be null, batch not successful."
+            );
+        }
+        if (this.commands == null) {
+            throw new InvalidInputException(
+                    "Error: Input cannot be null, batch not successful."
+            );
+        }
+        for (int i = 0; i < this.commands.length; i++) {
+            if (this.commands[i] instanceof UndoCommand
+                    || this.commands[i] instanceof RedoCommand) {
+                throw new InvalidInputException(
+                        "Error: Command " + (i + 1) + " of batch cannot be "
+                        + "an undo or redo, batch not successful."
+                );
+            }
+            try {
+                this.commands[i].validate();
+            } catch (InvalidInputException e) {
+                throw new InvalidInputException(
+                        "Error: Command " + (i + 1) + " of batch is invalid, "
+                        + "batch not successful. " + e.getMessage()
+                );
+            }
+        }
+    }
+
+    /**
+     * Executes the batch by validating every command and executing them in
+     * order.
+     *
+     * <p>The output of the commands is held back until every command has
+     * executed. If a command fails during execution, the undoable commands
+     * already executed are undone in reverse order, their output is
+     * discarded and the failure is rethrown.</p>
+     *
+     * @throws InvalidInputException if any command in the batch is invalid
+     *                               or fails to execute
+     */
+    @Override
+    public void execute() {
+        validate();
+        OutputSink output = this.receiver.getOutput();
+        StringSink held = new StringSink();
+        this.receiver.setOutput(held);
+        try {
+            executeAll();
+        } finally {
+            this.receiver.setOutput(output);
+        }
+        output.print(held.take());
+    }
+
+    /**
+     * Executes every command in order, undoing the commands already
+     * executed if one fails.
+     *
+     * @throws InvalidInputException if a command fails to execute
+     */
+    private void executeAll() {
+        for (int i = 0; i < this.commands.length; i++) {
+            try {
+                this.commands[i].execute();
+            } catch (InvalidInputException e) {
+                undoFrom(i - 1);
+                throw new InvalidInputException(
+                        "Error: Command " + (i + 1) + " of batch failed, "
+                        + "batch not successful. " + e.getMessage()
+                );
+            }
+        }
+    }
+
+    /**
+     * Undoes every command in the batch, in reverse order.
+     */
+    @Override
+    public void undo() {
+        undoFrom(this.commands.length - 1);
+    }
+
+    /**
+     * Records the changes of every undoable command in the batch, in order,
+     * so that they are undone together.
+     *
+     * @param history the history to record the changes in
+     */
+    @Override
+    public void recordTo(UndoHistory history) {
+        for (Command command : this.commands) {
+            if (command.isUndoable()) {
+                command.recordTo(history);
+            }
+        }
+    }
+
+    /**
+     * Indicates that this command supports undo.
+     *
+     * @return {@code true}, since a batch can be reverted as a whole
+     */
+    @Override
+    public boolean isUndoable() {
+        return true;
+    }
+
+    /**
+     * Undoes the undoable commands from the given position back to the start
+     * of the batch.
+     *
+     * @param last the position of the last command to undo
+     */
+    private void undoFrom(int last) {
+        for (int i = last; i >= 0; i--) {
+            if (this.commands[i].isUndoable()) {
+                this.commands[i].undo();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -20,6 +20,21 @@ public interface Command {
      */
     void execute();
 
+    /**
+     * Checks the input of the command before it is executed.
+     *
+     * <p>Only checks that do not depend on the current contents of the data
+     * store are made here, so that a whole batch of commands can be checked
+     * before any of them runs. Implementing classes parse their input once
+     * and reuse it in {@link #execute()}, which calls this method itself if
+     * it has not been called yet. The default implementation accepts any
+     * input.</p>
+     *
+     * @throws Utils.InvalidInputException if the input is invalid
+     */
+    default void validate() {
+    }
+
     /**
      * Undoes the effects of the most recent execution of this command.
      *
@@ -29,6 +44,22 @@ public interface Command {
      */
     void undo();
 
+    /**
+     * Records how to undo the most recent execution of this command in an
+     * undo history.
+     *
+     * <p>Implementing classes record compact deltas describing only what
+     * they changed, so that the command itself need not be kept. The default
+     * implementation keeps the whole command, to be undone through
+     * {@link #undo()}. This method is only called for undoable commands,
+     * after {@link #execute()} has succeeded.</p>
+     *
+     * @param history the history to record the changes in
+     */
+    default void recordTo(UndoHistory history) {
+        history.recordCommand(this);
+    }
+
     /**
      * Indicates whether this command supports undoing its operation.
      *
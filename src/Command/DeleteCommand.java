@@ -18,10 +18,20 @@ public class DeleteCommand implements Command {
     /** The index of the entry to be deleted (1-based). */
     private String index;
 
+    /** The index of the entry to be deleted, parsed in validate. */
     private int numIndex;
 
-    /** Stores the deleted entry for potential restoration via undo. */
-    private String deletedLine;
+    /** Whether the index has been parsed by {@link #validate()}. */
+    private boolean validated;
+
+    /** Stores the deleted first name for potential restoration via undo. */
+    private String deletedFirstName;
+
+    /** Stores the deleted last name for potential restoration via undo. */
+    private String deletedLastName;
+
+    /** Stores the deleted email for potential restoration via undo. */
+    private String deletedEmail;
 
     /**
      * Constructs a {@code DeleteCommand} with the given receiver and index.
@@ -40,15 +50,13 @@ public class DeleteCommand implements Command {
     }
 
     /**
-     * Executes the delete operation by removing the entry at the given index.
+     * Validates the index of the delete operation.
      *
-     * <p>The removed entry is stored for use in {@link #undo()}. If the index
-     * is out of bounds, an {@link InvalidInputException} is thrown.</p>
-     *
-     * @throws InvalidInputException if the index is invalid or out of bounds
+     * @throws InvalidInputException if the index is missing or is not a
+     *                               number
      */
     @Override
-    public void execute() {
+    public void validate() {
         try {
             if (this.receiver == null) {
                 throw new InvalidInputException(
@@ -61,14 +69,7 @@ public class DeleteCommand implements Command {
                 );
             }
             this.numIndex = Integer.parseInt(this.index);
-            this.deletedLine = receiver.delete(numIndex - 1);
-            if (!deletedLine.isEmpty()) {
-                System.out.println("Delete");
-            } else {
-                throw new InvalidInputException(
-                        "Error: Index out of bounds, deletion not successful."
-                );
-            }
+            this.validated = true;
         }
         catch (NumberFormatException e) {
             throw new InvalidInputException("Error: index provided is not a " +
@@ -76,6 +77,34 @@ public class DeleteCommand implements Command {
         }
     }
 
+    /**
+     * Executes the delete operation by removing the entry at the given index.
+     *
+     * <p>The removed entry is stored for use in {@link #undo()}. If the index
+     * is out of bounds, an {@link InvalidInputException} is thrown.</p>
+     *
+     * @throws InvalidInputException if the index is invalid or out of bounds
+     */
+    @Override
+    public void execute() {
+        if (!this.validated) {
+            validate();
+        }
+        int position = numIndex - 1;
+        if (position >= 0 && position < receiver.size()) {
+            this.deletedFirstName = receiver.getFirstName(position);
+            this.deletedLastName = receiver.getLastName(position);
+            this.deletedEmail = receiver.getEmail(position);
+        }
+        if (receiver.delete(position)) {
+            this.receiver.getOutput().println("Delete");
+        } else {
+            throw new InvalidInputException(
+                    "Error: Index out of bounds, deletion not successful."
+            );
+        }
+    }
+
     /**
      * Undoes the delete operation by reinserting the previously deleted entry.
      *
@@ -83,8 +112,28 @@ public class DeleteCommand implements Command {
      */
     @Override
     public void undo() {
-        this.receiver.insertAtIndex(this.numIndex - 1, this.deletedLine);
-        System.out.println("Undo");
+        this.receiver.insertAtIndex(
+                this.numIndex - 1,
+                this.deletedFirstName,
+                this.deletedLastName,
+                this.deletedEmail
+        );
+        this.receiver.getOutput().println("Undo");
+    }
+
+    /**
+     * Records the position and fields of the deleted entry.
+     *
+     * @param history the history to record the change in
+     */
+    @Override
+    public void recordTo(UndoHistory history) {
+        history.recordDelete(
+                this.numIndex - 1,
+                this.deletedFirstName,
+                this.deletedLastName,
+                this.deletedEmail
+        );
     }
 
     /**
@@ -0,0 +1,109 @@
+package Command;
+
+import Receiver.Receiver;
+import Utils.InvalidInputException;
+import Utils.Tokenizer;
+import Utils.WordFormatter;
+
+/**
+ * Concrete command that finds entries in the receiver's data store by email
+ * or by last name.
+ *
+ * <p>This command follows the Command design pattern and encapsulates the
+ * logic for looking up entries through the receiver's hash indexes, rather
+ * than scanning every entry. It is not undoable.</p>
+ */
+public class FindCommand implements Command {
+
+    /** The receiver that performs the lookup. */
+    private final Receiver receiver;
+
+    /** Parameters required for the find operation, space-separated. */
+    private final String params;
+
+    /**
+     * Constructs a {@code FindCommand} with the specified receiver and
+     * parameters.
+     *
+     * @param receiver the receiver responsible for the lookup
+     * @param params a space-separated string containing exactly two values:
+     *               <ul>
+     *                 <li>First value: the field to search, either
+     *                     {@code email} or {@code name} (last name)</li>
+     *                 <li>Second value: the value to look for</li>
+     *               </ul>
+     */
+    public FindCommand(Receiver receiver, String params) {
+        this.receiver = receiver;
+        this.params = params;
+    }
+
+    /**
+     * Executes the find operation and prints every matching entry with its
+     * 1-based index.
+     *
+     * <p>Last names are capitalised with
+     * {@link WordFormatter#capitalise(String)} before the lookup, in the same
+     * way they are stored. Emails must match exactly.</p>
+     *
+     * @throws InvalidInputException if the parameters are malformed or the
+     *                               field is unknown
+     */
+    @Override
+    public void execute() {
+        if (this.receiver == null) {
+            throw new InvalidInputException(
+                    "Error: Receiver cannot be null, find not successful."
+            );
+        }
+        if (this.params == null) {
+            throw new InvalidInputException(
+                    "Error: Input cannot be null, find not successful."
+            );
+        }
+        Tokenizer inputs = Tokenizer.local();
+        if (inputs.split(this.params) != 2) {
+            throw new InvalidInputException(
+                    "Error: invalid number of parameters, find not successful."
+            );
+        }
+
+        int[] matches;
+        if (inputs.fieldEquals(0, "email")) {
+            matches = this.receiver.findByEmail(inputs.field(1));
+        } else if (inputs.fieldEquals(0, "name")) {
+            matches = this.receiver.findByLastName(WordFormatter.capitalise(
+                    this.params, inputs.start(1), inputs.end(1)
+            ));
+        } else {
+            throw new InvalidInputException(
+                    "Error: unknown field " + inputs.field(0)
+                    + ", find not successful."
+            );
+        }
+
+        this.receiver.getOutput().println("Find");
+        if (matches.length == 0) {
+            this.receiver.getOutput().println("No matching entries found.");
+        } else {
+            this.receiver.print(matches);
+        }
+    }
+
+    /**
+     * Informs that the find command cannot be undone.
+     */
+    @Override
+    public void undo() {
+    }
+
+    /**
+     * Indicates that this command does not support undo.
+     *
+     * @return {@code false}, since find is a non-destructive operation
+     */
+    @Override
+    public boolean isUndoable() {
+        return false;
+    }
+}
\ No newline at end of file
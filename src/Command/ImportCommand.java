@@ -0,0 +1,280 @@
+package Command;
+
+import Receiver.Receiver;
+import Utils.InvalidInputException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Concrete command that bulk-imports entries from a file.
+ *
+ * <p>Each line of the file holds the parameters of one {@link AddCommand},
+ * separated by spaces as on the command line, rather than by commas: names
+ * and emails cannot hold spaces, so a CSV file of the same fields can be
+ * imported once its commas are replaced by spaces. Lines are read in
+ * chunks, and each chunk is parsed, validated and capitalised in parallel
+ * on a {@link ForkJoinPool} while the previous chunk is being added to the
+ * receiver. Entries are always added in the order of the
+ * file. Invalid lines are skipped and their error messages are printed with
+ * their line numbers, in the same way {@link Invoker.Invoker} prints the
+ * message of an {@link InvalidInputException}.</p>
+ *
+ * <p>Undoing the import removes every entry it added. The import does not
+ * save the receiver itself; use
+ * {@link Invoker.Invoker#executeImport(Receiver, Path, UndoHistory)} to save
+ * it once after the import, and undo the import if the save fails.</p>
+ */
+public class ImportCommand implements Command {
+
+    /** Number of lines parsed together as one chunk. */
+    private static final int CHUNK_SIZE = 16384;
+
+    /** The receiver that the entries are added to. */
+    private final Receiver receiver;
+
+    /** The file to import entries from. */
+    private final Path file;
+
+    /** The pool that chunks are parsed on. */
+    private final ForkJoinPool pool;
+
+    /** Number of entries added by the import, used by undo. */
+    private int added;
+
+    /**
+     * Zero-based position each entry was added at, in the order they were
+     * added. Consecutive unless the receiver places entries itself.
+     */
+    private int[] positions = new int[0];
+
+    /**
+     * A chunk of lines after parsing: a validated command for each valid
+     * line, and an error message for each invalid one.
+     */
+    private static class ParsedChunk {
+
+        /** Validated commands, {@code null} for invalid lines. */
+        private final AddCommand[] commands;
+
+        /** Error messages, {@code null} for valid lines. */
+        private final String[] errors;
+
+        /**
+         * Constructs an empty parsed chunk.
+         *
+         * @param size the number of lines in the chunk
+         */
+        private ParsedChunk(int size) {
+            this.commands = new AddCommand[size];
+            this.errors = new String[size];
+        }
+    }
+
+    /**
+     * Constructs an {@code ImportCommand} with the specified receiver and
+     * file, which parses on the common pool and so across all cores.
+     *
+     * @param receiver the receiver that the entries are added to
+     * @param file the file to import, one set of add parameters per line
+     */
+    public ImportCommand(Receiver receiver, Path file) {
+        this(receiver, file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs an {@code ImportCommand} with the specified receiver and
+     * file, which parses on the given pool and so on at most as many
+     * threads as its parallelism.
+     *
+     * @param receiver the receiver that the entries are added to
+     * @param file the file to import, one set of add parameters per line
+     * @param pool the pool to parse chunks on
+     */
+    public ImportCommand(Receiver receiver, Path file, ForkJoinPool pool) {
+        this.receiver = receiver;
+        this.file = file;
+        this.pool = pool;
+    }
+
+    /**
+     * Gets the file that the entries are imported from.
+     *
+     * @return the file, or {@code null} if none was given
+     */
+    public Path getFile() {
+        return this.file;
+    }
+
+    /**
+     * Executes the import.
+     *
+     * <p>Prints the error message of every invalid line, followed by the
+     * number of entries added. If the file cannot be read, the entries
+     * already added are removed again.</p>
+     *
+     * @throws InvalidInputException if the receiver or file is missing, or
+     *                               the file cannot be read
+     */
+    @Override
+    public void execute() {
+        if (this.receiver == null) {
+            throw new InvalidInputException(
+                    "Error: Receiver cannot be null, import not successful."
+            );
+        }
+        if (this.file == null) {
+            throw new InvalidInputException(
+                    "Error: Input cannot be null, import not successful."
+            );
+        }
+
+        this.added = 0;
+        try (BufferedReader reader = Files.newBufferedReader(this.file)) {
+            int firstLine = 1;
+            CompletableFuture<ParsedChunk> parsing = null;
+            String[] chunk;
+            while ((chunk = readChunk(reader)) != null) {
+                String[] lines = chunk;
+                CompletableFuture<ParsedChunk> next = CompletableFuture
+                        .supplyAsync(() -> parse(lines), this.pool);
+                if (parsing != null) {
+                    firstLine = commit(parsing.join(), firstLine);
+                }
+                parsing = next;
+            }
+            if (parsing != null) {
+                commit(parsing.join(), firstLine);
+            }
+        } catch (IOException | RuntimeException e) {
+            undo();
+            throw new InvalidInputException(
+                    "Error: " + e.getMessage() + ", import not successful."
+            );
+        }
+        this.receiver.getOutput().println(
+                "Import: " + this.added + " entries added"
+        );
+    }
+
+    /**
+     * Undoes the import by removing the entries it added, latest first.
+     */
+    @Override
+    public void undo() {
+        for (int i = this.added - 1; i >= 0; i--) {
+            this.receiver.delete(this.positions[i]);
+        }
+        this.added = 0;
+    }
+
+    /**
+     * Records the positions the import added entries at, as one run of
+     * consecutive positions per run of entries added next to each other.
+     *
+     * @param history the history to record the change in
+     */
+    @Override
+    public void recordTo(UndoHistory history) {
+        int start = 0;
+        for (int i = 1; i <= this.added; i++) {
+            if (i == this.added
+                    || this.positions[i] != this.positions[start] + i - start) {
+                history.recordAddRange(this.positions[start], i - start);
+                start = i;
+            }
+        }
+    }
+
+    /**
+     * Indicates that this command supports undo.
+     *
+     * @return {@code true}, since the import can be reverted
+     */
+    @Override
+    public boolean isUndoable() {
+        return true;
+    }
+
+    /**
+     * Reads the next chunk of lines.
+     *
+     * @param reader the reader to read from
+     * @return the lines read, or {@code null} at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    private static String[] readChunk(BufferedReader reader)
+            throws IOException {
+        String[] lines = new String[CHUNK_SIZE];
+        int count = 0;
+        String line;
+        while (count < CHUNK_SIZE && (line = reader.readLine()) != null) {
+            lines[count++] = line;
+        }
+        if (count == 0) {
+            return null;
+        }
+        if (count < CHUNK_SIZE) {
+            String[] trimmed = new String[count];
+            System.arraycopy(lines, 0, trimmed, 0, count);
+            return trimmed;
+        }
+        return lines;
+    }
+
+    /**
+     * Parses, validates and capitalises a chunk of lines in parallel. Run
+     * on a thread of {@link #pool}, so the parallel stream runs on that
+     * pool too.
+     *
+     * @param lines the lines to parse
+     * @return the validated command or error message of every line
+     */
+    private ParsedChunk parse(String[] lines) {
+        ParsedChunk parsed = new ParsedChunk(lines.length);
+        IntStream.range(0, lines.length).parallel().forEach(i -> {
+            AddCommand command = new AddCommand(this.receiver, lines[i]);
+            try {
+                command.validate();
+                parsed.commands[i] = command;
+            } catch (InvalidInputException e) {
+                parsed.errors[i] = e.getMessage();
+            }
+        });
+        return parsed;
+    }
+
+    /**
+     * Adds a parsed chunk to the receiver in order, printing the error
+     * message of each invalid line.
+     *
+     * @param parsed the parsed chunk
+     * @param firstLine the line number of the first line of the chunk
+     * @return the line number of the first line of the next chunk
+     */
+    private int commit(ParsedChunk parsed, int firstLine) {
+        for (int i = 0; i < parsed.commands.length; i++) {
+            if (parsed.commands[i] != null) {
+                parsed.commands[i].apply();
+                if (this.added == this.positions.length) {
+                    this.positions = Arrays.copyOf(
+                            this.positions, Math.max(16, this.added * 2)
+                    );
+                }
+                this.positions[this.added++] =
+                        parsed.commands[i].getPosition();
+            } else {
+                this.receiver.getOutput().println(
+                        "Line " + (firstLine + i) + ": " + parsed.errors[i]
+                );
+            }
+        }
+        return firstLine + parsed.commands.length;
+    }
+}
\ No newline at end of file
@@ -2,9 +2,11 @@ package Command;
 
 import Receiver.Receiver;
 import Utils.InvalidInputException;
+import Utils.Tokenizer;
 
 /**
- * Concrete command that displays all entries from the receiver's data store.
+ * Concrete command that displays all entries from the receiver's data store,
+ * or one page of them.
  *
  * <p>This command follows the Command design pattern and encapsulates the
  * logic for listing current data. It is not undoable.</p>
@@ -14,29 +16,104 @@ public class ListCommand implements Command {
     /** The receiver responsible for listing the stored entries. */
     private final Receiver receiver;
 
+    /**
+     * Pagination parameters, space-separated, or {@code null} to list every
+     * entry.
+     */
+    private final String params;
+
+    /** Number of entries to skip, parsed in validate. */
+    private int offset;
+
+    /** Maximum number of entries to list, parsed in validate. */
+    private int limit = Integer.MAX_VALUE;
+
+    /** Whether the parameters have been parsed by {@link #validate()}. */
+    private boolean validated;
+
     /**
      * Constructs a {@code ListCommand} with the specified receiver.
      *
      * @param receiver the receiver that provides the list operation
      */
     public ListCommand(Receiver receiver) {
+        this(receiver, null);
+    }
+
+    /**
+     * Constructs a {@code ListCommand} that lists one page of entries.
+     *
+     * @param receiver the receiver that provides the list operation
+     * @param params a space-separated string containing exactly two values:
+     *               <ul>
+     *                 <li>First value: the number of entries to skip</li>
+     *                 <li>Second value: the maximum number of entries to
+     *                     list</li>
+     *               </ul>
+     *               or {@code null} to list every entry
+     */
+    public ListCommand(Receiver receiver, String params) {
         this.receiver = receiver;
+        this.params = params;
     }
 
     /**
-     * Executes the list operation by calling the receiver's list method.
+     * Validates the pagination parameters, if any.
      *
-     * <p>Displays all entries currently stored in the data collection.</p>
+     * @throws InvalidInputException if the receiver is missing, or the
+     *                               parameters are not two non-negative
+     *                               numbers
      */
     @Override
-    public void execute() {
+    public void validate() {
         if (this.receiver == null) {
             throw new InvalidInputException(
                     "Error: Receiver cannot be null."
             );
         }
-        System.out.println("List");
-        this.receiver.list();
+        if (this.params != null) {
+            Tokenizer inputs = Tokenizer.local();
+            if (inputs.split(this.params) != 2) {
+                throw new InvalidInputException(
+                        "Error: invalid number of parameters, list not "
+                        + "successful."
+                );
+            }
+            try {
+                this.offset = inputs.parseInt(0);
+                this.limit = inputs.parseInt(1);
+            } catch (NumberFormatException e) {
+                throw new InvalidInputException(
+                        "Error: offset or limit provided is not a number, "
+                        + "list not successful."
+                );
+            }
+            if (this.offset < 0 || this.limit < 0) {
+                throw new InvalidInputException(
+                        "Error: offset and limit cannot be negative, list "
+                        + "not successful."
+                );
+            }
+        }
+        this.validated = true;
+    }
+
+    /**
+     * Executes the list operation by calling the receiver's list method.
+     *
+     * <p>Displays all entries currently stored in the data collection, or
+     * the requested page of them, each with its 1-based index.</p>
+     *
+     * @throws InvalidInputException if the receiver is missing or the
+     *                               pagination parameters are invalid
+     */
+    @Override
+    public void execute() {
+        if (!this.validated) {
+            validate();
+        }
+        this.receiver.getOutput().println("List");
+        this.receiver.list(this.offset, this.limit);
     }
 
     /**
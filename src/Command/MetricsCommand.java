@@ -0,0 +1,52 @@
+package Command;
+
+import Utils.Metrics;
+import Utils.OutputSink;
+
+/**
+ * Concrete command that prints the current value of every metric, as given
+ * by {@link Metrics#dump()}.
+ *
+ * <p>This command follows the Command design pattern. It only reads the
+ * metrics and is not undoable.</p>
+ */
+public class MetricsCommand implements Command {
+
+    /** The sink that the metrics are printed to. */
+    private final OutputSink output;
+
+    /**
+     * Constructs a {@code MetricsCommand} that prints to the given sink.
+     *
+     * @param output the sink to print the metrics to
+     */
+    public MetricsCommand(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Executes the command by printing every metric, one per line.
+     */
+    @Override
+    public void execute() {
+        this.output.println("Metrics");
+        this.output.print(Metrics.dump());
+    }
+
+    /**
+     * Does nothing, since printing the metrics cannot be undone.
+     */
+    @Override
+    public void undo() {
+    }
+
+    /**
+     * Indicates that this command does not support undo.
+     *
+     * @return {@code false}, since printing the metrics changes nothing
+     */
+    @Override
+    public boolean isUndoable() {
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package Command;
+
+import Receiver.Receiver;
+import Utils.InvalidInputException;
+
+/**
+ * Concrete command that triggers the redo operation on the receiver.
+ *
+ * <p>This command follows the Command design pattern. It replays the most
+ * recently undone command, as recorded in an {@link UndoHistory}, without
+ * parsing or validating that command's input again. Executing any new
+ * undoable command discards the commands that could be redone.</p>
+ *
+ * <p>Note: The redo command itself cannot be undone; undo the replayed
+ * command instead.</p>
+ */
+public class RedoCommand implements Command {
+
+    /** The receiver that the undone command is replayed on. */
+    private final Receiver receiver;
+
+    /** The history of executed and undone commands. */
+    private final UndoHistory history;
+
+    /**
+     * Constructs a {@code RedoCommand} with the specified receiver and
+     * history.
+     *
+     * @param receiver the receiver that the undone command is replayed on
+     * @param history the history of executed and undone commands
+     */
+    public RedoCommand(Receiver receiver, UndoHistory history) {
+        this.receiver = receiver;
+        this.history = history;
+    }
+
+    /**
+     * Executes the redo operation.
+     *
+     * <p>This method replays the changes of the most recently undone command
+     * and moves the history cursor forward past it.</p>
+     */
+    @Override
+    public void execute() {
+        if (this.receiver == null) {
+            throw new InvalidInputException(
+                    "Error: Receiver cannot be null."
+            );
+        }
+        if (this.history == null) {
+            throw new InvalidInputException(
+                    "Error: Input cannot be null."
+            );
+        }
+        if (this.history.canRedo()) {
+            this.history.redo(this.receiver);
+        } else {
+            this.receiver.getOutput().println("No undone command to redo.");
+        }
+    }
+
+    /**
+     * Does nothing, since a redo cannot itself be undone.
+     */
+    @Override
+    public void undo() {
+    }
+
+    /**
+     * Indicates that this command is not undoable.
+     *
+     * @return {@code false}, since a redo command cannot be reverted
+     */
+    @Override
+    public boolean isUndoable() {
+        return false;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,5 @@
 package Command;
 
-import java.util.Stack;
 import Receiver.Receiver;
 import Utils.InvalidInputException;
 
@@ -8,7 +7,8 @@ import Utils.InvalidInputException;
  * Concrete command that triggers the undo operation on the receiver.
  *
  * <p>This command follows the Command design pattern. It instructs the
- * receiver to revert the most recent command that supports undo.</p>
+ * receiver to revert the most recent command that supports undo, as recorded
+ * in an {@link UndoHistory}.</p>
  *
  * <p>Note: The undo command itself cannot be undone.</p>
  */
@@ -17,15 +17,15 @@ public class UndoCommand implements Command {
     /** The receiver that actually performs the add operation. */
     private final Receiver receiver;
 
-    /** The stack to contain the history of executed (undoable) commands*/
-    private final Stack<Command> history;
+    /** The history of executed (undoable) commands. */
+    private final UndoHistory history;
 
     /**
      * Constructs an {@code UndoCommand} with the sperrcified receiver.
      *
-     * @param history the stack to contain the history of executed commands
+     * @param history the history of executed commands
      */
-    public UndoCommand(Receiver receiver, Stack<Command> history) {
+    public UndoCommand(Receiver receiver, UndoHistory history) {
         this.receiver = receiver;
         this.history = history;
     }
@@ -33,8 +33,8 @@ public class UndoCommand implements Command {
     /**
      * Executes the undo operation.
      *
-     * <p>This method undoes the last executed command by popping it from
-     * the command history and executing the previous command.</p>
+     * <p>This method undoes the last executed command by reverting the
+     * newest changes in the command history and removing them.</p>
      */
     @Override
     public void execute() {
@@ -49,10 +49,9 @@ public class UndoCommand implements Command {
             );
         }
         if (!this.history.isEmpty()) {
-            Command lastCommand = this.history.pop();
-            lastCommand.undo();
+            this.history.undo(this.receiver);
         } else {
-            System.out.println("No previous command to undo.");
+            this.receiver.getOutput().println("No previous command to undo.");
         }
     }
 
@@ -0,0 +1,604 @@
+package Command;
+
+import Receiver.Receiver;
+import Utils.InvalidInputException;
+
+import java.util.Arrays;
+
+/**
+ * Bounded history of changes that can be undone and redone.
+ *
+ * <p>Rather than keeping every executed {@link Command} alive, the history
+ * stores compact deltas: the position of an added entry, only the previous
+ * values of the fields an update changed, or the fields of a deleted entry.
+ * The deltas of one command form one unit, so undoing a
+ * {@link BatchCommand} reverts all of its commands at once.</p>
+ *
+ * <p>A cursor separates the units that can be undone from those that can be
+ * redone. Undoing a unit moves the cursor back and turns each of its deltas
+ * into the delta that replays it: an undone addition keeps the fields of the
+ * entries it removed, and an undone update swaps in the values it
+ * overwrote. Redoing moves the cursor forward and applies those deltas
+ * directly, without parsing or validating any input again. Recording a new
+ * command discards every unit after the cursor.</p>
+ *
+ * <p>Deltas are held in parallel arrays used as a ring buffer, so recording
+ * a change allocates at most the array of previous field values. The byte
+ * budget covers the deltas on both sides of the cursor: an undone unit
+ * holds the fields it removed, which can be large after undoing an import.
+ * When the history is over its byte budget, the units that can be redone
+ * are dropped first, newest first, and then the oldest units that can be
+ * undone. The oldest units are also dropped while the history holds more
+ * units than its maximum depth. The newest unit that can be undone is
+ * always kept, even if it exceeds the byte budget.</p>
+ *
+ * <p>The history is not thread-safe; each client keeps its own.</p>
+ */
+public class UndoHistory {
+
+    /** Default maximum number of commands that can be undone. */
+    public static final int DEFAULT_MAX_DEPTH = 10000;
+
+    /** Default estimated memory budget of the history, in bytes. */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /** Initial number of deltas and units allocated. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Estimated cost of one delta in the ring arrays, in bytes. */
+    private static final int DELTA_BYTES = 16;
+
+    /**
+     * Delta of an entry added at a position. Once undone, it holds the
+     * fields of the entry.
+     */
+    private static final byte ADD = 0;
+
+    /**
+     * Delta of a run of entries added at consecutive positions. Once undone,
+     * it holds the fields of every entry in turn.
+     */
+    private static final byte ADD_RANGE = 1;
+
+    /**
+     * Delta of an update, holding the previous values of changed fields.
+     * Once undone, it holds the values that the update wrote instead.
+     */
+    private static final byte UPDATE = 2;
+
+    /** Delta of a deletion, holding the fields of the deleted entry. */
+    private static final byte DELETE = 3;
+
+    /**
+     * Delta that undoes a whole command through {@link Command#undo()}, and
+     * redoes it through {@link Command#execute()}.
+     */
+    private static final byte COMMAND = 4;
+
+    /** Maximum number of units kept. */
+    private final int maxDepth;
+
+    /** Estimated memory budget, in bytes. */
+    private final long maxBytes;
+
+    /** Kind of each delta. */
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+
+    /** Zero-based position of the entry each delta applies to. */
+    private int[] positions = new int[INITIAL_CAPACITY];
+
+    /** Number of entries of each {@link #ADD_RANGE} delta. */
+    private int[] counts = new int[INITIAL_CAPACITY];
+
+    /**
+     * Field values of each delta, or the command of each {@link #COMMAND}
+     * delta.
+     */
+    private Object[] payloads = new Object[INITIAL_CAPACITY];
+
+    /** Sequence number of the oldest delta held. */
+    private long firstDelta;
+
+    /** Sequence number of the first delta that can be redone. */
+    private long cursorDelta;
+
+    /** Sequence number the next delta will get. */
+    private long nextDelta;
+
+    /** Sequence number of the first delta of each unit. */
+    private long[] unitStarts = new long[INITIAL_CAPACITY];
+
+    /** Sequence number of the oldest unit held. */
+    private long firstUnit;
+
+    /** Sequence number of the first unit that can be redone. */
+    private long cursorUnit;
+
+    /** Sequence number the next unit will get. */
+    private long nextUnit;
+
+    /** Estimated memory held by the deltas, in bytes. */
+    private long bytes;
+
+    /**
+     * Constructs an empty history with the default depth and byte budget.
+     */
+    public UndoHistory() {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructs an empty history with the given depth and byte budget.
+     *
+     * @param maxDepth the maximum number of commands that can be undone
+     * @param maxBytes the estimated memory budget of the history, in bytes
+     * @throws InvalidInputException if either limit is less than one
+     */
+    public UndoHistory(int maxDepth, long maxBytes) {
+        if (maxDepth < 1 || maxBytes < 1) {
+            throw new InvalidInputException(
+                    "Error: History depth and size must be positive."
+            );
+        }
+        this.maxDepth = maxDepth;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Records an executed command as the newest unit, if it is undoable,
+     * discarding every unit that could be redone. The oldest units are then
+     * dropped while the history is over its depth or byte budget.
+     *
+     * @param command the command that has just executed
+     */
+    public void record(Command command) {
+        if (!command.isUndoable()) {
+            return;
+        }
+        discardRedo();
+        if (nextUnit - firstUnit == unitStarts.length) {
+            unitStarts = grow(unitStarts, firstUnit);
+        }
+        unitStarts[(int) (nextUnit & (unitStarts.length - 1))] = nextDelta;
+        nextUnit++;
+        cursorUnit = nextUnit;
+        command.recordTo(this);
+        cursorDelta = nextDelta;
+        trim();
+    }
+
+    /**
+     * Checks whether there is nothing to undo.
+     *
+     * @return {@code true} if no unit can be undone
+     */
+    public boolean isEmpty() {
+        return cursorUnit == firstUnit;
+    }
+
+    /**
+     * Checks whether there is anything to redo.
+     *
+     * @return {@code true} if at least one unit can be redone
+     */
+    public boolean canRedo() {
+        return cursorUnit < nextUnit;
+    }
+
+    /**
+     * Gets the number of commands that can be undone.
+     *
+     * @return the number of units before the cursor
+     */
+    public int size() {
+        return (int) (cursorUnit - firstUnit);
+    }
+
+    /**
+     * Gets the estimated memory held by the history.
+     *
+     * @return the estimated size of the deltas, in bytes
+     */
+    public long estimatedBytes() {
+        return bytes;
+    }
+
+    /**
+     * Undoes the unit before the cursor, reverting its deltas newest first,
+     * and moves the cursor back over it. Prints {@code "Undo"} for each
+     * reverted add, run of adds, update or delete, as the commands
+     * themselves do. If the fields kept to redo the unit take the history
+     * over its byte budget, the unit cannot be redone.
+     *
+     * @param receiver the receiver to revert the changes on
+     * @throws InvalidInputException if there is nothing to undo
+     */
+    public void undo(Receiver receiver) {
+        if (isEmpty()) {
+            throw new InvalidInputException(
+                    "Error: No previous command to undo."
+            );
+        }
+        cursorUnit--;
+        long start = unitStarts[(int) (cursorUnit & (unitStarts.length - 1))];
+        while (cursorDelta > start) {
+            cursorDelta--;
+            int i = (int) (cursorDelta & (kinds.length - 1));
+            bytes -= sizeOf(payloads[i]);
+            payloads[i] = revert(receiver, i);
+            bytes += sizeOf(payloads[i]);
+        }
+        trim();
+    }
+
+    /**
+     * Redoes the unit after the cursor, replaying its deltas oldest first,
+     * and moves the cursor forward over it. Prints {@code "Redo"} for each
+     * replayed add, run of adds, update or delete.
+     *
+     * @param receiver the receiver to replay the changes on
+     * @throws InvalidInputException if there is nothing to redo
+     */
+    public void redo(Receiver receiver) {
+        if (!canRedo()) {
+            throw new InvalidInputException(
+                    "Error: No undone command to redo."
+            );
+        }
+        cursorUnit++;
+        long end = cursorUnit == nextUnit
+                ? nextDelta
+                : unitStarts[(int) (cursorUnit & (unitStarts.length - 1))];
+        while (cursorDelta < end) {
+            int i = (int) (cursorDelta & (kinds.length - 1));
+            bytes -= sizeOf(payloads[i]);
+            payloads[i] = replay(receiver, i);
+            bytes += sizeOf(payloads[i]);
+            cursorDelta++;
+        }
+    }
+
+    /**
+     * Removes every unit from the history.
+     */
+    public void clear() {
+        Arrays.fill(payloads, null);
+        firstDelta = nextDelta;
+        cursorDelta = nextDelta;
+        firstUnit = nextUnit;
+        cursorUnit = nextUnit;
+        bytes = 0;
+    }
+
+    /**
+     * Records that an entry was added.
+     *
+     * @param position the zero-based position of the added entry
+     */
+    void recordAdd(int position) {
+        append(ADD, position, 1, null);
+    }
+
+    /**
+     * Records that a run of entries was added at consecutive positions.
+     *
+     * @param position the zero-based position of the first added entry
+     * @param count the number of entries added
+     */
+    void recordAddRange(int position, int count) {
+        if (count > 0) {
+            append(ADD_RANGE, position, count, null);
+        }
+    }
+
+    /**
+     * Records that an entry was updated.
+     *
+     * @param position the zero-based position of the updated entry
+     * @param firstName the previous first name, or {@code null} if it did
+     *                  not change
+     * @param lastName the previous last name, or {@code null} if it did not
+     *                 change
+     * @param email the previous email, or {@code null} if it did not change
+     */
+    void recordUpdate(int position, String firstName, String lastName,
+                      String email) {
+        append(UPDATE, position, 1,
+                new String[] {firstName, lastName, email});
+    }
+
+    /**
+     * Records that an entry was deleted.
+     *
+     * @param position the zero-based position of the deleted entry
+     * @param firstName the first name of the deleted entry
+     * @param lastName the last name of the deleted entry
+     * @param email the email of the deleted entry
+     */
+    void recordDelete(int position, String firstName, String lastName,
+                      String email) {
+        append(DELETE, position, 1,
+                new String[] {firstName, lastName, email});
+    }
+
+    /**
+     * Records a command that is undone by calling {@link Command#undo()},
+     * for commands that do not describe their changes as deltas.
+     *
+     * @param command the command to keep
+     */
+    void recordCommand(Command command) {
+        append(COMMAND, 0, 0, command);
+    }
+
+    /**
+     * Appends a delta to the newest unit.
+     *
+     * @param kind the kind of delta
+     * @param position the zero-based position the delta applies to
+     * @param count the number of entries the delta covers
+     * @param payload the field values or command of the delta
+     */
+    private void append(byte kind, int position, int count, Object payload) {
+        if (nextDelta - firstDelta == kinds.length) {
+            growDeltas();
+        }
+        int i = (int) (nextDelta & (kinds.length - 1));
+        kinds[i] = kind;
+        positions[i] = position;
+        counts[i] = count;
+        payloads[i] = payload;
+        bytes += sizeOf(payload);
+        nextDelta++;
+    }
+
+    /**
+     * Reverts one delta on the receiver.
+     *
+     * @param receiver the receiver to revert the change on
+     * @param i the index of the delta in the ring
+     * @return the payload of the delta that replays the change
+     */
+    private Object revert(Receiver receiver, int i) {
+        int position = positions[i];
+        switch (kinds[i]) {
+            case ADD: {
+                String[] fields = fieldsAt(receiver, position, 1);
+                receiver.delete(position);
+                receiver.getOutput().println("Undo");
+                return fields;
+            }
+            case ADD_RANGE: {
+                String[] fields = fieldsAt(receiver, position, counts[i]);
+                for (int k = counts[i] - 1; k >= 0; k--) {
+                    receiver.delete(position + k);
+                }
+                receiver.getOutput().println("Undo");
+                return fields;
+            }
+            case UPDATE: {
+                String[] fields = swap(
+                        receiver, position, (String[]) payloads[i]
+                );
+                receiver.getOutput().println("Undo");
+                return fields;
+            }
+            case DELETE: {
+                String[] fields = (String[]) payloads[i];
+                receiver.insertAtIndex(
+                        position, fields[0], fields[1], fields[2]
+                );
+                receiver.getOutput().println("Undo");
+                return fields;
+            }
+            default:
+                ((Command) payloads[i]).undo();
+                return payloads[i];
+        }
+    }
+
+    /**
+     * Replays one undone delta on the receiver.
+     *
+     * @param receiver the receiver to replay the change on
+     * @param i the index of the delta in the ring
+     * @return the payload of the delta that reverts the change again
+     */
+    private Object replay(Receiver receiver, int i) {
+        int position = positions[i];
+        switch (kinds[i]) {
+            case ADD:
+            case ADD_RANGE: {
+                String[] fields = (String[]) payloads[i];
+                for (int k = 0; k < fields.length; k += 3) {
+                    receiver.insertAtIndex(
+                            position + k / 3,
+                            fields[k], fields[k + 1], fields[k + 2]
+                    );
+                }
+                receiver.getOutput().println("Redo");
+                return null;
+            }
+            case UPDATE: {
+                String[] fields = swap(
+                        receiver, position, (String[]) payloads[i]
+                );
+                receiver.getOutput().println("Redo");
+                return fields;
+            }
+            case DELETE:
+                receiver.delete(position);
+                receiver.getOutput().println("Redo");
+                return payloads[i];
+            default:
+                ((Command) payloads[i]).execute();
+                return payloads[i];
+        }
+    }
+
+    /**
+     * Writes the non-null field values of an update delta to an entry and
+     * collects the values they overwrite. Used in both directions, since
+     * undoing and redoing an update each swap one set of values for the
+     * other.
+     *
+     * @param receiver the receiver holding the entry
+     * @param position the zero-based position of the entry
+     * @param fields the values to write, {@code null} for unchanged fields
+     * @return the overwritten values, {@code null} for unchanged fields
+     */
+    private static String[] swap(Receiver receiver, int position,
+                                 String[] fields) {
+        String[] overwritten = new String[] {
+                fields[0] == null ? null : receiver.getFirstName(position),
+                fields[1] == null ? null : receiver.getLastName(position),
+                fields[2] == null ? null : receiver.getEmail(position)
+        };
+        receiver.set(position, fields[0], fields[1], fields[2]);
+        return overwritten;
+    }
+
+    /**
+     * Collects the fields of a run of entries.
+     *
+     * @param receiver the receiver holding the entries
+     * @param position the zero-based position of the first entry
+     * @param count the number of entries
+     * @return the first name, last name and email of each entry in turn
+     */
+    private static String[] fieldsAt(Receiver receiver, int position,
+                                     int count) {
+        String[] fields = new String[3 * count];
+        for (int k = 0; k < count; k++) {
+            fields[3 * k] = receiver.getFirstName(position + k);
+            fields[3 * k + 1] = receiver.getLastName(position + k);
+            fields[3 * k + 2] = receiver.getEmail(position + k);
+        }
+        return fields;
+    }
+
+    /**
+     * Drops the units that can be redone, newest first, while the history is
+     * over its byte budget. Then drops the oldest units that can be undone
+     * while the history is over its depth or byte budget, keeping at least
+     * the newest unit.
+     */
+    private void trim() {
+        while (bytes > maxBytes && nextUnit > cursorUnit) {
+            dropNewest();
+        }
+        while (firstUnit < cursorUnit
+                && (nextUnit - firstUnit > maxDepth
+                        || (bytes > maxBytes && nextUnit - firstUnit > 1))) {
+            dropOldest();
+        }
+    }
+
+    /**
+     * Discards every unit after the cursor and its deltas.
+     */
+    private void discardRedo() {
+        while (nextDelta > cursorDelta) {
+            nextDelta--;
+            int i = (int) (nextDelta & (kinds.length - 1));
+            bytes -= sizeOf(payloads[i]);
+            payloads[i] = null;
+        }
+        nextUnit = cursorUnit;
+    }
+
+    /**
+     * Drops the newest unit, which must be one that can be redone, and its
+     * deltas.
+     */
+    private void dropNewest() {
+        nextUnit--;
+        long start = unitStarts[(int) (nextUnit & (unitStarts.length - 1))];
+        while (nextDelta > start) {
+            nextDelta--;
+            int i = (int) (nextDelta & (kinds.length - 1));
+            bytes -= sizeOf(payloads[i]);
+            payloads[i] = null;
+        }
+    }
+
+    /**
+     * Drops the oldest unit and its deltas.
+     */
+    private void dropOldest() {
+        firstUnit++;
+        long end = firstUnit == nextUnit
+                ? nextDelta
+                : unitStarts[(int) (firstUnit & (unitStarts.length - 1))];
+        while (firstDelta < end) {
+            int i = (int) (firstDelta & (kinds.length - 1));
+            bytes -= sizeOf(payloads[i]);
+            payloads[i] = null;
+            firstDelta++;
+        }
+    }
+
+    /**
+     * Doubles the capacity of the delta ring, keeping every delta at the
+     * index given by its sequence number.
+     */
+    private void growDeltas() {
+        int capacity = kinds.length * 2;
+        byte[] newKinds = new byte[capacity];
+        int[] newPositions = new int[capacity];
+        int[] newCounts = new int[capacity];
+        Object[] newPayloads = new Object[capacity];
+        for (long seq = firstDelta; seq < nextDelta; seq++) {
+            int from = (int) (seq & (kinds.length - 1));
+            int to = (int) (seq & (capacity - 1));
+            newKinds[to] = kinds[from];
+            newPositions[to] = positions[from];
+            newCounts[to] = counts[from];
+            newPayloads[to] = payloads[from];
+        }
+        kinds = newKinds;
+        positions = newPositions;
+        counts = newCounts;
+        payloads = newPayloads;
+    }
+
+    /**
+     * Doubles the capacity of a ring of sequence numbers, keeping every
+     * element at the index given by its own sequence number.
+     *
+     * @param ring the full ring
+     * @param first the sequence number of the oldest element
+     * @return the grown ring
+     */
+    private static long[] grow(long[] ring, long first) {
+        long[] grown = new long[ring.length * 2];
+        for (long seq = first; seq < first + ring.length; seq++) {
+            grown[(int) (seq & (grown.length - 1))] =
+                    ring[(int) (seq & (ring.length - 1))];
+        }
+        return grown;
+    }
+
+    /**
+     * Estimates the memory held by one delta.
+     *
+     * @param payload the field values or command of the delta
+     * @return the estimated size, in bytes
+     */
+    private static long sizeOf(Object payload) {
+        long size = DELTA_BYTES;
+        if (payload instanceof String[]) {
+            size += 32;
+            for (String field : (String[]) payload) {
+                if (field != null) {
+                    // Object header, hash and the array of a compact string
+                    size += 40 + field.length();
+                }
+            }
+        } else if (payload != null) {
+            // A command kept whole, with its parameters and backups
+            size += 256;
+        }
+        return size;
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package Command;
 import Utils.InvalidInputException;
 import Utils.InputValidator;
 import Receiver.Receiver;
+import Utils.Tokenizer;
 import Utils.WordFormatter;
 
 /**
@@ -22,11 +23,40 @@ public class UpdateCommand implements Command {
     /** Parameters required for the update operation, space-separated. */
     private final String params;
 
+    /** Whether the parameters have been parsed by {@link #validate()}. */
+    private boolean validated;
+
+    /** Zero-based index of the updated entry, parsed in validate. */
+    private int index;
+
+    /** Capitalised new first name, or empty to keep the current one. */
+    private String newFirstName;
+
+    /**
+     * Capitalised new last name, or {@code null} or empty to keep the current
+     * one.
+     */
+    private String newLastName;
+
+    /** New email, or {@code null} or empty to keep the current one. */
+    private String newEmail;
+
     /**
-     * Backup of the data before the update, used for undo functionality.
-     * This stores the original entry at the update index.
+     * Backup of the first name before the update, used for undo
+     * functionality.
      */
-    private String previousData;
+    private String previousFirstName;
+
+    /**
+     * Backup of the last name before the update, used for undo
+     * functionality.
+     */
+    private String previousLastName;
+
+    /**
+     * Backup of the email before the update, used for undo functionality.
+     */
+    private String previousEmail;
 
     /**
      * Constructs an {@code UpdateCommand} with the specified receiver and
@@ -54,27 +84,22 @@ public class UpdateCommand implements Command {
     }
 
     /**
-     * Executes the update operation.
+     * Validates the parameters of the update operation.
      *
-     * <p>This method splits the parameters, checks the count (must be between
-     * 1 and 4), validates the email (if present), then retrieves and saves
-     * the original entry to permit undo.</p>
-     *
-     * <p>The update data (excluding index) has the first two elements
-     * capitalised (first letter uppercase, rest lowercase) via
+     * <p>This method splits the parameters with a {@link Tokenizer}, checks
+     * the count (must be between 1 and 4), validates the email (if present)
+     * and parses the index in place. The
+     * update data (excluding index) has the first two elements capitalised
+     * (first letter uppercase, rest lowercase) via
      * {@link WordFormatter#capitalise(String)}.</p>
      *
-     * <p>The update is then delegated to the receiver using the parsed index
-     * and updated data elements.</p>
-     *
-     * @throws InvalidInputException if the number of parameters is invalid or
+     * @throws InvalidInputException if the number of parameters is invalid,
      *                               if the email (when provided) is in an
-     *                               invalid format
-     * @throws NumberFormatException if the first parameter is not a valid
-     *                               integer index
+     *                               invalid format or if the index is not a
+     *                               number
      */
     @Override
-    public void execute() {
+    public void validate() {
         if (this.receiver == null) {
             throw new InvalidInputException(
                     "Error: Receiver cannot be null, update not successful."
@@ -86,28 +111,28 @@ public class UpdateCommand implements Command {
             );
         }
 
-        String[] inputs = params.split(" ");
-        if (inputs.length <= 1) {
+        Tokenizer inputs = Tokenizer.local();
+        int count = inputs.split(params);
+        if (count <= 1) {
             throw new InvalidInputException(
                 "Error: Not enough parameters, update not successful."
             );
         }
-        if (inputs.length > 4) {
+        if (count > 4) {
             throw new InvalidInputException(
                 "Error: Too many parameters, update not successful."
             );
         }
-        if (inputs.length == 4 && !InputValidator.validate_email(inputs[3])
-        && !InputValidator.validate_string(inputs[3])) {
+        String email = count == 4 ? inputs.field(3) : null;
+        if (email != null && !InputValidator.validate_email(email)
+        && !InputValidator.validate_string(email)) {
             throw new InvalidInputException(
                 "Invalid email format, update not successful."
             );
         }
 
-        int index;
-
         try {
-            index = Integer.parseInt(inputs[0]) - 1;
+            this.index = inputs.parseInt(0) - 1;
         }
         catch (NumberFormatException e) {
             throw new InvalidInputException(
@@ -115,29 +140,49 @@ public class UpdateCommand implements Command {
             );
         }
 
+        // Capitalise first two new data elements if available
+        this.newFirstName = WordFormatter.capitalise(
+                params, inputs.start(1), inputs.end(1)
+        );
+        this.newLastName = count > 2
+                ? WordFormatter.capitalise(
+                        params, inputs.start(2), inputs.end(2))
+                : null;
+        this.newEmail = email;
+        this.validated = true;
+    }
+
+    /**
+     * Executes the update operation.
+     *
+     * <p>This method validates the parameters (unless {@link #validate()}
+     * has already been called), checks the index is within bounds, then
+     * retrieves and saves the original entry to permit undo.</p>
+     *
+     * <p>The update is then delegated to the receiver using the parsed index
+     * and updated data elements.</p>
+     *
+     * @throws InvalidInputException if the parameters are invalid or the
+     *                               index is out of bounds
+     */
+    @Override
+    public void execute() {
+        if (!this.validated) {
+            validate();
+        }
 
-        if (index < 0 || index >= receiver.getDataEntries().size()) {
+        if (index < 0 || index >= receiver.size()) {
             throw new InvalidInputException(
                 "Error: Index out of bounds, update not successful."
             );
         }
 
-        this.previousData = receiver.getDataEntries().get(index);
-
-        // Extract new data components (excluding index)
-        String[] newData = new String[inputs.length - 1];
-        System.arraycopy(
-                inputs, 1, newData, 0, inputs.length - 1
-        );
+        this.previousFirstName = receiver.getFirstName(index);
+        this.previousLastName = receiver.getLastName(index);
+        this.previousEmail = receiver.getEmail(index);
 
-        // Capitalise first two new data elements if available
-        newData[0] = WordFormatter.capitalise(newData[0]);
-        if (newData.length > 1) {
-            newData[1] = WordFormatter.capitalise(newData[1]);
-        }
-
-        receiver.update(index, newData);
-        System.out.println("Update");
+        receiver.update(index, newFirstName, newLastName, newEmail);
+        this.receiver.getOutput().println("Update");
     }
 
     /**
@@ -147,16 +192,49 @@ public class UpdateCommand implements Command {
      * <p>Relies on the backup taken during {@link #execute()} to revert the
      * changes.</p>
      *
-     * <p>This method parses the original index from {@code params} and invokes
-     * an update on the receiver with the previously saved data split into
-     * components.</p>
+     * <p>This method restores every field of the entry at the index parsed
+     * during {@link #execute()} with the previously saved values.</p>
      */
     @Override
     public void undo() {
-        String[] inputs = params.split(" ");
-        int index = Integer.parseInt(inputs[0]) - 1;
-        receiver.update(index, this.previousData.split(" "));
-        System.out.println("Undo");
+        receiver.set(
+                this.index,
+                this.previousFirstName,
+                this.previousLastName,
+                this.previousEmail
+        );
+        this.receiver.getOutput().println("Undo");
+    }
+
+    /**
+     * Records the previous values of the fields that the update changed.
+     *
+     * @param history the history to record the change in
+     */
+    @Override
+    public void recordTo(UndoHistory history) {
+        history.recordUpdate(
+                this.index,
+                changed(this.newFirstName, this.previousFirstName),
+                changed(this.newLastName, this.previousLastName),
+                changed(this.newEmail, this.previousEmail)
+        );
+    }
+
+    /**
+     * Gets the previous value of a field if the update changed it.
+     *
+     * @param newValue the value given to the update, or {@code null} or
+     *                 empty if the field was kept
+     * @param previousValue the value before the update
+     * @return the previous value, or {@code null} if the field did not change
+     */
+    private static String changed(String newValue, String previousValue) {
+        if (newValue == null || newValue.isEmpty()
+                || newValue.equals(previousValue)) {
+            return null;
+        }
+        return previousValue;
     }
 
     /**
@@ -1,21 +1,107 @@
 package Invoker;
 
+import Command.BatchCommand;
 import Command.Command;
+import Command.ImportCommand;
+import Command.UndoHistory;
+import Receiver.Receiver;
+import Utils.Histogram;
 import Utils.InvalidInputException;
+import Utils.Metrics;
+import Utils.OutputSink;
+import Utils.StringSink;
 
-import java.util.Stack;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Invoker class that manages and executes commands.
  *
  * <p>This class holds an array of commands to be executed and maintains the
- * history of undoable commands for potential rollback.</p>
+ * history of undoable commands for potential rollback. Commands can also be
+ * executed as a single batch, see
+ * {@link #executeBatch(Receiver, Command[], UndoHistory)}, and entries
+ * imported from a file, see
+ * {@link #executeImport(Receiver, Path, UndoHistory)}; both save the
+ * receiver once they have executed. Error messages are printed to the
+ * {@link OutputSink} the invoker was constructed with.</p>
+ *
+ * <p>While {@link Metrics} are enabled, the number of successful and failed
+ * executions of each type of command are counted, as
+ * {@code command.<type>.success} and {@code command.<type>.failure}, and
+ * the latency of one in every {@value #LATENCY_SAMPLE_INTERVAL} executions
+ * is recorded in {@code command.<type>.latency}. Sampling keeps the cost of
+ * reading the clock off most executions, while still giving the latency
+ * distribution of long runs.</p>
  */
 public class Invoker {
 
+    /** One in this many executions has its latency recorded. */
+    private static final int LATENCY_SAMPLE_INTERVAL = 8;
+
+    /** Metrics of each type of command, created on first use. */
+    private static final ClassValue<CommandMetrics> METRICS =
+            new ClassValue<>() {
+                @Override
+                protected CommandMetrics computeValue(Class<?> type) {
+                    return new CommandMetrics(type.getSimpleName());
+                }
+            };
+
+    /**
+     * Metrics of one type of command.
+     */
+    private static class CommandMetrics {
+
+        /** Number of executions that succeeded. */
+        private final LongAdder successes;
+
+        /** Number of executions that threw an InvalidInputException. */
+        private final LongAdder failures;
+
+        /** Time taken by the sampled executions, in nanoseconds. */
+        private final Histogram latency;
+
+        /**
+         * Constructs the metrics of a type of command.
+         *
+         * @param type the simple name of the command class
+         */
+        private CommandMetrics(String type) {
+            this.successes = Metrics.counter("command." + type + ".success");
+            this.failures = Metrics.counter("command." + type + ".failure");
+            this.latency = Metrics.histogram("command." + type + ".latency");
+        }
+    }
+
     /** Array of Command objects scheduled for execution. */
     private Command[] cmdToExecute;
 
+    /** Number of executions, used to pick the ones whose latency is kept. */
+    private int executions;
+
+    /** Sink that error messages are printed to. */
+    private final OutputSink output;
+
+    /**
+     * Constructs an invoker that prints error messages to
+     * {@link OutputSink#STDOUT}.
+     */
+    public Invoker() {
+        this(OutputSink.STDOUT);
+    }
+
+    /**
+     * Constructs an invoker that prints error messages to the given sink,
+     * usually the sink of the receiver the commands operate on.
+     *
+     * @param output the sink to print error messages to
+     */
+    public Invoker(OutputSink output) {
+        this.output = output;
+    }
+
     /**
      * Sets the commands to be executed.
      *
@@ -26,29 +112,186 @@ public class Invoker {
     }
 
     /**
-     * Executes each command in the array and pushes undoable commands to
-     * the history stack.
+     * Executes each command in the array and records undoable commands in
+     * the history.
      *
      * <p>If a command throws an {@link InvalidInputException}, the error
      * message is printed and execution continues with the next command.</p>
      *
-     * @param history a stack to store successfully executed undoable commands
+     * @param history a history to record successfully executed undoable
+     *                commands in
      */
-    public void executeCommand(Stack<Command> history) {
+    public void executeCommand(UndoHistory history) {
         if (history == null) {
             throw new InvalidInputException(
                     "Error: Input cannot be null."
             );
         }
         for (Command cmd : cmdToExecute) {
+            execute(cmd, history);
+        }
+    }
+
+    /**
+     * Executes a single command and records it in the history if it is
+     * undoable, without scheduling it first. This lets commands be executed
+     * one at a time as they are read, instead of collecting them in an
+     * array.
+     *
+     * <p>If the command throws an {@link InvalidInputException}, the error
+     * message is printed.</p>
+     *
+     * @param cmd the command to execute
+     * @param history a history to record the command in if it is undoable
+     */
+    public void executeCommand(Command cmd, UndoHistory history) {
+        if (history == null) {
+            throw new InvalidInputException(
+                    "Error: Input cannot be null."
+            );
+        }
+        execute(cmd, history);
+    }
+
+    /**
+     * Executes the given commands as one unit through a
+     * {@link BatchCommand}.
+     *
+     * <p>All commands are validated before any of them runs, the receiver
+     * is saved once at the end, and the batch is recorded in the history as
+     * a single unit so that one undo reverts the whole batch. If the batch
+     * fails, or cannot be saved, the error message is printed and no changes
+     * are kept.</p>
+     *
+     * <p>With a {@link Receiver.ConcurrentReceiver}, run the call inside
+     * {@link Receiver.ConcurrentReceiver#atomically(Runnable)} to keep
+     * other writers out of the batch and its save.</p>
+     *
+     * @param receiver the receiver the commands operate on
+     * @param commands the commands to execute as one batch
+     * @param history a history to record the batch in once it has executed
+     */
+    public void executeBatch(Receiver receiver, Command[] commands,
+                             UndoHistory history) {
+        if (history == null) {
+            throw new InvalidInputException(
+                    "Error: Input cannot be null."
+            );
+        }
+        execute(new BatchCommand(receiver, commands), history, receiver,
+                "batch");
+    }
+
+    /**
+     * Imports the entries of a file through an {@link ImportCommand}.
+     *
+     * <p>The receiver is saved once at the end, and the import is recorded
+     * in the history so that one undo removes every entry it added. If the
+     * import fails, or cannot be saved, the error message is printed and no
+     * changes are kept.</p>
+     *
+     * @param receiver the receiver to add the entries to
+     * @param file the file to import, one set of add parameters per line
+     * @param history a history to record the import in once it has executed
+     */
+    public void executeImport(Receiver receiver, Path file,
+                              UndoHistory history) {
+        if (history == null) {
+            throw new InvalidInputException(
+                    "Error: Input cannot be null."
+            );
+        }
+        execute(new ImportCommand(receiver, file), history, receiver,
+                "import");
+    }
+
+    /**
+     * Executes a single command and records it in the history if it is
+     * undoable, along with its metrics. If the command throws an
+     * {@link InvalidInputException}, the error message is printed.
+     *
+     * @param cmd the command to execute
+     * @param history a history to record the command in if it is undoable
+     */
+    private void execute(Command cmd, UndoHistory history) {
+        execute(cmd, history, null, null);
+    }
+
+    /**
+     * Executes a single command, saves the receiver if one is given, and
+     * records the command in the history if it is undoable, along with its
+     * metrics. If the command throws an {@link InvalidInputException}, the
+     * error message is printed.
+     *
+     * @param cmd the command to execute
+     * @param history a history to record the command in if it is undoable
+     * @param saved the receiver to save once the command has executed, or
+     *              {@code null}
+     * @param unit the name of the command in error messages about the save
+     */
+    private void execute(Command cmd, UndoHistory history, Receiver saved,
+                         String unit) {
+        if (!Metrics.isEnabled()) {
             try {
-                cmd.execute();
-                if (cmd.isUndoable()) {
-                    history.push(cmd);
-                }
+                run(cmd, saved, unit);
+                history.record(cmd);
             } catch (InvalidInputException e) {
-                System.out.println(e.getMessage());
+                output.println(e.getMessage());
+            }
+            return;
+        }
+        CommandMetrics metrics = METRICS.get(cmd.getClass());
+        boolean timed = executions++ % LATENCY_SAMPLE_INTERVAL == 0;
+        long start = timed ? System.nanoTime() : 0;
+        try {
+            run(cmd, saved, unit);
+            history.record(cmd);
+            metrics.successes.increment();
+        } catch (InvalidInputException e) {
+            metrics.failures.increment();
+            output.println(e.getMessage());
+        }
+        if (timed) {
+            metrics.latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Executes a command, then saves the receiver if one is given.
+     *
+     * <p>When saving, the output printed to the receiver while the command
+     * executes is held back until the save has succeeded. If the save
+     * fails, the command is undone and its output is discarded, so that the
+     * data file and the records stay the same.</p>
+     *
+     * @param cmd the command to execute
+     * @param saved the receiver to save once the command has executed, or
+     *              {@code null}
+     * @param unit the name of the command in error messages about the save
+     * @throws InvalidInputException if the command fails to execute or the
+     *                               receiver cannot be saved
+     */
+    private static void run(Command cmd, Receiver saved, String unit) {
+        if (saved == null) {
+            cmd.execute();
+            return;
+        }
+        OutputSink output = saved.getOutput();
+        StringSink held = new StringSink();
+        saved.setOutput(held);
+        try {
+            cmd.execute();
+            try {
+                saved.storeToFile();
+            } catch (UncheckedIOException e) {
+                cmd.undo();
+                throw new InvalidInputException(
+                        e.getMessage() + ", " + unit + " not successful."
+                );
             }
+        } finally {
+            saved.setOutput(output);
         }
+        output.print(held.take());
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package Invoker;
+
+import Command.Command;
+import Command.UndoHistory;
+import Receiver.ConcurrentReceiver;
+import Utils.InvalidInputException;
+
+/**
+ * A named data store opened through a {@link StoreRegistry}: a receiver
+ * with its own data file, together with its own undo history.
+ *
+ * <p>Commands run through {@link #execute(Command...)} are executed one
+ * call at a time, so that the history of the store stays consistent when
+ * several threads use it. Different stores run independently. Once the
+ * store has been closed by its registry, it executes no more commands.</p>
+ */
+public class Store {
+
+    /** Name of the store in its registry. */
+    private final String name;
+
+    /** Receiver holding the records of the store. */
+    private final ConcurrentReceiver receiver;
+
+    /** History of the commands executed on the store. */
+    private final UndoHistory history = new UndoHistory();
+
+    /** Invoker executing the commands of the store. */
+    private final Invoker invoker;
+
+    /** Whether the store has been saved and closed. */
+    private boolean closed;
+
+    /**
+     * Constructs a store with the given name and receiver.
+     *
+     * @param name the name of the store
+     * @param receiver the receiver holding the records of the store
+     */
+    Store(String name, ConcurrentReceiver receiver) {
+        this.name = name;
+        this.receiver = receiver;
+        this.invoker = new Invoker(receiver.getOutput());
+    }
+
+    /**
+     * Gets the name of the store.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the receiver holding the records of the store, to construct
+     * commands with.
+     *
+     * @return the receiver
+     */
+    public ConcurrentReceiver getReceiver() {
+        return receiver;
+    }
+
+    /**
+     * Gets the history of the commands executed on the store, to construct
+     * undo and redo commands with.
+     *
+     * @return the history
+     */
+    public UndoHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Gets the number of commands that can be undone on the store, read
+     * under the same lock the commands run under.
+     *
+     * @return the depth of the history
+     */
+    public synchronized int historyDepth() {
+        return history.size();
+    }
+
+    /**
+     * Executes commands on the store through its own invoker, recording
+     * them in its own history. Error messages are printed as by
+     * {@link Invoker#executeCommand(UndoHistory)}.
+     *
+     * @param commands the commands to execute
+     * @throws InvalidInputException if the store has been closed
+     */
+    public synchronized void execute(Command... commands) {
+        if (closed) {
+            throw new InvalidInputException(
+                    "Error: Store " + name + " is closed."
+            );
+        }
+        invoker.setCommandsForExecution(commands);
+        invoker.executeCommand(history);
+    }
+
+    /**
+     * Saves the store and closes it, once no command is running on it. If
+     * the save fails, the store stays open.
+     *
+     * @throws java.io.UncheckedIOException if the store cannot be saved
+     */
+    synchronized void close() {
+        if (!closed) {
+            receiver.storeToFile();
+            closed = true;
+        }
+    }
+}
\ No newline at end of file
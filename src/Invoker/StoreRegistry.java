@@ -0,0 +1,159 @@
+package Invoker;
+
+import Receiver.ConcurrentReceiver;
+import Utils.Durability;
+import Utils.FileManager;
+import Utils.InputValidator;
+import Utils.InvalidInputException;
+import Utils.LoadMode;
+import Utils.Metrics;
+import Utils.PersistenceMode;
+import Utils.StoreFormat;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of named data stores kept in one directory, so that several
+ * address books can be used in one process.
+ *
+ * <p>Each store has its own data file, named after the store, such as
+ * {@code <directory>/tenant1.txt}, its own {@link ConcurrentReceiver} and
+ * its own undo history. Stores are opened on first use and can be opened
+ * and used from several threads at once.</p>
+ *
+ * <p>The size and history depth of each open store are published as the
+ * {@code store.<name>.size} and {@code store.<name>.history.depth} gauges
+ * of {@link Metrics}.</p>
+ */
+public class StoreRegistry {
+
+    /** Directory holding the data files of the stores. */
+    private final Path directory;
+
+    /** Strategy used to persist the stores. */
+    private final PersistenceMode mode;
+
+    /** Format of the data files. */
+    private final StoreFormat format;
+
+    /** Durability of saves. */
+    private final Durability durability;
+
+    /** Stores opened so far, by name. */
+    private final ConcurrentHashMap<String, Store> stores =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a registry of text stores in the given directory that are
+     * rewritten on every save.
+     *
+     * @param directory the directory holding the data files
+     */
+    public StoreRegistry(Path directory) {
+        this(directory, PersistenceMode.SNAPSHOT, StoreFormat.TEXT,
+                Durability.NONE);
+    }
+
+    /**
+     * Constructs a registry of stores in the given directory.
+     *
+     * @param directory the directory holding the data files
+     * @param mode the strategy used to persist the stores
+     * @param format the format of the data files
+     * @param durability the durability of saves
+     */
+    public StoreRegistry(Path directory, PersistenceMode mode,
+                         StoreFormat format, Durability durability) {
+        this.directory = directory;
+        this.mode = mode;
+        this.format = format;
+        this.durability = durability;
+    }
+
+    /**
+     * Opens the store with the given name, loading it from its data file the
+     * first time, or creating the data file if it does not exist.
+     *
+     * @param name the name of the store, made of letters, digits and
+     *             underscores
+     * @return the store
+     * @throws InvalidInputException if the name is not valid
+     */
+    public Store open(String name) {
+        if (name == null || !InputValidator.validate_string(name)) {
+            throw new InvalidInputException(
+                    "Error: Store name must consist of letters, digits and "
+                    + "underscores."
+            );
+        }
+        return stores.computeIfAbsent(name, key -> {
+            Store store = new Store(
+                    key,
+                    new ConcurrentReceiver(new FileManager(
+                            dataFile(key), mode, LoadMode.EAGER, format,
+                            durability
+                    ))
+            );
+            Metrics.gauge("store." + key + ".size", store.getReceiver()::size);
+            Metrics.gauge(
+                    "store." + key + ".history.depth", store::historyDepth
+            );
+            return store;
+        });
+    }
+
+    /**
+     * Saves and closes the store with the given name, if it is open. The
+     * store is saved once the command running on it, if any, has finished,
+     * and later commands on it are rejected. Opening it again loads it from
+     * its data file with an empty history. If the save fails, the store
+     * stays open.
+     *
+     * @param name the name of the store
+     * @throws java.io.UncheckedIOException if the store cannot be saved
+     */
+    public void close(String name) {
+        // Closed under the lock of the entry, so open never returns it
+        stores.computeIfPresent(name, (key, store) -> {
+            store.close();
+            Metrics.removeGauge("store." + key + ".size");
+            Metrics.removeGauge("store." + key + ".history.depth");
+            return null;
+        });
+    }
+
+    /**
+     * Saves and closes every open store.
+     *
+     * @throws java.io.UncheckedIOException if a store cannot be saved
+     */
+    public void closeAll() {
+        for (String name : names()) {
+            close(name);
+        }
+    }
+
+    /**
+     * Gets the names of the open stores.
+     *
+     * @return the names, in no particular order
+     */
+    public List<String> names() {
+        return new ArrayList<>(stores.keySet());
+    }
+
+    /**
+     * Gets the data file of the store with the given name.
+     *
+     * @param name the name of the store
+     * @return the data file
+     */
+    private Path dataFile(String name) {
+        return directory.resolve(
+                name + (format == StoreFormat.BINARY ? ".bin" : ".txt")
+        );
+    }
+}
\ No newline at end of file
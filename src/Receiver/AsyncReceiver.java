@@ -0,0 +1,387 @@
+package Receiver;
+
+import Utils.FileManager;
+import Utils.InvalidInputException;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ConcurrentReceiver} that saves its data entries in the background.
+ *
+ * <p>Every change marks the store dirty, and {@link #storeToFile()} returns
+ * at once instead of writing the data file. A background writer thread
+ * saves all changes made since its last save in one go, once the oldest of
+ * them is a save interval old or as soon as the number of changes reaches
+ * the dirty threshold. Commands therefore never wait for the disk, and a
+ * burst of changes costs a single save.</p>
+ *
+ * <p>{@link #flush()} saves the pending changes right away and forces them
+ * to disk. It also runs from a shutdown hook, so that changes are not lost
+ * when the program exits normally. {@link #close()} stops the writer.</p>
+ *
+ * <p>Instances are created by the {@code open} methods, which start the
+ * writer and register the shutdown hook once the receiver is fully
+ * constructed. Errors of background saves are printed to the
+ * {@link Utils.OutputSink} of the receiver.</p>
+ */
+public class AsyncReceiver extends ConcurrentReceiver
+        implements AutoCloseable {
+
+    /** Default longest time a change waits before it is saved. */
+    public static final long DEFAULT_INTERVAL_MILLIS = 100;
+
+    /** Default number of changes that triggers a save right away. */
+    public static final int DEFAULT_DIRTY_THRESHOLD = 10000;
+
+    /** Longest time a change waits before it is saved, in nanoseconds. */
+    private final long intervalNanos;
+
+    /** Number of changes that triggers a save right away. */
+    private final int dirtyThreshold;
+
+    /** Monitor guarding the dirty state and waking the writer. */
+    private final Object monitor = new Object();
+
+    /** Lock held for the whole of a save, so that flushes wait for it. */
+    private final ReentrantLock saving = new ReentrantLock();
+
+    /** Number of changes not saved yet. */
+    private int dirty;
+
+    /** Time of the oldest change not saved yet. */
+    private long dirtySince;
+
+    /** Whether the receiver has been closed. */
+    private boolean closed;
+
+    /** Background thread that saves the changes. */
+    private final Thread writer;
+
+    /** Thread run at exit to save the last changes. */
+    private final Thread shutdownHook;
+
+    /**
+     * Opens an AsyncReceiver that saves its data entries to the default data
+     * file, with the default interval and threshold.
+     *
+     * @return the receiver, with its writer running
+     */
+    public static AsyncReceiver open() {
+        return open(new FileManager(), DEFAULT_INTERVAL_MILLIS,
+                DEFAULT_DIRTY_THRESHOLD);
+    }
+
+    /**
+     * Opens an AsyncReceiver that saves its data entries through the given
+     * file manager.
+     *
+     * @param fileManager the file manager to load and store data entries
+     * @param intervalMillis the longest time a change waits before it is
+     *                       saved, in milliseconds
+     * @param dirtyThreshold the number of changes that triggers a save
+     *                       right away
+     * @return the receiver, with its writer running
+     * @throws InvalidInputException if the interval or threshold is not
+     *                               positive
+     */
+    public static AsyncReceiver open(FileManager fileManager,
+                                     long intervalMillis,
+                                     int dirtyThreshold) {
+        AsyncReceiver receiver =
+                new AsyncReceiver(fileManager, intervalMillis, dirtyThreshold);
+        receiver.start();
+        return receiver;
+    }
+
+    /**
+     * Constructs an AsyncReceiver instance that saves its data entries
+     * through the given file manager, without starting its writer.
+     *
+     * @param fileManager the file manager to load and store data entries
+     * @param intervalMillis the longest time a change waits before it is
+     *                       saved, in milliseconds
+     * @param dirtyThreshold the number of changes that triggers a save
+     *                       right away
+     * @throws InvalidInputException if the interval or threshold is not
+     *                               positive
+     */
+    private AsyncReceiver(FileManager fileManager, long intervalMillis,
+                          int dirtyThreshold) {
+        super(fileManager);
+        if (intervalMillis <= 0 || dirtyThreshold <= 0) {
+            throw new InvalidInputException(
+                    "Error: Save interval and dirty threshold must be "
+                    + "positive."
+            );
+        }
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.dirtyThreshold = dirtyThreshold;
+        this.writer = new Thread(this::runWriter, "store-writer");
+        this.writer.setDaemon(true);
+        this.shutdownHook = new Thread(this::flushQuietly, "store-flush");
+    }
+
+    /**
+     * Starts the background writer and registers the shutdown hook.
+     */
+    private void start() {
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Adds a new record at the end of the data list and marks the store
+     * dirty.
+     *
+     * @param firstName the first name
+     * @param lastName the last name
+     * @param email the email
+     * @return the zero-based index the record was added at
+     */
+    @Override
+    public int add(String firstName, String lastName, String email) {
+        int index = super.add(firstName, lastName, email);
+        markDirty();
+        return index;
+    }
+
+    /**
+     * Updates the record at the specified index and marks the store dirty.
+     *
+     * @param index     the zero-based index of the record to update
+     * @param firstName the new first name, or {@code null}
+     * @param lastName  the new last name, or {@code null}
+     * @param email     the new email, or {@code null}
+     */
+    @Override
+    public void update(int index, String firstName, String lastName,
+                       String email) {
+        super.update(index, firstName, lastName, email);
+        markDirty();
+    }
+
+    /**
+     * Overwrites every non-null field of the record at the specified index
+     * and marks the store dirty.
+     *
+     * @param index     the zero-based index of the record
+     * @param firstName the first name, or {@code null} to keep it
+     * @param lastName  the last name, or {@code null} to keep it
+     * @param email     the email, or {@code null} to keep it
+     */
+    @Override
+    public void set(int index, String firstName, String lastName,
+                    String email) {
+        super.set(index, firstName, lastName, email);
+        markDirty();
+    }
+
+    /**
+     * Deletes the record at the specified index and marks the store dirty.
+     *
+     * @param index zero-based index of the record to delete
+     * @return {@code true} if a record was deleted, {@code false} if the
+     *         index is invalid
+     */
+    @Override
+    public boolean delete(int index) {
+        boolean deleted = super.delete(index);
+        if (deleted) {
+            markDirty();
+        }
+        return deleted;
+    }
+
+    /**
+     * Inserts a record at the specified index and marks the store dirty.
+     *
+     * @param index     the zero-based position to insert the record
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @param email     the email
+     */
+    @Override
+    public void insertAtIndex(int index, String firstName, String lastName,
+                              String email) {
+        super.insertAtIndex(index, firstName, lastName, email);
+        markDirty();
+    }
+
+    /**
+     * Does not write anything: every change is already saved in the
+     * background. Use {@link #flush()} to wait until the changes are saved.
+     */
+    @Override
+    public void storeToFile() {
+    }
+
+    /**
+     * Saves every change not saved yet and forces it to disk, waiting for a
+     * save already running in the background to finish first.
+     *
+     * @throws UncheckedIOException if the changes cannot be saved, in which
+     *                              case they stay pending
+     */
+    public void flush() {
+        save();
+        sync();
+    }
+
+    /**
+     * Stops the background writer and flushes the last changes.
+     *
+     * @throws UncheckedIOException if the changes cannot be saved
+     */
+    @Override
+    public void close() {
+        synchronized (monitor) {
+            closed = true;
+            monitor.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down, and the hook flushes as well
+        }
+        flush();
+    }
+
+    /**
+     * Gets the number of changes not saved yet.
+     *
+     * @return the number of unsaved changes
+     */
+    public int dirtyCount() {
+        synchronized (monitor) {
+            return dirty;
+        }
+    }
+
+    /**
+     * Records one more unsaved change, waking the writer if it is the first
+     * one or the threshold has been reached.
+     */
+    private void markDirty() {
+        synchronized (monitor) {
+            if (dirty == 0) {
+                dirtySince = System.nanoTime();
+                monitor.notifyAll();
+            }
+            dirty++;
+            if (dirty == dirtyThreshold) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Saves the changes made so far, if there are any. The dirty count is
+     * reset before the changes are captured, so that changes made during
+     * the save are saved by the next one.
+     *
+     * @throws UncheckedIOException if the changes cannot be saved, in which
+     *                              case they are counted as dirty again
+     */
+    private void save() {
+        saving.lock();
+        try {
+            int saved;
+            synchronized (monitor) {
+                saved = dirty;
+                dirty = 0;
+            }
+            if (saved == 0) {
+                return;
+            }
+            try {
+                super.storeToFile();
+            } catch (UncheckedIOException e) {
+                synchronized (monitor) {
+                    if (dirty == 0) {
+                        dirtySince = System.nanoTime();
+                    }
+                    dirty += saved;
+                }
+                throw e;
+            }
+        } finally {
+            saving.unlock();
+        }
+    }
+
+    /**
+     * Body of the background writer: waits until there are changes to save
+     * and they are due, then saves them, until the receiver is closed.
+     */
+    private void runWriter() {
+        while (true) {
+            synchronized (monitor) {
+                try {
+                    while (!closed && !saveDue()) {
+                        if (dirty == 0) {
+                            monitor.wait();
+                        } else {
+                            long remaining = dirtySince + intervalNanos
+                                    - System.nanoTime();
+                            TimeUnit.NANOSECONDS.timedWait(monitor,
+                                    Math.max(remaining, 1));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (closed) {
+                    return;
+                }
+            }
+            try {
+                save();
+            } catch (UncheckedIOException e) {
+                getOutput().println(e.getMessage());
+                // Retry after an interval rather than straight away
+                synchronized (monitor) {
+                    try {
+                        if (!closed) {
+                            TimeUnit.NANOSECONDS.timedWait(
+                                    monitor, intervalNanos
+                            );
+                        }
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the unsaved changes are due to be saved. Must be called
+     * while holding the monitor.
+     *
+     * @return {@code true} if there are changes and either the threshold
+     *         has been reached or the oldest change is an interval old
+     */
+    private boolean saveDue() {
+        return dirty > 0 && (dirty >= dirtyThreshold
+                || System.nanoTime() - dirtySince >= intervalNanos);
+    }
+
+    /**
+     * Flushes the last changes from the shutdown hook, printing any error
+     * instead of throwing it.
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (UncheckedIOException e) {
+            getOutput().println(e.getMessage());
+        }
+    }
+}
\ No newline at end of file
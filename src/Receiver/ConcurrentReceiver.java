@@ -0,0 +1,344 @@
+package Receiver;
+
+import Utils.FileManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe {@link Receiver} that can be shared by several clients.
+ *
+ * <p>Every read, including {@link #list()} and the lookups, holds a shared
+ * read lock, so any number of readers proceed in parallel. Every write holds
+ * the exclusive write lock. To make reads free of side effects, all records
+ * are decoded and the lookup indexes are built when the receiver is
+ * constructed, rather than on first access.</p>
+ *
+ * <p>Commands call several receiver methods in turn, for example a bounds
+ * check followed by an update. To run such a sequence without other writers
+ * in between, wrap it in {@link #atomically(Runnable)}, or in
+ * {@link #reading(Runnable)} if it only reads.</p>
+ */
+public class ConcurrentReceiver extends Receiver {
+
+    /** Lock guarding the records: shared by readers, exclusive to writers. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Lock that keeps saves from running at the same time. */
+    private final ReentrantLock saveLock = new ReentrantLock();
+
+    /**
+     * Constructs a ConcurrentReceiver instance, loading data entries from
+     * the default data file.
+     */
+    public ConcurrentReceiver() {
+        this(new FileManager());
+    }
+
+    /**
+     * Constructs a ConcurrentReceiver instance that persists its data
+     * entries through the given file manager.
+     *
+     * @param fileManager the file manager to load and store data entries
+     */
+    public ConcurrentReceiver(FileManager fileManager) {
+        this(fileManager, StorageMode.STRINGS);
+    }
+
+    /**
+     * Constructs a ConcurrentReceiver instance that persists its data
+     * entries through the given file manager and keeps them in memory as
+     * chosen by the storage mode.
+     *
+     * @param fileManager the file manager to load and store data entries
+     * @param storageMode the layout of the records in memory
+     */
+    public ConcurrentReceiver(FileManager fileManager,
+                              StorageMode storageMode) {
+        super(fileManager, storageMode);
+        decodeAll();
+    }
+
+    /**
+     * Runs an action while holding the write lock, so that no other thread
+     * reads or writes the records until it finishes.
+     *
+     * @param action the action to run
+     */
+    public void atomically(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs an action while holding the read lock, so that no other thread
+     * writes the records until it finishes, while other readers may still
+     * proceed. The action must not write the records.
+     *
+     * @param action the action to run
+     */
+    public void reading(Runnable action) {
+        lock.readLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a new record at the end of the data list.
+     *
+     * @param firstName the first name
+     * @param lastName the last name
+     * @param email the email
+     * @return the zero-based index the record was added at
+     */
+    @Override
+    public int add(String firstName, String lastName, String email) {
+        lock.writeLock().lock();
+        try {
+            return super.add(firstName, lastName, email);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the record at the specified index with provided input fields.
+     * Only non-null, non-empty input fields overwrite existing data fields.
+     *
+     * @param index     the zero-based index of the record to update
+     * @param firstName the new first name, or {@code null}
+     * @param lastName  the new last name, or {@code null}
+     * @param email     the new email, or {@code null}
+     */
+    @Override
+    public void update(int index, String firstName, String lastName,
+                       String email) {
+        atomically(() -> super.update(index, firstName, lastName, email));
+    }
+
+    /**
+     * Overwrites every non-null field of the record at the specified index,
+     * including with empty strings. Used to restore a record exactly.
+     *
+     * @param index     the zero-based index of the record
+     * @param firstName the first name, or {@code null} to keep it
+     * @param lastName  the last name, or {@code null} to keep it
+     * @param email     the email, or {@code null} to keep it
+     */
+    @Override
+    public void set(int index, String firstName, String lastName,
+                    String email) {
+        atomically(() -> super.set(index, firstName, lastName, email));
+    }
+
+    /**
+     * Prints a page of data entries with the same numbered prefix used by
+     * {@link #list()}.
+     *
+     * @param offset the number of entries to skip, not negative
+     * @param limit  the maximum number of entries to print, not negative
+     */
+    @Override
+    public void list(int offset, int limit) {
+        read(() -> {
+            super.list(offset, limit);
+            return null;
+        });
+    }
+
+    /**
+     * Deletes the record at the specified index.
+     *
+     * @param index zero-based index of the record to delete
+     * @return {@code true} if a record was deleted, {@code false} if the
+     *         index is invalid
+     */
+    @Override
+    public boolean delete(int index) {
+        lock.writeLock().lock();
+        try {
+            return super.delete(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts a record at the specified index in the data list.
+     *
+     * @param index     the zero-based position to insert the record
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @param email     the email
+     */
+    @Override
+    public void insertAtIndex(int index, String firstName, String lastName,
+                              String email) {
+        atomically(
+                () -> super.insertAtIndex(index, firstName, lastName, email)
+        );
+    }
+
+    /**
+     * Gets the number of records in the data list.
+     *
+     * @return the number of records
+     */
+    @Override
+    public int size() {
+        return read(super::size);
+    }
+
+    /**
+     * Gets the first name of the record at the specified index.
+     *
+     * @param index the zero-based index of the record
+     * @return the first name
+     */
+    @Override
+    public String getFirstName(int index) {
+        return read(() -> super.getFirstName(index));
+    }
+
+    /**
+     * Gets the last name of the record at the specified index.
+     *
+     * @param index the zero-based index of the record
+     * @return the last name
+     */
+    @Override
+    public String getLastName(int index) {
+        return read(() -> super.getLastName(index));
+    }
+
+    /**
+     * Gets the email of the record at the specified index.
+     *
+     * @param index the zero-based index of the record
+     * @return the email
+     */
+    @Override
+    public String getEmail(int index) {
+        return read(() -> super.getEmail(index));
+    }
+
+    /**
+     * Finds all records with the given email.
+     *
+     * @param email the email to look up
+     * @return the zero-based indices of the matching records, in ascending
+     *         order
+     */
+    @Override
+    public int[] findByEmail(String email) {
+        return read(() -> super.findByEmail(email));
+    }
+
+    /**
+     * Finds all records with the given last name.
+     *
+     * @param lastName the last name to look up
+     * @return the zero-based indices of the matching records, in ascending
+     *         order
+     */
+    @Override
+    public int[] findByLastName(String lastName) {
+        return read(() -> super.findByLastName(lastName));
+    }
+
+    /**
+     * Prints the records at the given indices with the same numbered prefix
+     * used by {@link #list()}.
+     *
+     * @param indices zero-based indices of the records to print
+     */
+    @Override
+    public void print(int[] indices) {
+        read(() -> {
+            super.print(indices);
+            return null;
+        });
+    }
+
+    /**
+     * Gets an unmodifiable copy of all current data entries in their
+     * space-joined text form. Unlike the live view returned by
+     * {@link Receiver#getDataEntries()}, the copy is not affected by later
+     * writes.
+     *
+     * @return the list of data entries
+     */
+    @Override
+    public List<String> getDataEntries() {
+        return read(() -> Collections.unmodifiableList(
+                new ArrayList<>(super.getDataEntries())
+        ));
+    }
+
+    /**
+     * Stores the current data entries to the data file.
+     *
+     * <p>The changes to save are captured under the read lock, and written
+     * once it is released, so neither readers nor writers wait for the disk
+     * write of the save. Saves are written one at a time, in the order they
+     * were captured; a save that starts while another one is being written
+     * waits for it while holding the read lock.</p>
+     *
+     * <p>The read lock is always taken before the lock that orders saves,
+     * so a thread holding the write lock, such as one running a batch
+     * inside {@link #atomically(Runnable)}, can save without deadlocking
+     * with a save running in another thread. Other threads then wait for
+     * the whole save, since the write lock is held until it finishes.</p>
+     *
+     * @throws java.io.UncheckedIOException if the data entries cannot be
+     *                                      saved
+     */
+    @Override
+    public void storeToFile() {
+        FileManager.PendingSave save;
+        lock.readLock().lock();
+        try {
+            saveLock.lock();
+            try {
+                save = prepareSave();
+            } catch (RuntimeException e) {
+                saveLock.unlock();
+                throw e;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            save.write();
+        } finally {
+            saveLock.unlock();
+        }
+    }
+
+    /**
+     * Runs a read while holding the read lock.
+     *
+     * @param reader the read to run
+     * @param <T> the type of the result
+     * @return the result of the read
+     */
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
\ No newline at end of file
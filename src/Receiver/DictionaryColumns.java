@@ -0,0 +1,197 @@
+package Receiver;
+
+import java.util.Arrays;
+
+/**
+ * {@link RecordColumns} that dictionary-encode names and email domains, see
+ * {@link StorageMode#DICTIONARY}.
+ *
+ * <p>First names, last names and the domains of emails are replaced by
+ * {@code int} codes into one {@link SymbolTable} shared by every row, so a
+ * name used by a million records is held once. The part of an email before
+ * its last {@code @}, which is usually different for every record, is kept
+ * as a string. Reading a name returns the shared string, while reading an
+ * email builds a new string; {@link #appendTo(StringBuilder, int)} appends
+ * the parts without building one.</p>
+ */
+public class DictionaryColumns implements RecordColumns {
+
+    /** Domain code of an email without {@code @}. */
+    private static final int NO_DOMAIN = -1;
+
+    /** Dictionary of the names and domains of every row. */
+    private final SymbolTable symbols = new SymbolTable();
+
+    /** Code of the first name in each row. */
+    private int[] firstNames;
+
+    /** Code of the last name in each row. */
+    private int[] lastNames;
+
+    /**
+     * Part of the email before its last {@code @} in each row, or the whole
+     * email if it has none; {@code null} for an empty row.
+     */
+    private String[] localParts;
+
+    /**
+     * Code of the part of the email after its last {@code @} in each row,
+     * or {@link #NO_DOMAIN}.
+     */
+    private int[] domains;
+
+    /**
+     * Constructs empty columns.
+     *
+     * @param capacity the initial number of rows
+     */
+    public DictionaryColumns(int capacity) {
+        this.firstNames = new int[capacity];
+        this.lastNames = new int[capacity];
+        this.localParts = new String[capacity];
+        this.domains = new int[capacity];
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the number of rows
+     */
+    @Override
+    public int capacity() {
+        return localParts.length;
+    }
+
+    /**
+     * Grows the columns to the given number of rows.
+     *
+     * @param capacity the new number of rows
+     */
+    @Override
+    public void grow(int capacity) {
+        firstNames = Arrays.copyOf(firstNames, capacity);
+        lastNames = Arrays.copyOf(lastNames, capacity);
+        localParts = Arrays.copyOf(localParts, capacity);
+        domains = Arrays.copyOf(domains, capacity);
+    }
+
+    /**
+     * Gets the first name in a row.
+     *
+     * @param slot the row
+     * @return the first name
+     */
+    @Override
+    public String firstName(int slot) {
+        return symbols.decode(firstNames[slot]);
+    }
+
+    /**
+     * Gets the last name in a row.
+     *
+     * @param slot the row
+     * @return the last name
+     */
+    @Override
+    public String lastName(int slot) {
+        return symbols.decode(lastNames[slot]);
+    }
+
+    /**
+     * Builds the email in a row from its local part and domain.
+     *
+     * @param slot the row
+     * @return the email
+     */
+    @Override
+    public String email(int slot) {
+        if (domains[slot] == NO_DOMAIN) {
+            return localParts[slot];
+        }
+        return localParts[slot] + '@' + symbols.decode(domains[slot]);
+    }
+
+    /**
+     * Joins the fields of a row with spaces.
+     *
+     * @param slot the row
+     * @return the row as {@code "<first> <last> <email>"}
+     */
+    @Override
+    public String format(int slot) {
+        String first = symbols.decode(firstNames[slot]);
+        String last = symbols.decode(lastNames[slot]);
+        if (domains[slot] == NO_DOMAIN) {
+            return first + " " + last + " " + localParts[slot];
+        }
+        return first + " " + last + " " + localParts[slot] + '@'
+                + symbols.decode(domains[slot]);
+    }
+
+    /**
+     * Appends the fields of a row, joined by spaces, to a buffer.
+     *
+     * @param buffer the buffer to append to
+     * @param slot the row
+     */
+    @Override
+    public void appendTo(StringBuilder buffer, int slot) {
+        buffer.append(symbols.decode(firstNames[slot])).append(' ')
+                .append(symbols.decode(lastNames[slot])).append(' ')
+                .append(localParts[slot]);
+        if (domains[slot] != NO_DOMAIN) {
+            buffer.append('@').append(symbols.decode(domains[slot]));
+        }
+    }
+
+    /**
+     * Overwrites the non-null fields of a row, adding new names and
+     * domains to the dictionary.
+     *
+     * @param slot the row
+     * @param firstName the new first name, or {@code null}
+     * @param lastName the new last name, or {@code null}
+     * @param email the new email, or {@code null}
+     */
+    @Override
+    public void set(int slot, String firstName, String lastName,
+                    String email) {
+        if (firstName != null) {
+            firstNames[slot] = symbols.encode(firstName);
+        }
+        if (lastName != null) {
+            lastNames[slot] = symbols.encode(lastName);
+        }
+        if (email != null) {
+            int at = email.lastIndexOf('@');
+            if (at < 0) {
+                localParts[slot] = email;
+                domains[slot] = NO_DOMAIN;
+            } else {
+                localParts[slot] = email.substring(0, at);
+                domains[slot] = symbols.encode(email.substring(at + 1));
+            }
+        }
+    }
+
+    /**
+     * Empties a row. Its names and domain stay in the dictionary.
+     *
+     * @param slot the row
+     */
+    @Override
+    public void clear(int slot) {
+        localParts[slot] = null;
+    }
+
+    /**
+     * Checks whether a row holds no record.
+     *
+     * @param slot the row
+     * @return {@code true} if the row is empty
+     */
+    @Override
+    public boolean isEmpty(int slot) {
+        return localParts[slot] == null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,286 @@
+package Receiver;
+
+import java.util.Arrays;
+
+/**
+ * Order-statistic tree that keeps {@link RecordStore} slots in list order.
+ *
+ * <p>This is an implicit treap: nodes are ordered by position rather than by
+ * key, and each node stores the size of its subtree so that the node at any
+ * position can be found by descending from the root. The nodes are the slot
+ * numbers themselves, and the links are held in parallel {@code int} arrays
+ * indexed by slot, so the tree allocates no objects per record.</p>
+ *
+ * <p>Getting, inserting and removing at a position, and finding the
+ * position of a slot, are all O(log n) expected.</p>
+ */
+public class PositionTree {
+
+    /** Marker for a missing node. */
+    private static final int NIL = -1;
+
+    /** Left child of each node. */
+    private int[] left;
+
+    /** Right child of each node. */
+    private int[] right;
+
+    /** Parent of each node, or {@link #NIL} for the root. */
+    private int[] parent;
+
+    /** Number of nodes in the subtree rooted at each node. */
+    private int[] subtreeSize;
+
+    /** Root node of the tree. */
+    private int root = NIL;
+
+    /** Left tree produced by the last {@link #split(int, int)}. */
+    private int splitLeft;
+
+    /** Right tree produced by the last {@link #split(int, int)}. */
+    private int splitRight;
+
+    /**
+     * Constructs a tree holding slots {@code 0} to {@code count - 1} in
+     * order.
+     *
+     * @param count the number of initial slots
+     * @param capacity the number of slots to allocate links for
+     */
+    public PositionTree(int count, int capacity) {
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.parent = new int[capacity];
+        this.subtreeSize = new int[capacity];
+
+        // Build the treap in one pass over a stack of the right spine
+        int[] spine = new int[Math.max(count, 1)];
+        int top = 0;
+        for (int slot = 0; slot < count; slot++) {
+            int last = NIL;
+            while (top > 0 && priority(spine[top - 1]) < priority(slot)) {
+                last = spine[--top];
+            }
+            left[slot] = last;
+            right[slot] = NIL;
+            if (top > 0) {
+                right[spine[top - 1]] = slot;
+            }
+            spine[top++] = slot;
+        }
+        if (count > 0) {
+            root = spine[0];
+            parent[root] = NIL;
+            pullAll(root);
+        }
+    }
+
+    /**
+     * Gets the number of slots in the tree.
+     *
+     * @return the number of slots
+     */
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Grows the link arrays so that slots below the given capacity can be
+     * inserted.
+     *
+     * @param capacity the new number of slots
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > left.length) {
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            subtreeSize = Arrays.copyOf(subtreeSize, capacity);
+        }
+    }
+
+    /**
+     * Gets the slot at the given position.
+     *
+     * @param index the zero-based position
+     * @return the slot at that position
+     */
+    public int get(int index) {
+        int node = root;
+        while (true) {
+            int leftSize = sizeOf(left[node]);
+            if (index < leftSize) {
+                node = left[node];
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * Gets the position of the given slot.
+     *
+     * @param slot a slot in the tree
+     * @return the zero-based position of the slot
+     */
+    public int indexOf(int slot) {
+        int index = sizeOf(left[slot]);
+        for (int node = slot; parent[node] != NIL; node = parent[node]) {
+            if (right[parent[node]] == node) {
+                index += sizeOf(left[parent[node]]) + 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Inserts a slot at the given position, shifting later slots back.
+     *
+     * @param index the zero-based position, between 0 and {@link #size()}
+     * @param slot the slot to insert, which must not be in the tree
+     */
+    public void insert(int index, int slot) {
+        left[slot] = NIL;
+        right[slot] = NIL;
+        subtreeSize[slot] = 1;
+        split(root, index);
+        int tail = splitRight;
+        root = merge(merge(splitLeft, slot), tail);
+        parent[root] = NIL;
+    }
+
+    /**
+     * Removes a slot from the tree, shifting later slots forward.
+     *
+     * @param slot a slot in the tree
+     */
+    public void remove(int slot) {
+        int child = merge(left[slot], right[slot]);
+        int up = parent[slot];
+        if (child != NIL) {
+            parent[child] = up;
+        }
+        if (up == NIL) {
+            root = child;
+        } else if (left[up] == slot) {
+            left[up] = child;
+        } else {
+            right[up] = child;
+        }
+        for (int node = up; node != NIL; node = parent[node]) {
+            subtreeSize[node]--;
+        }
+    }
+
+    /**
+     * Splits a tree into its first {@code count} nodes and the rest, storing
+     * the two roots in {@link #splitLeft} and {@link #splitRight}.
+     *
+     * @param node the root of the tree to split
+     * @param count the number of nodes to put in the left tree
+     */
+    private void split(int node, int count) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        int leftSize = sizeOf(left[node]);
+        if (leftSize < count) {
+            split(right[node], count - leftSize - 1);
+            right[node] = splitLeft;
+            pull(node);
+            splitLeft = node;
+        } else {
+            split(left[node], count);
+            left[node] = splitRight;
+            pull(node);
+            splitRight = node;
+        }
+    }
+
+    /**
+     * Joins two trees, with every node of {@code a} before every node of
+     * {@code b}.
+     *
+     * @param a the root of the first tree
+     * @param b the root of the second tree
+     * @return the root of the joined tree
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority(a) > priority(b)) {
+            right[a] = merge(right[a], b);
+            pull(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        pull(b);
+        return b;
+    }
+
+    /**
+     * Recomputes the subtree size of a node and points its children back at
+     * it.
+     *
+     * @param node the node to update
+     */
+    private void pull(int node) {
+        subtreeSize[node] = 1 + sizeOf(left[node]) + sizeOf(right[node]);
+        if (left[node] != NIL) {
+            parent[left[node]] = node;
+        }
+        if (right[node] != NIL) {
+            parent[right[node]] = node;
+        }
+    }
+
+    /**
+     * Recomputes subtree sizes and parents for a whole tree.
+     *
+     * @param node the root of the tree
+     */
+    private void pullAll(int node) {
+        if (left[node] != NIL) {
+            pullAll(left[node]);
+        }
+        if (right[node] != NIL) {
+            pullAll(right[node]);
+        }
+        pull(node);
+    }
+
+    /**
+     * Gets the size of a possibly missing subtree.
+     *
+     * @param node the root of the subtree, or {@link #NIL}
+     * @return the number of nodes in the subtree
+     */
+    private int sizeOf(int node) {
+        return node == NIL ? 0 : subtreeSize[node];
+    }
+
+    /**
+     * Derives a pseudo-random heap priority from a slot number, so that no
+     * priority needs to be stored.
+     *
+     * @param slot the slot number
+     * @return the priority of the slot
+     */
+    private static int priority(int slot) {
+        int h = slot * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
\ No newline at end of file
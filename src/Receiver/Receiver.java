@@ -1,119 +1,427 @@
 package Receiver;
 
 import Utils.FileManager;
-import java.util.ArrayList;
+import Utils.InvalidInputException;
+import Utils.Journal;
+import Utils.OutputSink;
+import java.util.AbstractList;
+import java.util.List;
 
 /**
  * The Receiver class manages the core data store and handles all CRUD
  * operations.
  *
- * <p>It maintains a list of data entries, supports undo operations via a
- * command
+ * <p>It maintains a {@link RecordStore} of contact records, supports undo
+ * operations via a command
  * history stack, and handles persistence by reading from and writing to a
  * file.</p>
+ *
+ * <p>Everything the receiver and the commands using it print goes to its
+ * {@link OutputSink}, which is {@link OutputSink#STDOUT} unless another is
+ * set with {@link #setOutput(OutputSink)}.</p>
+ *
+ * <p>A Receiver is not thread-safe; use {@link ConcurrentReceiver} to share
+ * one store between threads.</p>
  */
 public class Receiver {
     /**
-     * List of data entries.
+     * Number of characters of list output buffered before it is written.
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Store of contact records.
      */
-    private final ArrayList<String> dataEntries;
+    private final RecordStore records;
 
     /**
      * File manager to read from and write to file.
      */
-    private final FileManager fileManager = new FileManager();
+    private final FileManager fileManager;
+
+    /**
+     * Journal to record each change in, or {@code null} if the file manager
+     * rewrites the whole file on save.
+     */
+    private final Journal journal;
+
+    /**
+     * Sink that listings and messages are printed to.
+     */
+    private OutputSink output = OutputSink.STDOUT;
+
+    /**
+     * Read-only view of the records in their space-joined text form.
+     */
+    private final List<String> dataEntries = new AbstractList<String>() {
+        @Override
+        public String get(int index) {
+            return records.format(index);
+        }
+
+        @Override
+        public int size() {
+            return records.size();
+        }
+    };
 
     /**
      * Constructs a Receiver instance, initializing data storage and loading
      * data entries from the file.
      */
     public Receiver() {
-        this.dataEntries = fileManager.loadFromFile();
+        this(new FileManager());
     }
 
     /**
-     * Adds a new entry line at the end of the data list.
+     * Constructs a Receiver instance that persists its data entries through
+     * the given file manager.
      *
-     * @param line the string line to be added
+     * @param fileManager the file manager to load and store data entries
+     * @throws java.io.UncheckedIOException if the data entries cannot be
+     *                                      loaded
      */
-    public void add(String line) {
-        dataEntries.add(line);
+    public Receiver(FileManager fileManager) {
+        this(fileManager, StorageMode.STRINGS);
     }
 
     /**
-     * Updates the entry at the specified index with provided input fields.
-     * Only non-empty input fields overwrite existing data fields.
+     * Constructs a Receiver instance that persists its data entries through
+     * the given file manager and keeps them in memory as chosen by the
+     * storage mode. {@link StorageMode#DICTIONARY} trades a little time on
+     * every read for a smaller heap when many records share names or email
+     * domains.
      *
-     * @param index  the zero-based index of the entry to update
-     * @param inputs array of strings representing fields to update (max 3)
+     * @param fileManager the file manager to load and store data entries
+     * @param storageMode the layout of the records in memory
+     * @throws java.io.UncheckedIOException if the data entries cannot be
+     *                                      loaded
      */
-    public void update(int index, String[] inputs) {
-        String[] fields = this.dataEntries.get(index).split(" ", -1);
+    public Receiver(FileManager fileManager, StorageMode storageMode) {
+        this.fileManager = fileManager;
+        this.journal = fileManager.getJournal();
+        this.records = new RecordStore(
+                fileManager.loadFromFile(), storageMode
+        );
+    }
 
-        if (!inputs[0].isEmpty()) {
-            fields[0] = inputs[0];
-        }
-        if (inputs.length > 1 && !inputs[1].isEmpty()) {
-            fields[1] = inputs[1];
+    /**
+     * Constructs a Receiver holding the given entries without a file
+     * manager, for subclasses that keep their records elsewhere and override
+     * every method that reads, writes or saves them.
+     *
+     * @param entries the entries to hold
+     */
+    Receiver(List<String> entries) {
+        this.fileManager = null;
+        this.journal = null;
+        this.records = new RecordStore(entries);
+    }
+
+    /**
+     * Gets the sink that the receiver, and the commands using it, print to.
+     *
+     * @return the sink
+     */
+    public OutputSink getOutput() {
+        return output;
+    }
+
+    /**
+     * Sets the sink that the receiver, and the commands using it, print to.
+     * Should be set before any command runs.
+     *
+     * @param output the sink
+     * @throws InvalidInputException if the sink is missing
+     */
+    public void setOutput(OutputSink output) {
+        if (output == null) {
+            throw new InvalidInputException(
+                    "Error: Input cannot be null."
+            );
         }
-        if (inputs.length > 2 && !inputs[2].isEmpty()) {
-            fields[2] = inputs[2]; // for email (could apply lowercase here)
+        this.output = output;
+    }
+
+    /**
+     * Adds a new record at the end of the data list.
+     *
+     * @param firstName the first name
+     * @param lastName the last name
+     * @param email the email
+     * @return the zero-based index the record was added at
+     */
+    public int add(String firstName, String lastName, String email) {
+        records.add(firstName, lastName, email);
+        int index = records.size() - 1;
+        if (journal != null) {
+            journal.logAdd(records.format(index));
         }
+        return index;
+    }
 
-        this.dataEntries.set(index, String.join(" ", fields));
+    /**
+     * Updates the record at the specified index with provided input fields.
+     * Only non-null, non-empty input fields overwrite existing data fields.
+     *
+     * @param index     the zero-based index of the record to update
+     * @param firstName the new first name, or {@code null}
+     * @param lastName  the new last name, or {@code null}
+     * @param email     the new email, or {@code null}
+     */
+    public void update(int index, String firstName, String lastName,
+                       String email) {
+        set(
+                index,
+                firstName == null || firstName.isEmpty() ? null : firstName,
+                lastName == null || lastName.isEmpty() ? null : lastName,
+                email == null || email.isEmpty() ? null : email
+        );
+    }
+
+    /**
+     * Overwrites every non-null field of the record at the specified index,
+     * including with empty strings. Used to restore a record exactly.
+     *
+     * @param index     the zero-based index of the record
+     * @param firstName the first name, or {@code null} to keep it
+     * @param lastName  the last name, or {@code null} to keep it
+     * @param email     the email, or {@code null} to keep it
+     */
+    public void set(int index, String firstName, String lastName,
+                    String email) {
+        records.set(index, firstName, lastName, email);
+        if (journal != null) {
+            journal.logUpdate(index, records.format(index));
+        }
     }
 
     /**
      * Prints all data entries with a numbered prefix (starting at 1).
      */
     public void list() {
-        for (int i = 0; i < this.dataEntries.size(); i++) {
-            System.out.printf("%02d. %s\n", i + 1, this.dataEntries.get(i));
+        list(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Prints a page of data entries with the same numbered prefix used by
+     * {@link #list()}, so that each entry keeps its index in the full list.
+     *
+     * <p>Lines are collected in a large buffer and written in chunks of
+     * {@link #OUTPUT_BUFFER_SIZE} characters, instead of formatting and
+     * flushing each line on its own.</p>
+     *
+     * @param offset the number of entries to skip, not negative
+     * @param limit  the maximum number of entries to print, not negative
+     */
+    public void list(int offset, int limit) {
+        int end = (int) Math.min((long) offset + limit, size());
+        // Assume about 64 characters per line for the initial capacity
+        long estimate = Math.max(end - offset, 0) * 64L;
+        StringBuilder buffer = new StringBuilder(
+                (int) Math.min(OUTPUT_BUFFER_SIZE, estimate)
+        );
+        for (int i = offset; i < end; i++) {
+            appendLine(buffer, i);
+            if (buffer.length() >= OUTPUT_BUFFER_SIZE) {
+                output.print(buffer.toString());
+                buffer.setLength(0);
+            }
+        }
+        if (buffer.length() > 0) {
+            output.print(buffer.toString());
+        }
+    }
+
+    /**
+     * Deletes the record at the specified index.
+     *
+     * @param index zero-based index of the record to delete
+     * @return {@code true} if a record was deleted, {@code false} if the
+     *         index is invalid
+     */
+    public boolean delete(int index) {
+        if (records.size() == 0) {
+            output.println("No entries to delete");
+            return false;
+        }
+        if (index < 0 || index >= records.size()) {
+            return false;
         }
+        records.remove(index);
+        if (journal != null) {
+            journal.logDelete(index);
+        }
+        return true;
     }
 
     /**
-     * Deletes and returns the entry at the specified index.
+     * Inserts a record at the specified index in the data list.
      *
-     * @param index zero-based index of the entry to delete
-     * @return the deleted entry string, or empty string if invalid index
+     * @param index     the zero-based position to insert the record
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @param email     the email
      */
-    public String delete(int index) {
-        if (dataEntries.isEmpty()) {
-            System.out.println("No entries to delete");
-            return "";
+    public void insertAtIndex(int index, String firstName, String lastName,
+                              String email) {
+        records.insert(index, firstName, lastName, email);
+        if (journal != null) {
+            journal.logInsert(index, records.format(index));
         }
-        if (index < 0 || index >= this.dataEntries.size()) {
-            return "";
-        } else {
-            return dataEntries.remove(index);
+    }
+
+    /**
+     * Gets the number of records in the data list.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Gets the first name of the record at the specified index.
+     *
+     * @param index the zero-based index of the record
+     * @return the first name
+     */
+    public String getFirstName(int index) {
+        return records.getFirstName(index);
+    }
+
+    /**
+     * Gets the last name of the record at the specified index.
+     *
+     * @param index the zero-based index of the record
+     * @return the last name
+     */
+    public String getLastName(int index) {
+        return records.getLastName(index);
+    }
+
+    /**
+     * Gets the email of the record at the specified index.
+     *
+     * @param index the zero-based index of the record
+     * @return the email
+     */
+    public String getEmail(int index) {
+        return records.getEmail(index);
+    }
+
+    /**
+     * Finds all records with the given email.
+     *
+     * @param email the email to look up
+     * @return the zero-based indices of the matching records, in ascending
+     *         order
+     */
+    public int[] findByEmail(String email) {
+        return records.findByEmail(email);
+    }
+
+    /**
+     * Finds all records with the given last name.
+     *
+     * @param lastName the last name to look up
+     * @return the zero-based indices of the matching records, in ascending
+     *         order
+     */
+    public int[] findByLastName(String lastName) {
+        return records.findByLastName(lastName);
+    }
+
+    /**
+     * Prints the records at the given indices with the same numbered prefix
+     * used by {@link #list()}.
+     *
+     * @param indices zero-based indices of the records to print
+     */
+    public void print(int[] indices) {
+        StringBuilder buffer = new StringBuilder();
+        for (int index : indices) {
+            appendLine(buffer, index);
         }
+        output.print(buffer.toString());
     }
 
     /**
-     * Inserts an entry at the specified index in the data list.
+     * Appends the record at the given index as a numbered line, in the same
+     * form as {@code printf("%02d. %s\n", index + 1, entry)}.
      *
-     * @param index the zero-based position to insert the entry
-     * @param entry the string entry to insert
+     * @param buffer the buffer to append to
+     * @param index  the zero-based index of the record
      */
-    public void insertAtIndex(int index, String entry) {
-        dataEntries.add(index, entry);
+    private void appendLine(StringBuilder buffer, int index) {
+        int number = index + 1;
+        if (number < 10) {
+            buffer.append('0');
+        }
+        buffer.append(number).append(". ");
+        appendEntry(buffer, index);
+        buffer.append('\n');
     }
 
     /**
-     * Gets the list of all current data entries.
+     * Appends the record at the given index in its space-joined text form.
+     *
+     * @param buffer the buffer to append to
+     * @param index  the zero-based index of the record
+     */
+    void appendEntry(StringBuilder buffer, int index) {
+        records.appendTo(buffer, index);
+    }
+
+    /**
+     * Decodes every record and builds the lookup indexes, so that later reads
+     * no longer modify the record store.
+     */
+    void decodeAll() {
+        records.decodeAll();
+    }
+
+    /**
+     * Gets a read-only view of all current data entries in their
+     * space-joined text form.
      *
      * @return the list of data entries
      */
-    public ArrayList<String> getDataEntries() {
+    public List<String> getDataEntries() {
         return dataEntries;
     }
 
     /**
-     * Stores the current data entries to the data file,
-     * overwriting previous content.
+     * Stores the current data entries to the data file, overwriting previous
+     * content, or appends the changes made since the last save when the file
+     * manager is in journal mode.
+     *
+     * @throws java.io.UncheckedIOException if the data entries cannot be
+     *                                      saved
      */
     public void storeToFile() {
-        fileManager.saveToFile(this.dataEntries);
+        try {
+            fileManager.saveToFile(this.dataEntries);
+        } finally {
+            records.dropDetachedSource();
+        }
+    }
+
+    /**
+     * Captures a save of the current data entries that can be written while
+     * the records change, see {@link FileManager#prepareSave(List)}.
+     *
+     * @return the save
+     */
+    FileManager.PendingSave prepareSave() {
+        return fileManager.prepareSave(this.dataEntries);
+    }
+
+    /**
+     * Forces the saves that have not been forced to disk yet, see
+     * {@link FileManager#sync()}.
+     */
+    void sync() {
+        fileManager.sync();
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package Receiver;
+
+/**
+ * Parallel columns holding the fields of the records of a
+ * {@link RecordStore}, one row per slot.
+ *
+ * <p>A row is empty until a record is stored in it and again after it is
+ * cleared. The layout of the fields in memory is chosen by a
+ * {@link StorageMode}.</p>
+ */
+public interface RecordColumns {
+
+    /**
+     * Creates empty columns in the given layout.
+     *
+     * @param mode the layout of the fields
+     * @param capacity the initial number of rows
+     * @return the columns
+     */
+    static RecordColumns create(StorageMode mode, int capacity) {
+        return mode == StorageMode.DICTIONARY
+                ? new DictionaryColumns(capacity)
+                : new StringColumns(capacity);
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the number of rows
+     */
+    int capacity();
+
+    /**
+     * Grows the columns to the given number of rows, keeping their content.
+     *
+     * @param capacity the new number of rows, at least the current one
+     */
+    void grow(int capacity);
+
+    /**
+     * Gets the first name in a row.
+     *
+     * @param slot the row
+     * @return the first name
+     */
+    String firstName(int slot);
+
+    /**
+     * Gets the last name in a row.
+     *
+     * @param slot the row
+     * @return the last name
+     */
+    String lastName(int slot);
+
+    /**
+     * Gets the email in a row.
+     *
+     * @param slot the row
+     * @return the email
+     */
+    String email(int slot);
+
+    /**
+     * Joins the fields of a row with spaces.
+     *
+     * @param slot the row
+     * @return the row as {@code "<first> <last> <email>"}
+     */
+    String format(int slot);
+
+    /**
+     * Appends the fields of a row, joined by spaces, to a buffer.
+     *
+     * @param buffer the buffer to append to
+     * @param slot the row
+     */
+    void appendTo(StringBuilder buffer, int slot);
+
+    /**
+     * Overwrites fields of a row. A {@code null} field is left unchanged.
+     *
+     * @param slot the row
+     * @param firstName the new first name, or {@code null}
+     * @param lastName the new last name, or {@code null}
+     * @param email the new email, or {@code null}
+     */
+    void set(int slot, String firstName, String lastName, String email);
+
+    /**
+     * Empties a row.
+     *
+     * @param slot the row
+     */
+    void clear(int slot);
+
+    /**
+     * Checks whether a row holds no record.
+     *
+     * @param slot the row
+     * @return {@code true} if the row is empty
+     */
+    boolean isEmpty(int slot);
+}
\ No newline at end of file
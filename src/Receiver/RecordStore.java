@@ -0,0 +1,431 @@
+package Receiver;
+
+import Utils.LazyEntryList;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact, column-oriented store of contact records.
+ *
+ * <p>Each record has a first name, a last name and an email, kept in
+ * parallel {@link RecordColumns} laid out as chosen by a
+ * {@link StorageMode}. Records live in slots that never move; the order of the
+ * records is kept in a {@link PositionTree} of slot numbers, so getting,
+ * inserting or deleting a record at any position is O(log n). Slots freed
+ * by deletions are reused by later additions.</p>
+ *
+ * <p>The space-joined text form of a record is only produced by
+ * {@link #format(int)}, when a record is printed or persisted. Records loaded
+ * lazily from a {@link LazyEntryList} keep their source line until one of
+ * their fields is read, or until a save detaches the list from its
+ * file.</p>
+ *
+ * <p>Records can be looked up by email or last name through
+ * {@link SlotIndex} hash indexes. The indexes are built on the first lookup
+ * and then maintained by every insert, update and removal.</p>
+ */
+public class RecordStore {
+
+    /** Initial number of slots allocated for an empty store. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Lazily loaded entries that records may still be read from, or
+     * {@code null} if every record has been decoded into the columns.
+     */
+    private List<String> source;
+
+    /** Fields of the record in each slot. */
+    private final RecordColumns columns;
+
+    /**
+     * Index into {@link #source} of the record in each slot, or {@code -1}
+     * if the record has been decoded into the columns. {@code null} when the
+     * store has no source.
+     */
+    private int[] sourceLines;
+
+    /** Slot numbers of the records, in list order. */
+    private final PositionTree order;
+
+    /** Number of slots that have ever been allocated. */
+    private int slotCount;
+
+    /** Slots freed by deletions, available for reuse. */
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+
+    /** Number of entries in {@link #freeSlots}. */
+    private int freeCount;
+
+    /** Index of slots by email, or {@code null} until the first lookup. */
+    private SlotIndex emailIndex;
+
+    /** Index of slots by last name, or {@code null} until the first lookup. */
+    private SlotIndex lastNameIndex;
+
+    /**
+     * Constructs a store holding the given entries, keeping every field as
+     * its own string.
+     *
+     * @param entries the space-joined entries to load
+     */
+    public RecordStore(List<String> entries) {
+        this(entries, StorageMode.STRINGS);
+    }
+
+    /**
+     * Constructs a store holding the given entries, with the fields laid out
+     * in memory as chosen by the storage mode.
+     *
+     * <p>Entries from a {@link LazyEntryList} still backed by its file are
+     * decoded on first access; any other list is decoded into the columns
+     * immediately.</p>
+     *
+     * @param entries the space-joined entries to load
+     * @param mode the layout of the fields in memory
+     */
+    public RecordStore(List<String> entries, StorageMode mode) {
+        int capacity = Math.max(entries.size(), INITIAL_CAPACITY);
+        this.columns = RecordColumns.create(mode, capacity);
+        int size = entries.size();
+        this.order = new PositionTree(size, capacity);
+        this.slotCount = size;
+
+        if (entries instanceof LazyEntryList
+                && !((LazyEntryList) entries).isDetached()) {
+            this.source = entries;
+            this.sourceLines = new int[capacity];
+            for (int i = 0; i < size; i++) {
+                sourceLines[i] = i;
+            }
+        } else {
+            this.source = null;
+            for (int i = 0; i < size; i++) {
+                decode(i, entries.get(i));
+            }
+        }
+    }
+
+    /**
+     * Gets the number of records in the store.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return order.size();
+    }
+
+    /**
+     * Gets the first name of the record at the given position.
+     *
+     * @param index the zero-based position of the record
+     * @return the first name
+     */
+    public String getFirstName(int index) {
+        return columns.firstName(decodedSlot(index));
+    }
+
+    /**
+     * Gets the last name of the record at the given position.
+     *
+     * @param index the zero-based position of the record
+     * @return the last name
+     */
+    public String getLastName(int index) {
+        return columns.lastName(decodedSlot(index));
+    }
+
+    /**
+     * Gets the email of the record at the given position.
+     *
+     * @param index the zero-based position of the record
+     * @return the email
+     */
+    public String getEmail(int index) {
+        return columns.email(decodedSlot(index));
+    }
+
+    /**
+     * Produces the space-joined text form of the record at the given
+     * position.
+     *
+     * @param index the zero-based position of the record
+     * @return the record as {@code "<first> <last> <email>"}
+     */
+    public String format(int index) {
+        int slot = slot(index);
+        if (sourceLines != null && sourceLines[slot] >= 0) {
+            return source.get(sourceLines[slot]);
+        }
+        return columns.format(slot);
+    }
+
+    /**
+     * Appends the space-joined text form of the record at the given position
+     * to a buffer, without building an intermediate string.
+     *
+     * @param buffer the buffer to append to
+     * @param index the zero-based position of the record
+     */
+    public void appendTo(StringBuilder buffer, int index) {
+        int slot = slot(index);
+        if (sourceLines != null && sourceLines[slot] >= 0) {
+            buffer.append(source.get(sourceLines[slot]));
+            return;
+        }
+        columns.appendTo(buffer, slot);
+    }
+
+    /**
+     * Appends a record at the end of the store.
+     *
+     * @param firstName the first name
+     * @param lastName the last name
+     * @param email the email
+     */
+    public void add(String firstName, String lastName, String email) {
+        insert(order.size(), firstName, lastName, email);
+    }
+
+    /**
+     * Inserts a record at the given position, shifting later records back.
+     *
+     * @param index the zero-based position, between 0 and {@link #size()}
+     * @param firstName the first name
+     * @param lastName the last name
+     * @param email the email
+     */
+    public void insert(int index, String firstName, String lastName,
+                       String email) {
+        if (index < 0 || index > order.size()) {
+            throw new IndexOutOfBoundsException(
+                    "Index: " + index + ", Size: " + order.size()
+            );
+        }
+        int slot = allocateSlot();
+        columns.set(slot, firstName, lastName, email);
+        order.insert(index, slot);
+        if (emailIndex != null) {
+            emailIndex.add(email, slot);
+            lastNameIndex.add(lastName, slot);
+        }
+    }
+
+    /**
+     * Overwrites fields of the record at the given position. A {@code null}
+     * field is left unchanged.
+     *
+     * @param index the zero-based position of the record
+     * @param firstName the new first name, or {@code null}
+     * @param lastName the new last name, or {@code null}
+     * @param email the new email, or {@code null}
+     */
+    public void set(int index, String firstName, String lastName,
+                    String email) {
+        int slot = decodedSlot(index);
+        if (lastName != null && lastNameIndex != null) {
+            lastNameIndex.remove(columns.lastName(slot), slot);
+            lastNameIndex.add(lastName, slot);
+        }
+        if (email != null && emailIndex != null) {
+            emailIndex.remove(columns.email(slot), slot);
+            emailIndex.add(email, slot);
+        }
+        columns.set(slot, firstName, lastName, email);
+    }
+
+    /**
+     * Removes the record at the given position, shifting later records
+     * forward.
+     *
+     * @param index the zero-based position of the record
+     */
+    public void remove(int index) {
+        int slot = slot(index);
+        if (emailIndex != null) {
+            emailIndex.remove(columns.email(slot), slot);
+            lastNameIndex.remove(columns.lastName(slot), slot);
+        }
+        order.remove(slot);
+        columns.clear(slot);
+        if (sourceLines != null) {
+            sourceLines[slot] = -1;
+        }
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Finds the positions of all records with the given email.
+     *
+     * @param email the email to look up
+     * @return the zero-based positions of the matching records, in ascending
+     *         order
+     */
+    public int[] findByEmail(String email) {
+        buildIndexes();
+        return toPositions(emailIndex.find(email));
+    }
+
+    /**
+     * Finds the positions of all records with the given last name.
+     *
+     * @param lastName the last name to look up
+     * @return the zero-based positions of the matching records, in ascending
+     *         order
+     */
+    public int[] findByLastName(String lastName) {
+        buildIndexes();
+        return toPositions(lastNameIndex.find(lastName));
+    }
+
+    /**
+     * Decodes every record still held in its source line and builds the
+     * indexes. Afterwards, reading the store no longer writes to it, so any
+     * number of threads may read it at once.
+     */
+    public void decodeAll() {
+        buildIndexes();
+    }
+
+    /**
+     * Decodes every record still held in its source line and drops the
+     * source, if the source has been detached from its file. A detached
+     * {@link LazyEntryList} holds every entry as a string, so keeping it
+     * would take more memory than decoding the records into the columns.
+     */
+    public void dropDetachedSource() {
+        if (!(source instanceof LazyEntryList)
+                || !((LazyEntryList) source).isDetached()) {
+            return;
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (sourceLines[slot] >= 0) {
+                decode(slot, source.get(sourceLines[slot]));
+            }
+        }
+        this.source = null;
+        this.sourceLines = null;
+    }
+
+    /**
+     * Builds the email and last name indexes if they do not exist yet,
+     * decoding every record still held in its source line.
+     */
+    private void buildIndexes() {
+        if (emailIndex != null) {
+            return;
+        }
+        SlotIndex byEmail = new SlotIndex();
+        SlotIndex byLastName = new SlotIndex();
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (sourceLines != null && sourceLines[slot] >= 0) {
+                decode(slot, source.get(sourceLines[slot]));
+                sourceLines[slot] = -1;
+            } else if (columns.isEmpty(slot)) {
+                // Free slot
+                continue;
+            }
+            byEmail.add(columns.email(slot), slot);
+            byLastName.add(columns.lastName(slot), slot);
+        }
+        this.emailIndex = byEmail;
+        this.lastNameIndex = byLastName;
+        this.source = null;
+        this.sourceLines = null;
+    }
+
+    /**
+     * Converts indexed slots to their current positions.
+     *
+     * @param slots the slots to convert
+     * @return the positions, sorted in ascending order
+     */
+    private int[] toPositions(int[] slots) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = order.indexOf(slots[i]);
+        }
+        Arrays.sort(slots);
+        return slots;
+    }
+
+    /**
+     * Gets the slot of the record at the given position.
+     *
+     * @param index the zero-based position of the record
+     * @return the slot number
+     */
+    private int slot(int index) {
+        if (index < 0 || index >= order.size()) {
+            throw new IndexOutOfBoundsException(
+                    "Index: " + index + ", Size: " + order.size()
+            );
+        }
+        return order.get(index);
+    }
+
+    /**
+     * Gets the slot of the record at the given position, decoding the record
+     * from its source line first if needed.
+     *
+     * @param index the zero-based position of the record
+     * @return the slot number
+     */
+    private int decodedSlot(int index) {
+        int slot = slot(index);
+        if (sourceLines != null && sourceLines[slot] >= 0) {
+            decode(slot, source.get(sourceLines[slot]));
+            sourceLines[slot] = -1;
+        }
+        return slot;
+    }
+
+    /**
+     * Splits a space-joined entry into the columns of the given slot.
+     * Missing fields are stored as empty strings; anything after the second
+     * space belongs to the email.
+     *
+     * @param slot the slot to fill
+     * @param entry the space-joined entry
+     */
+    private void decode(int slot, String entry) {
+        int first = entry.indexOf(' ');
+        int second = first < 0 ? -1 : entry.indexOf(' ', first + 1);
+        if (first < 0) {
+            columns.set(slot, entry, "", "");
+        } else if (second < 0) {
+            columns.set(slot, entry.substring(0, first),
+                    entry.substring(first + 1), "");
+        } else {
+            columns.set(slot, entry.substring(0, first),
+                    entry.substring(first + 1, second),
+                    entry.substring(second + 1));
+        }
+    }
+
+    /**
+     * Takes a free slot, or grows the columns to make room for a new one.
+     *
+     * @return the allocated slot number
+     */
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == columns.capacity()) {
+            int capacity = slotCount + (slotCount >> 1);
+            columns.grow(capacity);
+            order.ensureCapacity(capacity);
+            if (sourceLines != null) {
+                sourceLines = Arrays.copyOf(sourceLines, capacity);
+            }
+        }
+        if (sourceLines != null) {
+            sourceLines[slotCount] = -1;
+        }
+        return slotCount++;
+    }
+}
\ No newline at end of file
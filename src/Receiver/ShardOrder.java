@@ -0,0 +1,251 @@
+package Receiver;
+
+import java.util.Arrays;
+
+/**
+ * Global order of the records of a {@link ShardedReceiver}.
+ *
+ * <p>Every record is an entry in a {@link PositionTree} holding all records
+ * in list order, and a slot in a PositionTree of its own shard. The order of
+ * each shard is always the list order restricted to that shard, so the
+ * local index of a record is its position in the tree of its shard. Each
+ * entry remembers its shard and slot, and each slot its entry, so that
+ * converting between a global index and a shard and local index is
+ * O(log n).</p>
+ */
+class ShardOrder {
+
+    /** Initial number of nodes allocated for an empty tree. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Entries of all records, in list order. The value of an entry is its
+     * shard in the high 32 bits and its slot in the low 32 bits.
+     */
+    private final Sequence entries;
+
+    /**
+     * Slots of the records of each shard, in list order. The value of a
+     * slot is its entry.
+     */
+    private final Sequence[] slots;
+
+    /**
+     * Constructs the order of records already held by the shards.
+     *
+     * @param shardSizes the number of records in each shard
+     * @param shardAt    the shard of the record at each index, with the
+     *                   records of each shard in their local order, or
+     *                   {@code null} to place the records of the first shard
+     *                   first, then those of the second shard, and so on
+     */
+    ShardOrder(int[] shardSizes, int[] shardAt) {
+        int size = 0;
+        for (int shardSize : shardSizes) {
+            size += shardSize;
+        }
+        if (shardAt == null) {
+            shardAt = new int[size];
+            int index = 0;
+            for (int shard = 0; shard < shardSizes.length; shard++) {
+                Arrays.fill(shardAt, index, index + shardSizes[shard], shard);
+                index += shardSizes[shard];
+            }
+        }
+        this.entries = new Sequence(size);
+        this.slots = new Sequence[shardSizes.length];
+        for (int shard = 0; shard < shardSizes.length; shard++) {
+            slots[shard] = new Sequence(shardSizes[shard]);
+        }
+        // The k-th record of a shard in list order is its k-th local record
+        int[] next = new int[shardSizes.length];
+        for (int entry = 0; entry < size; entry++) {
+            int shard = shardAt[entry];
+            int slot = next[shard]++;
+            entries.values[entry] = location(shard, slot);
+            slots[shard].values[slot] = entry;
+        }
+    }
+
+    /**
+     * Gets the number of records in all shards.
+     *
+     * @return the number of records
+     */
+    int size() {
+        return entries.tree.size();
+    }
+
+    /**
+     * Finds the record at the given index.
+     *
+     * @param index the zero-based index of the record, which must exist
+     * @return the shard of the record in the high 32 bits and its local
+     *         index in the low 32 bits
+     */
+    long locate(int index) {
+        long location = entries.values[entries.tree.get(index)];
+        int shard = shard(location);
+        int slot = (int) location;
+        return location(shard, slots[shard].tree.indexOf(slot));
+    }
+
+    /**
+     * Gets the global index of a record of a shard.
+     *
+     * @param shard      the number of the shard
+     * @param localIndex the zero-based index of the record in its shard
+     * @return the zero-based index of the record in the whole list
+     */
+    int globalIndex(int shard, int localIndex) {
+        Sequence local = slots[shard];
+        int entry = (int) local.values[local.tree.get(localIndex)];
+        return entries.tree.indexOf(entry);
+    }
+
+    /**
+     * Records a new record of a shard at the given index. The record must
+     * have been inserted into the shard at a local index consistent with
+     * the list order, that is after every record of the shard before
+     * {@code index} and before every one after it.
+     *
+     * @param index      the zero-based index of the record in the whole list
+     * @param shard      the number of the shard
+     * @param localIndex the zero-based index of the record in its shard
+     */
+    void insert(int index, int shard, int localIndex) {
+        int slot = slots[shard].insert(localIndex, 0);
+        int entry = entries.insert(index, location(shard, slot));
+        slots[shard].values[slot] = entry;
+    }
+
+    /**
+     * Forgets the record at the given index, which must already have been
+     * deleted from its shard.
+     *
+     * @param index the zero-based index of the record
+     */
+    void remove(int index) {
+        int entry = entries.tree.get(index);
+        long location = entries.values[entry];
+        slots[shard(location)].remove((int) location);
+        entries.remove(entry);
+    }
+
+    /**
+     * Gets the shard of every record, in list order.
+     *
+     * @return the shard of the record at each index
+     */
+    int[] shards() {
+        int[] shardAt = new int[size()];
+        for (int i = 0; i < shardAt.length; i++) {
+            shardAt[i] = shard(entries.values[entries.tree.get(i)]);
+        }
+        return shardAt;
+    }
+
+    /**
+     * Packs a shard number and a slot or local index into one value.
+     *
+     * @param shard the number of the shard
+     * @param low   the slot or local index
+     * @return the packed value
+     */
+    static long location(int shard, int low) {
+        return (long) shard << 32 | (low & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the shard number of a packed value.
+     *
+     * @param location a value packed by {@link #location(int, int)}
+     * @return the number of the shard
+     */
+    static int shard(long location) {
+        return (int) (location >>> 32);
+    }
+
+    /**
+     * Gets the local index of a value returned by {@link #locate(int)}.
+     *
+     * @param location a value packed by {@link #location(int, int)}
+     * @return the zero-based index of the record in its shard
+     */
+    static int localIndex(long location) {
+        return (int) location;
+    }
+
+    /**
+     * Nodes kept in order by a {@link PositionTree}, each with a value.
+     * Nodes freed by removals are reused by later insertions, as slots are
+     * in a {@link RecordStore}.
+     */
+    private static final class Sequence {
+
+        /** The nodes, in order. */
+        final PositionTree tree;
+
+        /** Value of each node. */
+        long[] values;
+
+        /** Number of nodes that have ever been allocated. */
+        private int nodeCount;
+
+        /** Nodes freed by removals, available for reuse. */
+        private int[] freeNodes = new int[INITIAL_CAPACITY];
+
+        /** Number of entries in {@link #freeNodes}. */
+        private int freeCount;
+
+        /**
+         * Constructs a sequence holding nodes {@code 0} to
+         * {@code count - 1} in order, each with the value 0.
+         *
+         * @param count the number of initial nodes
+         */
+        Sequence(int count) {
+            int capacity = Math.max(count, INITIAL_CAPACITY);
+            this.tree = new PositionTree(count, capacity);
+            this.values = new long[capacity];
+            this.nodeCount = count;
+        }
+
+        /**
+         * Inserts a new node at the given position.
+         *
+         * @param index the zero-based position
+         * @param value the value of the node
+         * @return the new node
+         */
+        int insert(int index, long value) {
+            int node;
+            if (freeCount > 0) {
+                node = freeNodes[--freeCount];
+            } else {
+                if (nodeCount == values.length) {
+                    int capacity = nodeCount + (nodeCount >> 1);
+                    values = Arrays.copyOf(values, capacity);
+                    tree.ensureCapacity(capacity);
+                }
+                node = nodeCount++;
+            }
+            values[node] = value;
+            tree.insert(index, node);
+            return node;
+        }
+
+        /**
+         * Removes a node and frees it for reuse.
+         *
+         * @param node a node in the sequence
+         */
+        void remove(int node) {
+            tree.remove(node);
+            if (freeCount == freeNodes.length) {
+                freeNodes = Arrays.copyOf(freeNodes, freeCount * 2);
+            }
+            freeNodes[freeCount++] = node;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,581 @@
+package Receiver;
+
+import Utils.AtomicFile;
+import Utils.Durability;
+import Utils.FileManager;
+import Utils.InvalidInputException;
+import Utils.LoadMode;
+import Utils.PersistenceMode;
+import Utils.StoreFormat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * {@link Receiver} that partitions its records across several shards, each
+ * a Receiver with its own {@link FileManager} and data file.
+ *
+ * <p>New records are placed in a shard chosen by the hash of their email.
+ * Shards are loaded and saved in parallel.</p>
+ *
+ * <p>All records are presented as one list in a single global order, kept
+ * by a {@link ShardOrder}, so that indices work as they do for a single
+ * Receiver: a new record is added at the end of the whole list, and later
+ * records keep their indices. A record stays in its shard and keeps its
+ * index when it is updated. The order is saved next to the shard files, in
+ * an order file holding the shard of the record at each index, see
+ * {@link #orderFile(Path)}. The order file is rewritten in full on every
+ * save, even when the shards only append to their journals.</p>
+ *
+ * <p>When the order file is missing, or does not match the shards, for
+ * example after a crash between saving the shards and saving the order, the
+ * records of the first shard are presented first, followed by those of the
+ * second shard, and so on.</p>
+ *
+ * <p>Like a Receiver, a ShardedReceiver is not thread-safe.</p>
+ */
+public class ShardedReceiver extends Receiver {
+
+    /** Magic number at the start of every order file, "CETO". */
+    private static final int ORDER_MAGIC = 0x4345544F;
+
+    /** Size of the header of an order file, in bytes. */
+    private static final int ORDER_HEADER_SIZE = 12;
+
+    /**
+     * Largest number of shards whose numbers are saved as one byte each in
+     * the order file. Larger stores save each number as an {@code int}.
+     */
+    private static final int MAX_BYTE_SHARDS = 256;
+
+    /** The shards. */
+    private final Receiver[] shards;
+
+    /** Global order of the records of all shards. */
+    private final ShardOrder order;
+
+    /** File the global order is saved to. */
+    private final Path orderFile;
+
+    /** Read-only view of the records of all shards. */
+    private final List<String> dataEntries = new AbstractList<String>() {
+        @Override
+        public String get(int index) {
+            long location = locate(index);
+            return shards[ShardOrder.shard(location)].getDataEntries()
+                    .get(ShardOrder.localIndex(location));
+        }
+
+        @Override
+        public int size() {
+            return ShardedReceiver.this.size();
+        }
+    };
+
+    /**
+     * Constructs a ShardedReceiver with the given number of shards, stored
+     * as text files named after the default data file, such as
+     * {@code src/dataStore-0.txt}, with the order in
+     * {@code src/dataStore.order}, see
+     * {@link FileManager#defaultDataFile(StoreFormat)}.
+     *
+     * @param shardCount the number of shards
+     * @throws InvalidInputException if the number of shards is not positive
+     * @throws UncheckedIOException if a shard or the order cannot be loaded
+     */
+    public ShardedReceiver(int shardCount) {
+        this(
+                fileManagers(
+                        FileManager.defaultDataFile(StoreFormat.TEXT),
+                        shardCount, PersistenceMode.SNAPSHOT,
+                        StoreFormat.TEXT, Durability.NONE
+                ),
+                orderFile(FileManager.defaultDataFile(StoreFormat.TEXT))
+        );
+    }
+
+    /**
+     * Constructs a ShardedReceiver with one shard for each of the given file
+     * managers, loading the shards in parallel, and then the order of their
+     * records from the order file.
+     *
+     * @param fileManagers the file managers of the shards, each with its
+     *                     own data file
+     * @param orderFile    the file the global order is saved to, see
+     *                     {@link #orderFile(Path)}
+     * @throws InvalidInputException if there are no file managers
+     * @throws UncheckedIOException if a shard or the order cannot be loaded
+     */
+    public ShardedReceiver(FileManager[] fileManagers, Path orderFile) {
+        super(Collections.emptyList());
+        if (fileManagers == null || fileManagers.length == 0) {
+            throw new InvalidInputException(
+                    "Error: A sharded store needs at least one shard."
+            );
+        }
+        this.shards = IntStream.range(0, fileManagers.length)
+                .parallel()
+                .mapToObj(i -> new Receiver(fileManagers[i]))
+                .toArray(Receiver[]::new);
+        this.orderFile = orderFile;
+        int[] shardSizes = new int[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            shardSizes[i] = shards[i].size();
+        }
+        this.order = new ShardOrder(
+                shardSizes, loadOrder(orderFile, shardSizes)
+        );
+    }
+
+    /**
+     * Creates the file managers of a sharded store. The data file of each
+     * shard is named after the given file, with the number of the shard
+     * added before the extension.
+     *
+     * @param filepath the data file the shard files are named after
+     * @param shardCount the number of shards
+     * @param mode the strategy used to persist data entries
+     * @param format the format of the data files
+     * @param durability the durability of saves
+     * @return one file manager for each shard
+     * @throws InvalidInputException if the number of shards is not positive
+     */
+    public static FileManager[] fileManagers(Path filepath, int shardCount,
+                                             PersistenceMode mode,
+                                             StoreFormat format,
+                                             Durability durability) {
+        if (shardCount < 1) {
+            throw new InvalidInputException(
+                    "Error: A sharded store needs at least one shard."
+            );
+        }
+        String name = filepath.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        FileManager[] fileManagers = new FileManager[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            fileManagers[i] = new FileManager(
+                    filepath.resolveSibling(base + "-" + i + extension),
+                    mode, LoadMode.EAGER, format, durability
+            );
+        }
+        return fileManagers;
+    }
+
+    /**
+     * Gets the order file of a sharded store, named after the given file
+     * with its extension replaced by {@code .order}.
+     *
+     * @param filepath the data file the shard files are named after
+     * @return the order file
+     */
+    public static Path orderFile(Path filepath) {
+        String name = filepath.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return filepath.resolveSibling(base + ".order");
+    }
+
+    /**
+     * Gets the number of shards.
+     *
+     * @return the number of shards
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Adds a new record at the end of the data list, storing it in the
+     * shard chosen by its email.
+     *
+     * @param firstName the first name
+     * @param lastName the last name
+     * @param email the email
+     * @return the zero-based index the record was added at
+     */
+    @Override
+    public int add(String firstName, String lastName, String email) {
+        int shard = Math.floorMod(email.hashCode(), shards.length);
+        int index = order.size();
+        order.insert(
+                index, shard, shards[shard].add(firstName, lastName, email)
+        );
+        return index;
+    }
+
+    /**
+     * Updates the record at the specified index with provided input fields.
+     * Only non-null, non-empty input fields overwrite existing data fields.
+     *
+     * @param index     the zero-based index of the record to update
+     * @param firstName the new first name, or {@code null}
+     * @param lastName  the new last name, or {@code null}
+     * @param email     the new email, or {@code null}
+     */
+    @Override
+    public void update(int index, String firstName, String lastName,
+                       String email) {
+        long location = locate(index);
+        shards[ShardOrder.shard(location)].update(
+                ShardOrder.localIndex(location), firstName, lastName, email
+        );
+    }
+
+    /**
+     * Overwrites every non-null field of the record at the specified index,
+     * including with empty strings. Used to restore a record exactly.
+     *
+     * @param index     the zero-based index of the record
+     * @param firstName the first name, or {@code null} to keep it
+     * @param lastName  the last name, or {@code null} to keep it
+     * @param email     the email, or {@code null} to keep it
+     */
+    @Override
+    public void set(int index, String firstName, String lastName,
+                    String email) {
+        long location = locate(index);
+        shards[ShardOrder.shard(location)].set(
+                ShardOrder.localIndex(location), firstName, lastName, email
+        );
+    }
+
+    /**
+     * Deletes the record at the specified index.
+     *
+     * @param index zero-based index of the record to delete
+     * @return {@code true} if a record was deleted, {@code false} if the
+     *         index is invalid
+     */
+    @Override
+    public boolean delete(int index) {
+        if (size() == 0) {
+            getOutput().println("No entries to delete");
+            return false;
+        }
+        if (index < 0 || index >= size()) {
+            return false;
+        }
+        long location = order.locate(index);
+        if (!shards[ShardOrder.shard(location)]
+                .delete(ShardOrder.localIndex(location))) {
+            return false;
+        }
+        order.remove(index);
+        return true;
+    }
+
+    /**
+     * Inserts a record at the specified index in the data list.
+     *
+     * <p>The record goes into the shard of the record currently at that
+     * index, just before it, so that the order of that shard stays the list
+     * order. At the end of the list, it goes into the shard chosen by its
+     * email, as with {@link #add(String, String, String)}.</p>
+     *
+     * @param index     the zero-based position to insert the record
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @param email     the email
+     */
+    @Override
+    public void insertAtIndex(int index, String firstName, String lastName,
+                              String email) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException(
+                    "Index: " + index + ", Size: " + size()
+            );
+        }
+        int shard;
+        int localIndex;
+        if (index < size()) {
+            long location = order.locate(index);
+            shard = ShardOrder.shard(location);
+            localIndex = ShardOrder.localIndex(location);
+        } else {
+            shard = Math.floorMod(email.hashCode(), shards.length);
+            localIndex = shards[shard].size();
+        }
+        shards[shard].insertAtIndex(localIndex, firstName, lastName, email);
+        order.insert(index, shard, localIndex);
+    }
+
+    /**
+     * Gets the number of records in all shards.
+     *
+     * @return the number of records
+     */
+    @Override
+    public int size() {
+        return order.size();
+    }
+
+    /**
+     * Gets the first name of the record at the specified index.
+     *
+     * @param index the zero-based index of the record
+     * @return the first name
+     */
+    @Override
+    public String getFirstName(int index) {
+        long location = locate(index);
+        return shards[ShardOrder.shard(location)]
+                .getFirstName(ShardOrder.localIndex(location));
+    }
+
+    /**
+     * Gets the last name of the record at the specified index.
+     *
+     * @param index the zero-based index of the record
+     * @return the last name
+     */
+    @Override
+    public String getLastName(int index) {
+        long location = locate(index);
+        return shards[ShardOrder.shard(location)]
+                .getLastName(ShardOrder.localIndex(location));
+    }
+
+    /**
+     * Gets the email of the record at the specified index.
+     *
+     * @param index the zero-based index of the record
+     * @return the email
+     */
+    @Override
+    public String getEmail(int index) {
+        long location = locate(index);
+        return shards[ShardOrder.shard(location)]
+                .getEmail(ShardOrder.localIndex(location));
+    }
+
+    /**
+     * Finds all records with the given email, in every shard, since the
+     * email of a record may have changed since it was placed.
+     *
+     * @param email the email to look up
+     * @return the zero-based indices of the matching records, in ascending
+     *         order
+     */
+    @Override
+    public int[] findByEmail(String email) {
+        int[][] found = new int[shards.length][];
+        for (int i = 0; i < shards.length; i++) {
+            found[i] = shards[i].findByEmail(email);
+        }
+        return toGlobal(found);
+    }
+
+    /**
+     * Finds all records with the given last name, in every shard.
+     *
+     * @param lastName the last name to look up
+     * @return the zero-based indices of the matching records, in ascending
+     *         order
+     */
+    @Override
+    public int[] findByLastName(String lastName) {
+        int[][] found = new int[shards.length][];
+        for (int i = 0; i < shards.length; i++) {
+            found[i] = shards[i].findByLastName(lastName);
+        }
+        return toGlobal(found);
+    }
+
+    /**
+     * Gets a read-only view of the records of all shards in their
+     * space-joined text form.
+     *
+     * @return the list of data entries
+     */
+    @Override
+    public List<String> getDataEntries() {
+        return dataEntries;
+    }
+
+    /**
+     * Stores every shard to its own data file, in parallel, and then the
+     * global order to the order file.
+     *
+     * @throws UncheckedIOException if a shard or the order cannot be saved
+     */
+    @Override
+    public void storeToFile() {
+        IntStream.range(0, shards.length)
+                .parallel()
+                .forEach(i -> shards[i].storeToFile());
+        saveOrder();
+    }
+
+    /**
+     * Appends the record at the given index in its space-joined text form.
+     *
+     * @param buffer the buffer to append to
+     * @param index  the zero-based index of the record
+     */
+    @Override
+    void appendEntry(StringBuilder buffer, int index) {
+        long location = locate(index);
+        shards[ShardOrder.shard(location)]
+                .appendEntry(buffer, ShardOrder.localIndex(location));
+    }
+
+    /**
+     * Decodes every record of every shard.
+     */
+    @Override
+    void decodeAll() {
+        for (Receiver shard : shards) {
+            shard.decodeAll();
+        }
+    }
+
+    /**
+     * Forces the saves of every shard that have not been forced to disk yet.
+     */
+    @Override
+    void sync() {
+        for (Receiver shard : shards) {
+            shard.sync();
+        }
+    }
+
+    /**
+     * Finds the shard and local index of the record at the given index.
+     *
+     * @param index the zero-based index of the record
+     * @return the location of the record, see {@link ShardOrder#locate(int)}
+     * @throws IndexOutOfBoundsException if there is no record at the index
+     */
+    private long locate(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    "Index: " + index + ", Size: " + size()
+            );
+        }
+        return order.locate(index);
+    }
+
+    /**
+     * Converts the local indices found in each shard into ascending global
+     * indices.
+     *
+     * @param found the indices found in each shard
+     * @return the global indices
+     */
+    private int[] toGlobal(int[][] found) {
+        int total = 0;
+        for (int[] indices : found) {
+            total += indices.length;
+        }
+        int[] global = new int[total];
+        int next = 0;
+        for (int shard = 0; shard < found.length; shard++) {
+            for (int index : found[shard]) {
+                global[next++] = order.globalIndex(shard, index);
+            }
+        }
+        Arrays.sort(global);
+        return global;
+    }
+
+    /**
+     * Loads the shard of the record at each index from an order file.
+     *
+     * <p>An order file holds a {@value #ORDER_HEADER_SIZE}-byte header, in
+     * big-endian order: the magic number {@code "CETO"}, the number of
+     * shards and the number of records. The shard of each record follows,
+     * in list order, as one byte when there are at most
+     * {@value #MAX_BYTE_SHARDS} shards and as an {@code int} otherwise.</p>
+     *
+     * @param orderFile  the order file
+     * @param shardSizes the number of records loaded in each shard
+     * @return the shard of the record at each index, or {@code null} if the
+     *         file does not exist or does not match the shards
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    private static int[] loadOrder(Path orderFile, int[] shardSizes) {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(orderFile));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Error reading file " + orderFile + ": " + e.getMessage(),
+                    e
+            );
+        }
+        int shardCount = shardSizes.length;
+        int width = shardCount <= MAX_BYTE_SHARDS ? 1 : Integer.BYTES;
+        if (buffer.remaining() < ORDER_HEADER_SIZE
+                || buffer.getInt() != ORDER_MAGIC
+                || buffer.getInt() != shardCount) {
+            return null;
+        }
+        int size = buffer.getInt();
+        if (size < 0 || (long) size * width != buffer.remaining()) {
+            return null;
+        }
+        int[] shardAt = new int[size];
+        int[] counts = new int[shardCount];
+        for (int i = 0; i < size; i++) {
+            int shard = width == 1
+                    ? Byte.toUnsignedInt(buffer.get())
+                    : buffer.getInt();
+            if (shard < 0 || shard >= shardCount) {
+                return null;
+            }
+            shardAt[i] = shard;
+            counts[shard]++;
+        }
+        return Arrays.equals(counts, shardSizes) ? shardAt : null;
+    }
+
+    /**
+     * Saves the shard of the record at each index to the order file, in the
+     * format read by {@link #loadOrder(Path, int[])}. The file is replaced
+     * atomically.
+     *
+     * @throws UncheckedIOException if the order file cannot be written
+     */
+    private void saveOrder() {
+        int[] shardAt = order.shards();
+        int width = shards.length <= MAX_BYTE_SHARDS ? 1 : Integer.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(
+                ORDER_HEADER_SIZE + shardAt.length * width
+        );
+        buffer.putInt(ORDER_MAGIC).putInt(shards.length)
+                .putInt(shardAt.length);
+        for (int shard : shardAt) {
+            if (width == 1) {
+                buffer.put((byte) shard);
+            } else {
+                buffer.putInt(shard);
+            }
+        }
+        buffer.flip();
+        try {
+            AtomicFile.write(orderFile, channel -> {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Error writing file " + orderFile + ": " + e.getMessage(),
+                    e
+            );
+        }
+    }
+}
\ No newline at end of file
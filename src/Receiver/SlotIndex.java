@@ -0,0 +1,84 @@
+package Receiver;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Hash index from a field value to the {@link RecordStore} slots holding
+ * records with that value.
+ *
+ * <p>The slots for each value are kept in a compact {@code int} bag. The
+ * position of every slot within its bag is also recorded, so that adding
+ * and removing a slot are both O(1) expected, however many records share
+ * the same value.</p>
+ */
+public class SlotIndex {
+
+    /**
+     * Bag of slots for each value. Element 0 holds the number of slots,
+     * followed by the slots themselves.
+     */
+    private final HashMap<String, int[]> bags = new HashMap<>();
+
+    /** Position of each indexed slot within its bag. */
+    private int[] bagPositions = new int[16];
+
+    /**
+     * Adds a slot under the given value.
+     *
+     * @param value the field value
+     * @param slot the slot holding a record with that value
+     */
+    public void add(String value, int slot) {
+        int[] bag = bags.get(value);
+        if (bag == null) {
+            bag = new int[2];
+            bags.put(value, bag);
+        } else if (bag[0] + 1 == bag.length) {
+            bag = Arrays.copyOf(bag, bag.length * 2);
+            bags.put(value, bag);
+        }
+        int position = ++bag[0];
+        bag[position] = slot;
+        if (slot >= bagPositions.length) {
+            bagPositions = Arrays.copyOf(
+                    bagPositions, Math.max(slot + 1, bagPositions.length * 2)
+            );
+        }
+        bagPositions[slot] = position;
+    }
+
+    /**
+     * Removes a slot from under the given value.
+     *
+     * @param value the field value the slot was added under
+     * @param slot the slot to remove
+     */
+    public void remove(String value, int slot) {
+        int[] bag = bags.get(value);
+        if (bag == null) {
+            return;
+        }
+        int position = bagPositions[slot];
+        int last = bag[bag[0]--];
+        bag[position] = last;
+        bagPositions[last] = position;
+        if (bag[0] == 0) {
+            bags.remove(value);
+        }
+    }
+
+    /**
+     * Finds the slots of all records with the given value.
+     *
+     * @param value the field value to look up
+     * @return the matching slots, in no particular order
+     */
+    public int[] find(String value) {
+        int[] bag = bags.get(value);
+        if (bag == null) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(bag, 1, bag[0] + 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package Receiver;
+
+/**
+ * Layouts used by {@link RecordStore} to keep the fields of its records in
+ * memory.
+ */
+public enum StorageMode {
+
+    /** Keeps every field of every record as its own string. */
+    STRINGS,
+
+    /**
+     * Keeps names and email domains as codes into a {@link SymbolTable}
+     * shared by the whole store, so that each distinct value is held once,
+     * and rebuilds the strings when they are read.
+     */
+    DICTIONARY
+}
\ No newline at end of file
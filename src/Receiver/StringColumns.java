@@ -0,0 +1,154 @@
+package Receiver;
+
+import java.util.Arrays;
+
+/**
+ * {@link RecordColumns} that keep every field as its own string, see
+ * {@link StorageMode#STRINGS}. Reading a field returns the stored string.
+ */
+public class StringColumns implements RecordColumns {
+
+    /** First name in each row. */
+    private String[] firstNames;
+
+    /** Last name in each row. */
+    private String[] lastNames;
+
+    /** Email in each row, {@code null} for an empty row. */
+    private String[] emails;
+
+    /**
+     * Constructs empty columns.
+     *
+     * @param capacity the initial number of rows
+     */
+    public StringColumns(int capacity) {
+        this.firstNames = new String[capacity];
+        this.lastNames = new String[capacity];
+        this.emails = new String[capacity];
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the number of rows
+     */
+    @Override
+    public int capacity() {
+        return emails.length;
+    }
+
+    /**
+     * Grows the columns to the given number of rows.
+     *
+     * @param capacity the new number of rows
+     */
+    @Override
+    public void grow(int capacity) {
+        firstNames = Arrays.copyOf(firstNames, capacity);
+        lastNames = Arrays.copyOf(lastNames, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+    }
+
+    /**
+     * Gets the first name in a row.
+     *
+     * @param slot the row
+     * @return the first name
+     */
+    @Override
+    public String firstName(int slot) {
+        return firstNames[slot];
+    }
+
+    /**
+     * Gets the last name in a row.
+     *
+     * @param slot the row
+     * @return the last name
+     */
+    @Override
+    public String lastName(int slot) {
+        return lastNames[slot];
+    }
+
+    /**
+     * Gets the email in a row.
+     *
+     * @param slot the row
+     * @return the email
+     */
+    @Override
+    public String email(int slot) {
+        return emails[slot];
+    }
+
+    /**
+     * Joins the fields of a row with spaces.
+     *
+     * @param slot the row
+     * @return the row as {@code "<first> <last> <email>"}
+     */
+    @Override
+    public String format(int slot) {
+        return firstNames[slot] + " " + lastNames[slot] + " " + emails[slot];
+    }
+
+    /**
+     * Appends the fields of a row, joined by spaces, to a buffer.
+     *
+     * @param buffer the buffer to append to
+     * @param slot the row
+     */
+    @Override
+    public void appendTo(StringBuilder buffer, int slot) {
+        buffer.append(firstNames[slot]).append(' ')
+                .append(lastNames[slot]).append(' ')
+                .append(emails[slot]);
+    }
+
+    /**
+     * Overwrites the non-null fields of a row.
+     *
+     * @param slot the row
+     * @param firstName the new first name, or {@code null}
+     * @param lastName the new last name, or {@code null}
+     * @param email the new email, or {@code null}
+     */
+    @Override
+    public void set(int slot, String firstName, String lastName,
+                    String email) {
+        if (firstName != null) {
+            firstNames[slot] = firstName;
+        }
+        if (lastName != null) {
+            lastNames[slot] = lastName;
+        }
+        if (email != null) {
+            emails[slot] = email;
+        }
+    }
+
+    /**
+     * Empties a row.
+     *
+     * @param slot the row
+     */
+    @Override
+    public void clear(int slot) {
+        firstNames[slot] = null;
+        lastNames[slot] = null;
+        emails[slot] = null;
+    }
+
+    /**
+     * Checks whether a row holds no record.
+     *
+     * @param slot the row
+     * @return {@code true} if the row is empty
+     */
+    @Override
+    public boolean isEmpty(int slot) {
+        return emails[slot] == null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package Receiver;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Dictionary that maps distinct strings to dense {@code int} codes and back.
+ *
+ * <p>Each distinct string is held once, however many records use it.
+ * Codes are handed out in the order strings are first seen and are never
+ * reclaimed, so the table only grows; it is meant for values with few
+ * distinct strings, such as names and email domains.</p>
+ */
+public class SymbolTable {
+
+    /** Code of each string in the table. */
+    private final HashMap<String, Integer> codes = new HashMap<>();
+
+    /** String of each code. */
+    private String[] symbols = new String[16];
+
+    /**
+     * Gets the code of a string, adding the string to the table if it is
+     * not there yet.
+     *
+     * @param symbol the string to encode
+     * @return the code of the string
+     */
+    public int encode(String symbol) {
+        Integer code = codes.get(symbol);
+        if (code != null) {
+            return code;
+        }
+        int next = codes.size();
+        if (next == symbols.length) {
+            symbols = Arrays.copyOf(symbols, next * 2);
+        }
+        symbols[next] = symbol;
+        codes.put(symbol, next);
+        return next;
+    }
+
+    /**
+     * Gets the string of a code.
+     *
+     * @param code a code returned by {@link #encode(String)}
+     * @return the string
+     */
+    public String decode(int code) {
+        return symbols[code];
+    }
+
+    /**
+     * Gets the number of distinct strings in the table.
+     *
+     * @return the number of strings
+     */
+    public int size() {
+        return codes.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,254 @@
+package Utils;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link OutputSink} that hands text over to a background thread, which
+ * writes it to another sink.
+ *
+ * <p>Text is placed in a ring buffer of fixed capacity, so printing costs a
+ * short critical section instead of a write. The writer thread takes
+ * everything in the ring at once and writes it in one go, flushing its
+ * sink whenever the ring runs empty. Text is never dropped: when the ring
+ * is full, printing waits for the writer to catch up.</p>
+ *
+ * <p>{@link #flush()} waits until everything printed so far has been
+ * written and flushed. {@link #close()} also stops the writer thread, and
+ * must be called before the program exits for the last text to be
+ * written.</p>
+ */
+public class AsyncSink implements OutputSink {
+
+    /** Default number of texts the ring holds. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** Sink that the writer thread writes to. */
+    private final OutputSink target;
+
+    /** Texts waiting to be written. */
+    private final String[] texts;
+
+    /** Whether each text waiting is a line. */
+    private final boolean[] lines;
+
+    /** Lock guarding the ring. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when the ring is no longer empty, or on close. */
+    private final Condition notEmpty = lock.newCondition();
+
+    /** Signalled when the ring is no longer full. */
+    private final Condition notFull = lock.newCondition();
+
+    /** Signalled when texts have been written. */
+    private final Condition written = lock.newCondition();
+
+    /** Thread writing the texts to the target. */
+    private final Thread writer;
+
+    /** Number of texts taken by the writer so far. */
+    private long head;
+
+    /** Number of texts printed so far. */
+    private long tail;
+
+    /** Number of texts written to the target so far. */
+    private long done;
+
+    /** Whether the sink has been closed. */
+    private boolean closed;
+
+    /**
+     * Constructs a sink that writes to the given sink in the background,
+     * with the default capacity.
+     *
+     * @param target the sink to write to
+     */
+    public AsyncSink(OutputSink target) {
+        this(target, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a sink that writes to the given sink in the background.
+     *
+     * @param target the sink to write to
+     * @param capacity the number of texts the ring holds, at least 1
+     * @throws InvalidInputException if the target is missing or the
+     *                               capacity is not positive
+     */
+    public AsyncSink(OutputSink target, int capacity) {
+        if (target == null) {
+            throw new InvalidInputException("Error: Input cannot be null.");
+        }
+        if (capacity <= 0) {
+            throw new InvalidInputException(
+                    "Error: Capacity must be positive."
+            );
+        }
+        this.target = target;
+        this.texts = new String[capacity];
+        this.lines = new boolean[capacity];
+        this.writer = new Thread(this::runWriter, "output-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues text to be printed as it is.
+     *
+     * @param text the text to print
+     */
+    @Override
+    public void print(String text) {
+        put(text, false);
+    }
+
+    /**
+     * Queues a line to be printed, followed by the line separator.
+     *
+     * @param line the line to print
+     */
+    @Override
+    public void println(String line) {
+        put(line, true);
+    }
+
+    /**
+     * Waits until everything printed so far has been written, then flushes
+     * the target.
+     */
+    @Override
+    public void flush() {
+        lock.lock();
+        try {
+            long mark = tail;
+            while (done < mark && writer.isAlive()) {
+                written.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+        target.flush();
+    }
+
+    /**
+     * Writes everything printed so far, stops the writer thread and closes
+     * the target. Text printed afterwards is written directly to the
+     * target.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        target.close();
+    }
+
+    /**
+     * Places a text in the ring, waiting while the ring is full.
+     *
+     * @param text the text to print
+     * @param line whether the text is a line
+     */
+    private void put(String text, boolean line) {
+        lock.lock();
+        try {
+            while (tail - head == texts.length && !closed) {
+                notFull.awaitUninterruptibly();
+            }
+            if (!closed) {
+                int i = (int) (tail % texts.length);
+                texts[i] = text;
+                lines[i] = line;
+                if (tail++ == head) {
+                    notEmpty.signal();
+                }
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (line) {
+            target.println(text);
+        } else {
+            target.print(text);
+        }
+    }
+
+    /**
+     * Writes the texts in the ring to the target until the sink is closed
+     * and the ring is empty.
+     */
+    private void runWriter() {
+        String[] batch = new String[texts.length];
+        boolean[] batchLines = new boolean[texts.length];
+        while (true) {
+            int count;
+            boolean empty;
+            lock.lock();
+            try {
+                while (head == tail && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (head == tail) {
+                    return;
+                }
+                count = (int) (tail - head);
+                for (int k = 0; k < count; k++) {
+                    int i = (int) ((head + k) % texts.length);
+                    batch[k] = texts[i];
+                    batchLines[k] = lines[i];
+                    texts[i] = null;
+                }
+                head = tail;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            for (int k = 0; k < count; k++) {
+                if (batchLines[k]) {
+                    target.println(batch[k]);
+                } else {
+                    target.print(batch[k]);
+                }
+                batch[k] = null;
+            }
+
+            lock.lock();
+            try {
+                empty = head == tail;
+            } finally {
+                lock.unlock();
+            }
+            if (empty) {
+                target.flush();
+            }
+
+            lock.lock();
+            try {
+                done += count;
+                written.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
\ No newline at end of file
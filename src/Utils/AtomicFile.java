@@ -0,0 +1,104 @@
+package Utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces files atomically.
+ *
+ * <p>The new content is written to a temporary file next to the target,
+ * optionally forced to disk, and then moved over the target in a single
+ * atomic rename. Readers, and the program after a crash, see either the
+ * complete old file or the complete new file, never a mix of both.</p>
+ */
+public class AtomicFile {
+
+    /** Suffix of the temporary file written next to the target. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Writes the content of a file to a channel.
+     */
+    public interface Content {
+
+        /**
+         * Writes the content to the given channel, which is positioned at the
+         * start of an empty file.
+         *
+         * @param channel the channel to write to
+         * @throws IOException if the content cannot be written
+         */
+        void writeTo(FileChannel channel) throws IOException;
+    }
+
+    /**
+     * Replaces the target file with the given content.
+     *
+     * <p>If {@code force} is set, the content is forced to disk before the
+     * rename, so that a crash of the operating system cannot expose a
+     * renamed but empty file. The rename itself is only durable once the
+     * directory has been synced with {@link #syncDirectory(Path)}.</p>
+     *
+     * @param target the file to replace
+     * @param content the content to write
+     * @param force whether to force the content to disk before the rename
+     * @return the number of bytes written
+     * @throws IOException if the file cannot be written or renamed, in which
+     *                     case the target is left unchanged
+     */
+    public static long write(Path target, Content content, boolean force)
+            throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        long length;
+        try {
+            try (FileChannel channel = FileChannel.open(
+                    temp,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                content.writeTo(channel);
+                if (force) {
+                    channel.force(true);
+                }
+                length = channel.size();
+            }
+            Files.move(
+                    temp,
+                    target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING
+            );
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return length;
+    }
+
+    /**
+     * Forces the directory holding the given file to disk, so that renames
+     * and new files in it survive a crash of the operating system.
+     *
+     * <p>Some platforms, such as Windows, cannot open a directory as a
+     * channel. There, nothing is done.</p>
+     *
+     * @param file a file in the directory to sync
+     * @throws IOException if the directory cannot be forced
+     */
+    public static void syncDirectory(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,458 @@
+package Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and writes data files in the compact binary store format.
+ *
+ * <p>A binary data file starts with a fixed {@value #HEADER_SIZE}-byte
+ * header, in big-endian order:</p>
+ * <ul>
+ *   <li>offset 0: the magic number {@code "CETB"}</li>
+ *   <li>offset 4: the format version, currently {@value #VERSION}</li>
+ *   <li>offset 6: flags; bit 0 is set if the checksum is present</li>
+ *   <li>offset 8: the number of records, as a {@code long}</li>
+ *   <li>offset 16: the length of the records in bytes, as a
+ *       {@code long}</li>
+ *   <li>offset 24: the CRC-32C checksum of the records, or 0</li>
+ *   <li>offset 28: reserved, 0</li>
+ * </ul>
+ *
+ * <p>The records follow the header. Each record holds the first name, last
+ * name and email of one entry as UTF-8 fields, prefixed by their lengths in
+ * bytes. One byte holds the lengths of the first and last names, four bits
+ * each; a length of 15 or more is stored as 15 followed by the rest of the
+ * length as a varint. A varint then holds the number of fields and the email
+ * length: 0 for an entry with a first name only, 1 for an entry without an
+ * email, or the email length plus 2. The field bytes follow, without any
+ * separator.</p>
+ *
+ * <p>Entries are exchanged in their space-joined text form, as with the
+ * text data file, and every entry is written back exactly as it was read.
+ * Files are read and written through a {@link FileChannel} and direct
+ * buffers of {@value #BUFFER_SIZE} bytes.</p>
+ */
+public class BinaryDataFile {
+
+    /** Magic number at the start of every binary data file, "CETB". */
+    private static final int MAGIC = 0x43455442;
+
+    /** Version of the format written by this class. */
+    public static final short VERSION = 1;
+
+    /** Size of the header, in bytes. */
+    public static final int HEADER_SIZE = 32;
+
+    /** Flag set in the header when the checksum is present. */
+    private static final short FLAG_CHECKSUM = 1;
+
+    /** Size of the buffers used to read and write records, in bytes. */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /** Name length stored in four bits to mark a length of 15 or more. */
+    private static final int LONG_LENGTH = 15;
+
+    /**
+     * Reads every entry of a binary data file. An empty file holds no
+     * entries.
+     *
+     * @param path the file to read
+     * @return the entries in their space-joined text form
+     * @throws IOException if the file cannot be read, is not a binary data
+     *                     file of a supported version, or is corrupt
+     */
+    public static List<String> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return new ArrayList<>();
+            }
+            ByteBuffer direct = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            direct.limit(HEADER_SIZE);
+            while (direct.hasRemaining()) {
+                if (channel.read(direct) < 0) {
+                    throw new IOException("truncated header in " + path);
+                }
+            }
+            direct.flip();
+            if (direct.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not a binary data file");
+            }
+            short version = direct.getShort(4);
+            if (version != VERSION) {
+                throw new IOException(
+                        "unsupported binary data file version " + version
+                );
+            }
+            boolean hasChecksum = (direct.getShort(6) & FLAG_CHECKSUM) != 0;
+            long count = direct.getLong(8);
+            long length = direct.getLong(16);
+            int checksum = direct.getInt(24);
+            if (count < 0 || count > Integer.MAX_VALUE - 8 || length < 0
+                    || length != channel.size() - HEADER_SIZE) {
+                throw new IOException("corrupt header in " + path);
+            }
+
+            List<String> entries = new ArrayList<>((int) count);
+            CRC32C crc = new CRC32C();
+            byte[] bytes = new byte[BUFFER_SIZE];
+            byte[] joined = new byte[256];
+            int start = 0;
+            int end = 0;
+            long remaining = length;
+            while (remaining > 0 || start < end) {
+                // Refill behind the bytes left over from the last chunk
+                if (remaining > 0) {
+                    if (start > 0) {
+                        System.arraycopy(bytes, start, bytes, 0, end - start);
+                        end -= start;
+                        start = 0;
+                    }
+                    if (end == bytes.length) {
+                        bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                    }
+                    direct.clear();
+                    direct.limit((int) Math.min(
+                            Math.min(direct.capacity(), remaining),
+                            bytes.length - end
+                    ));
+                    int read = channel.read(direct);
+                    if (read < 0) {
+                        throw new IOException("truncated records in " + path);
+                    }
+                    direct.flip();
+                    direct.get(bytes, end, read);
+                    crc.update(bytes, end, read);
+                    end += read;
+                    remaining -= read;
+                }
+
+                // Decode every record that is complete
+                while (start < end) {
+                    int pos = start;
+                    int lengths = bytes[pos++] & 0xFF;
+                    long first = lengths >>> 4;
+                    long last = lengths & 0x0F;
+                    long tail;
+                    if (first == LONG_LENGTH) {
+                        long rest = readVarint(bytes, pos, end);
+                        if (rest < 0) {
+                            break;
+                        }
+                        first += rest >>> 8;
+                        pos += (int) (rest & 0xFF);
+                    }
+                    if (last == LONG_LENGTH) {
+                        long rest = readVarint(bytes, pos, end);
+                        if (rest < 0) {
+                            break;
+                        }
+                        last += rest >>> 8;
+                        pos += (int) (rest & 0xFF);
+                    }
+                    tail = readVarint(bytes, pos, end);
+                    if (tail < 0) {
+                        break;
+                    }
+                    pos += (int) (tail & 0xFF);
+                    tail >>>= 8;
+                    long email = tail >= 2 ? tail - 2 : 0;
+                    if (tail == 0 && last != 0) {
+                        throw new IOException("corrupt record in " + path);
+                    }
+                    long fields = first + last + email;
+                    if (fields > Integer.MAX_VALUE - 16) {
+                        throw new IOException("corrupt record in " + path);
+                    }
+                    if (end - pos < fields) {
+                        if (remaining == 0) {
+                            throw new IOException(
+                                    "truncated records in " + path
+                            );
+                        }
+                        break;
+                    }
+
+                    // Join the fields with single spaces and decode once
+                    int size = (int) (fields + Math.min(tail, 2));
+                    if (joined.length < size) {
+                        joined = new byte[Math.max(size, joined.length * 2)];
+                    }
+                    int at = 0;
+                    System.arraycopy(bytes, pos, joined, at, (int) first);
+                    at += (int) first;
+                    pos += (int) first;
+                    if (tail > 0) {
+                        joined[at++] = ' ';
+                        System.arraycopy(bytes, pos, joined, at, (int) last);
+                        at += (int) last;
+                        pos += (int) last;
+                    }
+                    if (tail > 1) {
+                        joined[at++] = ' ';
+                        System.arraycopy(bytes, pos, joined, at, (int) email);
+                        at += (int) email;
+                        pos += (int) email;
+                    }
+                    entries.add(
+                            new String(joined, 0, at, StandardCharsets.UTF_8)
+                    );
+                    start = pos;
+                }
+                if (remaining == 0 && start < end) {
+                    throw new IOException("truncated records in " + path);
+                }
+            }
+
+            if (entries.size() != count) {
+                throw new IOException(
+                        "expected " + count + " records but found "
+                        + entries.size() + " in " + path
+                );
+            }
+            if (hasChecksum && (int) crc.getValue() != checksum) {
+                throw new IOException("checksum mismatch in " + path);
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * Writes entries to a binary data file, replacing its contents.
+     *
+     * @param path the file to write
+     * @param entries the entries in their space-joined text form
+     * @param checksum whether to store a checksum of the records
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, List<String> entries,
+                             boolean checksum) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, entries, checksum);
+        }
+    }
+
+    /**
+     * Writes entries as a binary data file to a channel positioned at the
+     * start of an empty file.
+     *
+     * @param channel the channel to write to
+     * @param entries the entries in their space-joined text form
+     * @param checksum whether to store a checksum of the records
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(FileChannel channel, List<String> entries,
+                             boolean checksum) throws IOException {
+        ByteBuffer direct = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        CRC32C crc = new CRC32C();
+        byte[] bytes = new byte[BUFFER_SIZE];
+        int end = 0;
+        long length = 0;
+        channel.position(HEADER_SIZE);
+
+        for (int i = 0; i < entries.size(); i++) {
+            String entry = entries.get(i);
+            // Lengths take at most 16 bytes, and UTF-8 at most 3 bytes
+            // per char
+            int needed = 16 + 3 * entry.length();
+            if (bytes.length - end < needed) {
+                length += flush(channel, direct, crc, bytes, end);
+                end = 0;
+                if (bytes.length < needed) {
+                    bytes = new byte[needed];
+                }
+            }
+            end = encode(entry, bytes, end);
+        }
+        length += flush(channel, direct, crc, bytes, end);
+
+        direct.clear();
+        direct.putInt(MAGIC);
+        direct.putShort(VERSION);
+        direct.putShort(checksum ? FLAG_CHECKSUM : 0);
+        direct.putLong(entries.size());
+        direct.putLong(length);
+        direct.putInt(checksum ? (int) crc.getValue() : 0);
+        direct.putInt(0);
+        direct.flip();
+        long position = 0;
+        while (direct.hasRemaining()) {
+            position += channel.write(direct, position);
+        }
+    }
+
+    /**
+     * Encodes one entry as a record.
+     *
+     * @param entry the entry in its space-joined text form
+     * @param bytes the array to encode into, with room for the record
+     * @param end the position to start encoding at
+     * @return the position after the record
+     */
+    private static int encode(String entry, byte[] bytes, int end) {
+        int length = entry.length();
+        int firstEnd = entry.indexOf(' ');
+        int lastEnd = firstEnd < 0 ? -1 : entry.indexOf(' ', firstEnd + 1);
+        int fields = firstEnd < 0 ? 1 : lastEnd < 0 ? 2 : 3;
+        if (firstEnd < 0) {
+            firstEnd = length;
+        }
+        if (lastEnd < 0) {
+            lastEnd = length;
+        }
+
+        if (!isAscii(entry)) {
+            byte[] first = entry.substring(0, firstEnd)
+                    .getBytes(StandardCharsets.UTF_8);
+            byte[] last = entry.substring(Math.min(firstEnd + 1, length),
+                    lastEnd).getBytes(StandardCharsets.UTF_8);
+            byte[] email = entry.substring(Math.min(lastEnd + 1, length))
+                    .getBytes(StandardCharsets.UTF_8);
+            end = writeLengths(first.length, last.length, email.length,
+                    fields, bytes, end);
+            System.arraycopy(first, 0, bytes, end, first.length);
+            end += first.length;
+            System.arraycopy(last, 0, bytes, end, last.length);
+            end += last.length;
+            System.arraycopy(email, 0, bytes, end, email.length);
+            return end + email.length;
+        }
+
+        // ASCII chars are their own UTF-8 bytes; copy them without the spaces
+        byte[] ascii = entry.getBytes(StandardCharsets.ISO_8859_1);
+        int lastStart = Math.min(firstEnd + 1, length);
+        int emailStart = Math.min(lastEnd + 1, length);
+        end = writeLengths(firstEnd, lastEnd - lastStart,
+                length - emailStart, fields, bytes, end);
+        System.arraycopy(ascii, 0, bytes, end, firstEnd);
+        end += firstEnd;
+        System.arraycopy(ascii, lastStart, bytes, end, lastEnd - lastStart);
+        end += lastEnd - lastStart;
+        System.arraycopy(ascii, emailStart, bytes, end, length - emailStart);
+        return end + length - emailStart;
+    }
+
+    /**
+     * Writes the field lengths that start a record.
+     *
+     * @param first the length of the first name, in bytes
+     * @param last the length of the last name, in bytes
+     * @param email the length of the email, in bytes
+     * @param fields the number of fields in the entry, from 1 to 3
+     * @param bytes the array to write into
+     * @param end the position to write at
+     * @return the position after the lengths
+     */
+    private static int writeLengths(int first, int last, int email,
+                                    int fields, byte[] bytes, int end) {
+        bytes[end++] = (byte) (Math.min(first, LONG_LENGTH) << 4
+                | Math.min(last, LONG_LENGTH));
+        if (first >= LONG_LENGTH) {
+            end = writeVarint(first - LONG_LENGTH, bytes, end);
+        }
+        if (last >= LONG_LENGTH) {
+            end = writeVarint(last - LONG_LENGTH, bytes, end);
+        }
+        return writeVarint(fields == 3 ? email + 2 : fields - 1, bytes, end);
+    }
+
+    /**
+     * Checks whether every char of a string is ASCII.
+     *
+     * @param string the string to check
+     * @return {@code true} if no char is above {@code 0x7F}
+     */
+    private static boolean isAscii(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes encoded records to the channel through the direct buffer.
+     *
+     * @param channel the channel to write to
+     * @param direct the direct buffer to write through
+     * @param crc the checksum to update
+     * @param bytes the encoded records
+     * @param length the number of bytes to write
+     * @return the number of bytes written
+     * @throws IOException if the bytes cannot be written
+     */
+    private static int flush(FileChannel channel, ByteBuffer direct,
+                             CRC32C crc, byte[] bytes, int length)
+            throws IOException {
+        crc.update(bytes, 0, length);
+        for (int at = 0; at < length; ) {
+            direct.clear();
+            int chunk = Math.min(direct.capacity(), length - at);
+            direct.put(bytes, at, chunk);
+            direct.flip();
+            while (direct.hasRemaining()) {
+                channel.write(direct);
+            }
+            at += chunk;
+        }
+        return length;
+    }
+
+    /**
+     * Writes a non-negative number as a varint, seven bits per byte with the
+     * high bit set on every byte but the last.
+     *
+     * @param value the number to write
+     * @param bytes the array to write into
+     * @param end the position to write at
+     * @return the position after the varint
+     */
+    private static int writeVarint(int value, byte[] bytes, int end) {
+        while (value >= 0x80) {
+            bytes[end++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        bytes[end++] = (byte) value;
+        return end;
+    }
+
+    /**
+     * Reads a varint written by {@link #writeVarint(int, byte[], int)}.
+     *
+     * @param bytes the array to read from
+     * @param pos the position of the varint
+     * @param end the end of the readable bytes
+     * @return the value shifted left by 8 bits, with the number of bytes
+     *         read in the low 8 bits, or -1 if the varint is incomplete
+     * @throws IOException if the varint is longer than five bytes
+     */
+    private static long readVarint(byte[] bytes, int pos, int end)
+            throws IOException {
+        long value = 0;
+        for (int i = 0; i < 5; i++) {
+            if (pos + i >= end) {
+                return -1;
+            }
+            int b = bytes[pos + i];
+            value |= (long) (b & 0x7F) << (7 * i);
+            if (b >= 0) {
+                return value << 8 | (i + 1);
+            }
+        }
+        throw new IOException("corrupt length in binary data file");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package Utils;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * {@link OutputSink} that collects text in a large buffer and only writes
+ * it to the underlying stream when the buffer is full or the sink is
+ * flushed.
+ *
+ * <p>By default it writes to the standard output file descriptor directly,
+ * without going through {@link System#out}, which flushes on every line.
+ * Like {@link java.io.PrintStream}, it never throws: write errors are
+ * remembered and reported by {@link #checkError()}.</p>
+ */
+public class BufferedSink implements OutputSink {
+
+    /** Default number of characters held before they are written. */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /** Writer buffering the text. */
+    private final Writer out;
+
+    /** Line separator of the system. */
+    private final String separator = System.lineSeparator();
+
+    /** Whether a write has failed. */
+    private boolean error;
+
+    /**
+     * Constructs a sink that writes to the standard output file descriptor.
+     */
+    public BufferedSink() {
+        this(new FileOutputStream(FileDescriptor.out), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a sink that writes to the given stream in the default
+     * charset.
+     *
+     * @param stream the stream to write to
+     * @param bufferSize the number of characters held before they are
+     *                   written
+     */
+    public BufferedSink(OutputStream stream, int bufferSize) {
+        this.out = new BufferedWriter(
+                new OutputStreamWriter(stream, Charset.defaultCharset()),
+                bufferSize
+        );
+    }
+
+    /**
+     * Adds text to the buffer, writing the buffer out if it is full.
+     *
+     * @param text the text to print
+     */
+    @Override
+    public synchronized void print(String text) {
+        try {
+            out.write(text);
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    /**
+     * Adds a line and the line separator to the buffer, writing the buffer
+     * out if it is full.
+     *
+     * @param line the line to print
+     */
+    @Override
+    public synchronized void println(String line) {
+        try {
+            out.write(line);
+            out.write(separator);
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    /**
+     * Writes the buffer out to the stream.
+     */
+    @Override
+    public synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    /**
+     * Flushes the sink and checks whether any write has failed.
+     *
+     * @return {@code true} if some text could not be written
+     */
+    public synchronized boolean checkError() {
+        flush();
+        return error;
+    }
+}
\ No newline at end of file
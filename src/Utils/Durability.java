@@ -0,0 +1,31 @@
+package Utils;
+
+/**
+ * Levels of durability with which {@link FileManager} saves data entries.
+ *
+ * <p>At every level the data file is replaced atomically, so a crash of the
+ * program never leaves a partly written data file behind. The levels differ
+ * in whether saved data also survives a crash of the operating system or a
+ * power loss.</p>
+ */
+public enum Durability {
+
+    /**
+     * Leaves writing the saved data to disk to the operating system. Saves
+     * survive a crash of the program, but not of the operating system.
+     */
+    NONE,
+
+    /**
+     * Forces every save to disk before it returns, so that every completed
+     * save survives a crash of the operating system.
+     */
+    FSYNC,
+
+    /**
+     * Forces saves to disk at most once per group commit interval, so that
+     * one force covers every save made since the last one. A crash of the
+     * operating system loses at most the saves of the last interval.
+     */
+    GROUP_COMMIT
+}
\ No newline at end of file
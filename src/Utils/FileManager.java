@@ -1,69 +1,624 @@
 package Utils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Utility class for loading and storing data entries using NIO.
+ *
+ * <p>Each FileManager reads and writes its own data file, which defaults to
+ * the one given by {@link #defaultDataFile(StoreFormat)}.</p>
+ *
+ * <p>In {@link PersistenceMode#JOURNAL} mode, changes are appended to a
+ * {@link Journal} on save instead of rewriting the data file, and the journal
+ * is compacted into the data file once it holds as many records as there are
+ * entries.</p>
+ *
+ * <p>In {@link LoadMode#MAPPED} mode, the data file is memory-mapped and
+ * entries are only decoded when they are read.</p>
+ *
+ * <p>In {@link StoreFormat#BINARY} format, the data file is kept in the
+ * compact format of {@link BinaryDataFile} instead of as text, and is always
+ * loaded eagerly.</p>
+ *
+ * <p>The data file is never overwritten in place. Each save writes a
+ * temporary file and renames it over the data file, see
+ * {@link AtomicFile}, and the {@link Durability} decides whether and how
+ * often saves are forced to disk.</p>
+ *
+ * <p>The bytes and duration of every load and save are recorded in
+ * {@link Metrics} as {@code file.load.*} and {@code file.save.*}.</p>
  */
 public class FileManager {
 
+    /**
+     * System property naming the directory of the default data file.
+     */
+    public static final String DATA_DIRECTORY_PROPERTY = "datastore.dir";
+
+    /**
+     * Directory of the default data file when
+     * {@link #DATA_DIRECTORY_PROPERTY} is not set.
+     */
+    private static final String DEFAULT_DATA_DIRECTORY = "src";
+
+    /**
+     * Minimum number of journal records before the journal is compacted.
+     */
+    private static final int MIN_COMPACTION_RECORDS = 1024;
+
+    /**
+     * Longest time between two forces to disk in
+     * {@link Durability#GROUP_COMMIT} mode.
+     */
+    private static final long GROUP_COMMIT_INTERVAL_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Number of characters of text collected before they are written to the
+     * data file.
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /** Time taken by each load, in nanoseconds. */
+    private static final Histogram LOAD_LATENCY =
+            Metrics.histogram("file.load.latency");
+
+    /** Number of bytes of data files loaded. */
+    private static final LongAdder LOAD_BYTES =
+            Metrics.counter("file.load.bytes");
+
+    /** Time taken by each save, in nanoseconds. */
+    private static final Histogram SAVE_LATENCY =
+            Metrics.histogram("file.save.latency");
+
+    /** Number of bytes written by saves. */
+    private static final LongAdder SAVE_BYTES =
+            Metrics.counter("file.save.bytes");
+
+    /** Number of saves that failed. */
+    private static final LongAdder SAVE_FAILURES =
+            Metrics.counter("file.save.failure");
+
     /**
      * File path to read and store data for long-term storage.
      */
-    private final Path filepath = Paths.get("src/dataStore.txt");
+    private final Path filepath;
+
+    /**
+     * Format of the data file.
+     */
+    private final StoreFormat format;
+
+    /**
+     * Strategy used to persist the data entries.
+     */
+    private final PersistenceMode mode;
+
+    /**
+     * Strategy used to load the data entries.
+     */
+    private final LoadMode loadMode;
+
+    /**
+     * Durability of saves.
+     */
+    private final Durability durability;
+
+    /**
+     * Journal of changes since the last snapshot, or {@code null} when not
+     * in journal mode.
+     */
+    private final Journal journal;
+
+    /**
+     * Time of the last force to disk, from {@link System#nanoTime()}.
+     */
+    private long lastSync;
+
+    /**
+     * Whether some saves have not been forced to disk yet.
+     */
+    private boolean unsynced;
+
+    /**
+     * Entries still backed by the mapped data file, which must be detached
+     * before the file is overwritten, or {@code null} if none.
+     */
+    private LazyEntryList mappedEntries;
+
+    /**
+     * Whether the last load failed, for example because a binary data file
+     * failed verification. Saves are refused until a load succeeds, so that
+     * a damaged file is never replaced by whatever was added since.
+     */
+    private volatile boolean loadFailed;
+
+    /**
+     * A save captured by {@link #prepareSave(List)}, ready to be written.
+     */
+    public interface PendingSave {
+
+        /**
+         * Writes the save to disk.
+         *
+         * @throws UncheckedIOException if the save cannot be written, in
+         *                              which case the data file is left
+         *                              unchanged and the journal records
+         *                              of the save are kept for the next
+         *                              save
+         */
+        void write();
+    }
+
+    /**
+     * A step of a save that writes to disk.
+     */
+    private interface FileWrite {
+
+        /**
+         * Runs the step.
+         *
+         * @return the number of bytes written
+         * @throws IOException if the files cannot be written
+         */
+        long run() throws IOException;
+    }
+
+    /**
+     * Constructs a FileManager that rewrites the data file on every save.
+     */
+    public FileManager() {
+        this(PersistenceMode.SNAPSHOT);
+    }
+
+    /**
+     * Constructs a FileManager using the given persistence mode.
+     *
+     * @param mode the strategy used to persist data entries
+     */
+    public FileManager(PersistenceMode mode) {
+        this(mode, LoadMode.EAGER);
+    }
+
+    /**
+     * Constructs a FileManager using the given persistence and load modes.
+     *
+     * @param mode the strategy used to persist data entries
+     * @param loadMode the strategy used to load data entries
+     */
+    public FileManager(PersistenceMode mode, LoadMode loadMode) {
+        this(mode, loadMode, StoreFormat.TEXT);
+    }
+
+    /**
+     * Constructs a FileManager using the given persistence and load modes
+     * and data file format.
+     *
+     * @param mode the strategy used to persist data entries
+     * @param loadMode the strategy used to load data entries
+     * @param format the format of the data file
+     */
+    public FileManager(PersistenceMode mode, LoadMode loadMode,
+                       StoreFormat format) {
+        this(mode, loadMode, format, Durability.NONE);
+    }
+
+    /**
+     * Constructs a FileManager using the given persistence and load modes,
+     * data file format and durability, with the default data file for the
+     * format.
+     *
+     * @param mode the strategy used to persist data entries
+     * @param loadMode the strategy used to load data entries
+     * @param format the format of the data file
+     * @param durability the durability of saves
+     */
+    public FileManager(PersistenceMode mode, LoadMode loadMode,
+                       StoreFormat format, Durability durability) {
+        this(defaultDataFile(format), mode, loadMode, format, durability);
+    }
+
+    /**
+     * Constructs a FileManager for the given data file in the given format,
+     * rewriting the data file on every save.
+     *
+     * @param filepath the data file
+     * @param format the format of the data file
+     */
+    public FileManager(Path filepath, StoreFormat format) {
+        this(filepath, PersistenceMode.SNAPSHOT, LoadMode.EAGER, format,
+                Durability.NONE);
+    }
+
+    /**
+     * Constructs a FileManager for the given data file, using the given
+     * persistence and load modes, data file format and durability.
+     *
+     * <p>The journal is kept next to the data file, with the extension of
+     * the data file replaced by {@code .journal}.</p>
+     *
+     * @param filepath the data file
+     * @param mode the strategy used to persist data entries
+     * @param loadMode the strategy used to load data entries
+     * @param format the format of the data file
+     * @param durability the durability of saves
+     */
+    public FileManager(Path filepath, PersistenceMode mode, LoadMode loadMode,
+                       StoreFormat format, Durability durability) {
+        this.mode = mode;
+        this.loadMode = loadMode;
+        this.format = format;
+        this.durability = durability;
+        this.lastSync = System.nanoTime() - GROUP_COMMIT_INTERVAL_NANOS;
+        this.filepath = filepath;
+        this.journal = mode == PersistenceMode.JOURNAL
+                ? new Journal(withExtension(filepath, ".journal"))
+                : null;
+    }
+
+    /**
+     * Gets the default data file for a format: {@code dataStore.txt} or
+     * {@code dataStore.bin}, in the directory named by the
+     * {@value #DATA_DIRECTORY_PROPERTY} system property, or in {@code src}
+     * relative to the working directory if it is not set.
+     *
+     * @param format the format of the data file
+     * @return the default data file
+     */
+    public static Path defaultDataFile(StoreFormat format) {
+        Path directory = Paths.get(System.getProperty(
+                DATA_DIRECTORY_PROPERTY, DEFAULT_DATA_DIRECTORY
+        ));
+        return directory.resolve(format == StoreFormat.BINARY
+                ? "dataStore.bin"
+                : "dataStore.txt");
+    }
+
+    /**
+     * Replaces the extension of a file name, or adds one if it has none.
+     *
+     * @param file the file
+     * @param extension the new extension, including the dot
+     * @return the file with the new extension
+     */
+    private static Path withExtension(Path file, String extension) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return file.resolveSibling(
+                (dot > 0 ? name.substring(0, dot) : name) + extension
+        );
+    }
+
+    /**
+     * Gets the journal of changes, so that callers can record each change
+     * as it is made.
+     *
+     * @return the journal, or {@code null} when not in journal mode
+     */
+    public Journal getJournal() {
+        return journal;
+    }
 
     /**
      * Loads entries from the data file into a list.
-     * If the file doesn't exist, creates it.
+     * If the file doesn't exist, creates it. In journal mode the journal is
+     * replayed over the loaded entries, and is compacted or reset if it
+     * cannot be appended to.
+     *
+     * <p>A data file or journal that cannot be read, such as a binary data
+     * file that fails verification, fails the load rather than being
+     * treated as empty, since the next save would then replace it with only
+     * the entries added after the load. Saves through this file manager are
+     * refused until a load succeeds.</p>
      *
-     * @return an ArrayList of trimmed strings representing each data line,
-     *         or null if an error occurred
+     * @return a list of trimmed strings representing each data line
+     * @throws UncheckedIOException if the data file or journal cannot be
+     *                              read, or the journal cannot be reset
      */
-    public ArrayList<String> loadFromFile() {
+    public List<String> loadFromFile() {
+        long start = System.nanoTime();
+        loadFailed = true;
         try {
             if (Files.notExists(filepath)) {
+                Path directory = filepath.toAbsolutePath().getParent();
+                if (directory != null) {
+                    Files.createDirectories(directory);
+                }
                 Files.createFile(filepath);
-                System.out.println(
+                System.err.println(
                         "File not found. Created new file: " + filepath
                 );
             }
 
-            List<String> lines = Files.readAllLines(filepath);
-            ArrayList<String> dataEntries = new ArrayList<>();
+            List<String> dataEntries;
+            if (format == StoreFormat.BINARY) {
+                dataEntries = BinaryDataFile.read(filepath);
+            } else if (loadMode == LoadMode.MAPPED) {
+                mappedEntries = new LazyEntryList(new MappedDataFile(filepath));
+                dataEntries = mappedEntries;
+            } else {
+                List<String> lines = Files.readAllLines(filepath);
+                dataEntries = new ArrayList<>();
+
+                for (String line : lines) {
+                    dataEntries.add(line.trim());
+                }
+            }
 
-            for (String line : lines) {
-                dataEntries.add(line.trim());
+            if (mode == PersistenceMode.JOURNAL
+                    && !journal.replay(dataEntries, filepath)) {
+                try {
+                    if (journal.size() > 0) {
+                        detachMappedEntries();
+                        compact(dataEntries);
+                    } else {
+                        journal.reset(filepath, durability != Durability.NONE);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(
+                            "Error writing file: " + e.getMessage(), e
+                    );
+                }
             }
 
+            if (Metrics.isEnabled()) {
+                LOAD_BYTES.add(Files.size(filepath));
+                LOAD_LATENCY.record(System.nanoTime() - start);
+            }
+            loadFailed = false;
             return dataEntries;
 
-        } catch (Exception e) {
-            System.out.println("Error reading file: " + e.getMessage());
-            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Error reading file " + filepath + ": " + e.getMessage(),
+                    e
+            );
         }
     }
 
     /**
-     * Stores the current data entries to the data file,
-     * overwriting previous content.
+     * Stores the current data entries to the data file, replacing previous
+     * content atomically.
+     *
+     * <p>In journal mode only the changes recorded since the last save are
+     * appended to the journal, unless the journal is due for compaction.</p>
      *
      * @param dataEntries list of strings to write to file
+     * @throws UncheckedIOException if the entries cannot be saved, or the
+     *                              last load failed, in which case the data
+     *                              file is left unchanged
      */
-    public void saveToFile(ArrayList<String> dataEntries) {
+    public void saveToFile(List<String> dataEntries) {
+        prepareSave(dataEntries, false).write();
+    }
+
+    /**
+     * Captures everything a save of the current data entries needs, so that
+     * the save can be written while the entries change.
+     *
+     * <p>The entries must not change while this runs, but the returned save
+     * does not read them again. In journal mode it holds the records logged
+     * so far, and a copy of the entries if the journal is due for
+     * compaction; otherwise it holds a copy of the entries.</p>
+     *
+     * @param dataEntries list of strings to save
+     * @return the save, to be written by one thread at a time
+     */
+    public PendingSave prepareSave(List<String> dataEntries) {
+        return prepareSave(dataEntries, true);
+    }
+
+    /**
+     * Captures a save of the current data entries.
+     *
+     * @param dataEntries list of strings to save
+     * @param copy whether to copy the entries instead of keeping the list
+     * @return the save
+     */
+    private PendingSave prepareSave(List<String> dataEntries, boolean copy) {
+        if (loadFailed) {
+            String message = "Error writing file: " + filepath
+                    + " failed to load and is left unchanged";
+            throw new UncheckedIOException(message, new IOException(message));
+        }
+        if (mode == PersistenceMode.JOURNAL && journal.size() < Math.max(
+                MIN_COMPACTION_RECORDS, dataEntries.size())) {
+            List<String> records = journal.drain();
+            return () -> write(
+                    () -> journal.append(records, syncDue()), records
+            );
+        }
+        detachMappedEntries();
+        List<String> entries = copy
+                ? new ArrayList<>(dataEntries)
+                : dataEntries;
+        if (mode == PersistenceMode.JOURNAL) {
+            // The data file will hold every record logged so far
+            List<String> records = journal.drain();
+            return () -> write(() -> compact(entries), records);
+        }
+        return () -> write(() -> writeSnapshot(entries, syncDue()), null);
+    }
+
+    /**
+     * Runs the write of a save, putting the journal records it holds back
+     * if the write fails.
+     *
+     * @param write the write to run
+     * @param records the journal records held by the save, or {@code null}
+     * @throws UncheckedIOException if the write fails
+     */
+    private void write(FileWrite write, List<String> records) {
+        long start = System.nanoTime();
         try {
-            Files.write(
-                    filepath,
-                    dataEntries,
-                    StandardOpenOption.TRUNCATE_EXISTING,
-                    StandardOpenOption.CREATE
+            long bytes = write.run();
+            if (Metrics.isEnabled()) {
+                SAVE_BYTES.add(bytes);
+                SAVE_LATENCY.record(System.nanoTime() - start);
+            }
+        } catch (IOException e) {
+            if (records != null) {
+                journal.restore(records);
+            }
+            if (Metrics.isEnabled()) {
+                SAVE_FAILURES.increment();
+            }
+            throw new UncheckedIOException(
+                    "Error writing file: " + e.getMessage(), e
             );
-        } catch (Exception e) {
-            System.out.println("Error writing file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forces every save that has not been forced to disk yet. Only needed in
+     * {@link Durability#GROUP_COMMIT} mode, for example before exiting.
+     *
+     * @throws UncheckedIOException if the files cannot be forced
+     */
+    public synchronized void sync() {
+        if (!unsynced) {
+            return;
+        }
+        try {
+            if (journal != null) {
+                journal.force();
+            }
+            AtomicFile.syncDirectory(filepath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Error writing file: " + e.getMessage(), e
+            );
+        }
+        unsynced = false;
+        lastSync = System.nanoTime();
+    }
+
+    /**
+     * Decides whether the save being made must be forced to disk, and
+     * remembers saves that are not.
+     *
+     * @return {@code true} if the save must be forced to disk
+     */
+    private synchronized boolean syncDue() {
+        if (durability == Durability.FSYNC) {
+            return true;
+        }
+        if (durability == Durability.GROUP_COMMIT) {
+            long now = System.nanoTime();
+            if (now - lastSync >= GROUP_COMMIT_INTERVAL_NANOS) {
+                lastSync = now;
+                unsynced = false;
+                return true;
+            }
+            unsynced = true;
+        }
+        return false;
+    }
+
+    /**
+     * Compacts the journal by saving the given entries to the data file and
+     * starting a new, empty journal.
+     *
+     * <p>Unless durability is {@link Durability#NONE}, the new data file is
+     * durable before the journal is reset, so that the old journal is never
+     * lost while it is still needed.</p>
+     *
+     * @param dataEntries list of strings to write to file
+     * @return the number of bytes written to the data file
+     * @throws IOException if the data file or journal cannot be written
+     */
+    private long compact(List<String> dataEntries) throws IOException {
+        boolean force = durability != Durability.NONE;
+        long bytes = writeSnapshot(dataEntries, force);
+        journal.reset(filepath, force);
+        return bytes;
+    }
+
+    /**
+     * Replaces the data file with the given entries.
+     *
+     * <p>Unless durability is {@link Durability#NONE}, the new file is
+     * forced to disk before it replaces the old one.</p>
+     *
+     * @param dataEntries list of strings to write to file
+     * @param sync whether the replacement must be durable when this returns
+     * @return the number of bytes written
+     * @throws IOException if the file cannot be written
+     */
+    private long writeSnapshot(List<String> dataEntries, boolean sync)
+            throws IOException {
+        long bytes = AtomicFile.write(
+                filepath,
+                format == StoreFormat.BINARY
+                        ? channel -> BinaryDataFile.write(
+                                channel, dataEntries, true)
+                        : channel -> writeText(channel, dataEntries),
+                durability != Durability.NONE
+        );
+        if (sync) {
+            AtomicFile.syncDirectory(filepath);
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodes the entries still read from the mapped data file, which would
+     * otherwise stay allocated once the data file is replaced.
+     */
+    private void detachMappedEntries() {
+        if (mappedEntries != null) {
+            mappedEntries.detach();
+            mappedEntries = null;
+        }
+    }
+
+    /**
+     * Writes the entries as text, one per line.
+     *
+     * @param channel the channel to write to
+     * @param dataEntries list of strings to write
+     * @throws IOException if the entries cannot be written
+     */
+    private static void writeText(FileChannel channel,
+                                  List<String> dataEntries)
+            throws IOException {
+        String separator = System.lineSeparator();
+        StringBuilder text = new StringBuilder(WRITE_BUFFER_SIZE + 256);
+        for (int i = 0; i < dataEntries.size(); i++) {
+            text.append(dataEntries.get(i)).append(separator);
+            if (text.length() >= WRITE_BUFFER_SIZE) {
+                write(channel, text);
+                text.setLength(0);
+            }
+        }
+        write(channel, text);
+    }
+
+    /**
+     * Writes text to a channel as UTF-8.
+     *
+     * @param channel the channel to write to
+     * @param text the text to write
+     * @throws IOException if the text cannot be written
+     */
+    private static void write(FileChannel channel, CharSequence text)
+            throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(
+                text.toString().getBytes(StandardCharsets.UTF_8)
+        );
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
         }
     }
 }
\ No newline at end of file
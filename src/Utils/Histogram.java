@@ -0,0 +1,156 @@
+package Utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values, such as latencies in
+ * nanoseconds.
+ *
+ * <p>Values are counted in buckets that split each power of two into
+ * {@value #SUB_BUCKETS} equal parts, so recording a value costs a few
+ * arithmetic operations and one atomic increment, and percentiles are
+ * reported to within an eighth of the value.</p>
+ */
+public class Histogram {
+
+    /** Number of buckets each power of two is split into. */
+    private static final int SUB_BUCKETS = 8;
+
+    /** Number of bits needed to pick a sub-bucket. */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /** Number of buckets, enough for every non-negative long. */
+    private static final int BUCKETS =
+            (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** Number of values recorded in each bucket. */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /** Sum of the values recorded. */
+    private final LongAdder sum = new LongAdder();
+
+    /** Largest value recorded. */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucket(value));
+        sum.add(value);
+        long largest = max.get();
+        while (value > largest && !max.compareAndSet(largest, value)) {
+            largest = max.get();
+        }
+    }
+
+    /**
+     * Gets the number of values recorded.
+     *
+     * @return the count
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the sum of the values recorded.
+     *
+     * @return the sum
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Gets the largest value recorded.
+     *
+     * @return the largest value, or 0 if none has been recorded
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Gets an upper bound of the value below which the given fraction of
+     * the recorded values fall.
+     *
+     * @param fraction the fraction, between 0 and 1, such as 0.99
+     * @return the upper bound of the bucket holding the percentile, at most
+     *         the largest value recorded, or 0 if none has been recorded
+     */
+    public long percentile(double fraction) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Clears every value recorded.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Gets the bucket of a value.
+     *
+     * @param value the value, not negative
+     * @return the index of its bucket
+     */
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS))
+                & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Gets the largest value counted in a bucket.
+     *
+     * @param bucket the index of the bucket
+     * @return the largest value of the bucket
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) * width;
+        return lower + width - 1;
+    }
+}
\ No newline at end of file
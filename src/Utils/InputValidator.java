@@ -7,6 +7,11 @@ import java.util.regex.Pattern;
  *
  * <p>This class currently provides email validation logic that checks whether
  * a given string conforms to a specific format based on company rules.</p>
+ *
+ * <p>Validation is done by the {@link ScanningValidator} by default, which
+ * accepts exactly the same inputs as the regular expressions below without
+ * allocating a {@code Matcher} per call. The regular expressions can be
+ * selected instead with {@link #setMode(ValidatorMode)}.</p>
  */
 public class InputValidator {
 
@@ -38,6 +43,18 @@ public class InputValidator {
     private static final Pattern STRING_PATTERN = Pattern.compile(
             "[a-zA-Z0-9_]{1,}"
     );
+
+    /** Implementation used to validate input. */
+    private static volatile ValidatorMode mode = ValidatorMode.SCANNER;
+
+    /**
+     * Selects the implementation used to validate input.
+     *
+     * @param validatorMode the implementation to use
+     */
+    public static void setMode(ValidatorMode validatorMode) {
+        mode = validatorMode;
+    }
     /**
      * Validates an email address against a custom pattern.
      *
@@ -55,6 +72,9 @@ public class InputValidator {
      */
     public static boolean validate_email(String email) {
         if (email.isEmpty()) return false;
+        if (mode == ValidatorMode.SCANNER) {
+            return ScanningValidator.validate_email(email);
+        }
         return EMAIL_PATTERN.matcher(email).matches();
     }
 
@@ -70,6 +90,9 @@ public class InputValidator {
      */
     public static boolean validate_string(String string) {
         if (string.isEmpty()) return false;
+        if (mode == ValidatorMode.SCANNER) {
+            return ScanningValidator.validate_string(string);
+        }
         return STRING_PATTERN.matcher(string).matches();
     }
 }
\ No newline at end of file
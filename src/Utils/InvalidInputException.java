@@ -6,6 +6,12 @@ package Utils;
  * <p>This runtime exception is typically used in command classes to signal
  * input validation failures, such as invalid parameter formats or out-of-
  * bounds indices.</p>
+ *
+ * <p>Invalid input is an ordinary outcome rather than a programming error:
+ * the exception is caught by the invoker, or by a bulk import line by line,
+ * and only its message is ever printed. It therefore records no stack
+ * trace, which would otherwise make rejecting bad input cost more than
+ * handling good input.</p>
  */
 public class InvalidInputException extends RuntimeException {
 
@@ -16,6 +22,6 @@ public class InvalidInputException extends RuntimeException {
      * @param message the detail message explaining the reason for the error
      */
     public InvalidInputException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,360 @@
+package Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only write-ahead log of changes made to the data entries.
+ *
+ * <p>Every add, update, delete and insert is recorded as one line in the
+ * journal file. Records are buffered in memory until they are drained and
+ * appended, so a save only writes the changes made since the previous save.
+ * New records may be logged while drained records are being written.
+ * On startup the records are replayed over the last snapshot to rebuild the
+ * current data entries.</p>
+ *
+ * <p>Record format (one per line):
+ * <ul>
+ *   <li>{@code S <length> <checksum>} - first record only, identifying
+ *       the data file the journal applies to</li>
+ *   <li>{@code A <entry>} - entry added at the end</li>
+ *   <li>{@code U <index> <entry>} - entry at index replaced</li>
+ *   <li>{@code D <index>} - entry at index deleted</li>
+ *   <li>{@code I <index> <entry>} - entry inserted at index</li>
+ * </ul>
+ * All indices are zero-based.</p>
+ *
+ * <p>When the journal is compacted, the data file is replaced before the
+ * journal is reset. The {@code S} record names the length and CRC-32C
+ * checksum of the data file that the journal applies to, so if a crash
+ * happens in between, the old journal is recognised and not replayed over
+ * the new data file, which already holds its changes. A record left
+ * incomplete by a crash during a flush is ignored.</p>
+ */
+public class Journal {
+
+    /** Size of the buffer used to compute checksums, in bytes. */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /** File path of the journal. */
+    private final Path filepath;
+
+    /** Records that have not been written to the journal file yet. */
+    private ArrayList<String> pending = new ArrayList<>();
+
+    /** Number of records currently stored in the journal file. */
+    private int recordCount;
+
+    /**
+     * Constructs a journal backed by the given file.
+     *
+     * @param filepath the path of the journal file
+     */
+    public Journal(Path filepath) {
+        this.filepath = filepath;
+    }
+
+    /**
+     * Records that an entry was added at the end of the data list.
+     *
+     * @param entry the added entry
+     */
+    public synchronized void logAdd(String entry) {
+        pending.add("A " + entry);
+    }
+
+    /**
+     * Records that the entry at the given index was replaced.
+     *
+     * @param index the zero-based index of the updated entry
+     * @param entry the new entry
+     */
+    public synchronized void logUpdate(int index, String entry) {
+        pending.add("U " + index + " " + entry);
+    }
+
+    /**
+     * Records that the entry at the given index was deleted.
+     *
+     * @param index the zero-based index of the deleted entry
+     */
+    public synchronized void logDelete(int index) {
+        pending.add("D " + index);
+    }
+
+    /**
+     * Records that an entry was inserted at the given index.
+     *
+     * @param index the zero-based index of the inserted entry
+     * @param entry the inserted entry
+     */
+    public synchronized void logInsert(int index, String entry) {
+        pending.add("I " + index + " " + entry);
+    }
+
+    /**
+     * Gets the number of records in the journal file, including records that
+     * are still waiting to be written.
+     *
+     * @return the total number of journal records
+     */
+    public synchronized int size() {
+        return recordCount + pending.size();
+    }
+
+    /**
+     * Takes all pending records, so that they can be written with
+     * {@link #append(List, boolean)} while new records are logged.
+     *
+     * @return the records taken, in the order they were logged
+     */
+    public synchronized List<String> drain() {
+        List<String> records = pending;
+        pending = new ArrayList<>();
+        return records;
+    }
+
+    /**
+     * Puts records taken with {@link #drain()} back in front of the pending
+     * records, after they could not be written.
+     *
+     * @param records the records to put back
+     */
+    public synchronized void restore(List<String> records) {
+        pending.addAll(0, records);
+    }
+
+    /**
+     * Appends records taken with {@link #drain()} to the journal file.
+     *
+     * <p>If the records cannot be written completely, the journal file is
+     * truncated back to its previous length, so that no partial record is
+     * left in front of later records.</p>
+     *
+     * @param records the records to append
+     * @param force whether to force the journal file to disk before
+     *              returning
+     * @return the number of bytes appended
+     * @throws IOException if the records cannot be written
+     */
+    public long append(List<String> records, boolean force)
+            throws IOException {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        StringBuilder text = new StringBuilder();
+        for (String record : records) {
+            text.append(record).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(
+                text.toString().getBytes(StandardCharsets.UTF_8)
+        );
+        try (FileChannel channel = FileChannel.open(
+                filepath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            long length = channel.size();
+            try {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                if (force) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                channel.truncate(length);
+                throw e;
+            }
+        }
+        synchronized (this) {
+            recordCount += records.size();
+        }
+        return bytes.capacity();
+    }
+
+    /**
+     * Forces the records already written to the journal file to disk.
+     *
+     * @throws IOException if the journal file cannot be forced
+     */
+    public void force() throws IOException {
+        if (Files.notExists(filepath)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(
+                filepath, StandardOpenOption.WRITE)) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Discards all journal records on disk and starts a new journal for the
+     * given data file. Called once the records have been compacted into the
+     * data file, or when the journal does not apply to it. Pending records
+     * are kept, since they were logged after the data file was written.
+     *
+     * @param dataFile the data file that later records apply to
+     * @param force whether to force the new journal file to disk before it
+     *              replaces the old one
+     * @throws IOException if the data file cannot be read or the journal
+     *                     file cannot be written
+     */
+    public void reset(Path dataFile, boolean force) throws IOException {
+        byte[] base = ("S " + fingerprint(dataFile) + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+        AtomicFile.write(filepath, channel -> {
+            ByteBuffer bytes = ByteBuffer.wrap(base);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }, force);
+        synchronized (this) {
+            recordCount = 0;
+        }
+    }
+
+    /**
+     * Replays the journal file over the given data entries.
+     *
+     * <p>Replay stops at the first malformed record, which can only be the
+     * result of a write interrupted by a crash. Nothing is replayed if the
+     * journal applies to a different data file.</p>
+     *
+     * @param dataEntries the entries loaded from the data file
+     * @param dataFile the data file the entries were loaded from
+     * @return {@code true} if later records can be appended to the journal
+     *         file; {@code false} if it is missing, does not apply to the
+     *         data file or holds records that were not replayed, and must
+     *         be reset once the entries replayed so far have been saved
+     * @throws IOException if the journal or data file cannot be read, in
+     *                     which case the entries may be partly replayed and
+     *                     neither they nor the journal may be used
+     */
+    public boolean replay(List<String> dataEntries, Path dataFile)
+            throws IOException {
+        if (Files.notExists(filepath)) {
+            return false;
+        }
+        byte[] bytes = Files.readAllBytes(filepath);
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n') {
+            end--;
+        }
+        List<String> records = new String(
+                bytes, 0, end, StandardCharsets.UTF_8
+        ).lines().collect(Collectors.toList());
+
+        boolean current = false;
+        int first = 0;
+        if (!records.isEmpty() && records.get(0).startsWith("S ")) {
+            if (!records.get(0).substring(2)
+                    .equals(fingerprint(dataFile))) {
+                System.err.println(
+                        "Ignoring journal of an older data file: "
+                        + filepath
+                );
+                return false;
+            }
+            current = true;
+            first = 1;
+        }
+        for (int i = first; i < records.size(); i++) {
+            if (!apply(dataEntries, records.get(i))) {
+                System.err.println(
+                        "Ignoring malformed journal record: "
+                        + records.get(i)
+                );
+                return false;
+            }
+            recordCount++;
+        }
+        if (end < bytes.length) {
+            System.err.println(
+                    "Ignoring incomplete journal record: " + new String(
+                            bytes, end, bytes.length - end,
+                            StandardCharsets.UTF_8
+                    )
+            );
+            return false;
+        }
+        return current;
+    }
+
+    /**
+     * Identifies the content of a data file by its length and CRC-32C
+     * checksum.
+     *
+     * @param dataFile the data file to identify
+     * @return the length and checksum, separated by a space
+     * @throws IOException if the data file cannot be read
+     */
+    private static String fingerprint(Path dataFile) throws IOException {
+        CRC32C crc = new CRC32C();
+        long length = 0;
+        try (FileChannel channel = FileChannel.open(
+                dataFile, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            int read;
+            while ((read = channel.read(buffer)) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+                length += read;
+            }
+        }
+        return length + " " + Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * Applies a single journal record to the data entries.
+     *
+     * @param dataEntries the entries to apply the record to
+     * @param record the journal record
+     * @return {@code true} if the record was well-formed and applied
+     */
+    private static boolean apply(List<String> dataEntries, String record) {
+        if (record.length() < 3 || record.charAt(1) != ' ') {
+            return false;
+        }
+        char type = record.charAt(0);
+        if (type == 'A') {
+            dataEntries.add(record.substring(2));
+            return true;
+        }
+        int end = record.indexOf(' ', 2);
+        int index;
+        try {
+            index = Integer.parseInt(
+                    end < 0 ? record.substring(2) : record.substring(2, end)
+            );
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (type == 'D' && end < 0
+                && index >= 0 && index < dataEntries.size()) {
+            dataEntries.remove(index);
+            return true;
+        }
+        if (type == 'U' && end >= 0
+                && index >= 0 && index < dataEntries.size()) {
+            dataEntries.set(index, record.substring(end + 1));
+            return true;
+        }
+        if (type == 'I' && end >= 0
+                && index >= 0 && index <= dataEntries.size()) {
+            dataEntries.add(index, record.substring(end + 1));
+            return true;
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+package Utils;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Mutable list of data entries backed by a {@link MappedDataFile}.
+ *
+ * <p>Entries loaded from the file are kept as line numbers and decoded each
+ * time they are read, so loading costs one {@code int} per line instead of
+ * one {@code String}. Entries that are added or replaced are held in memory
+ * as strings.</p>
+ */
+public class LazyEntryList extends AbstractList<String>
+        implements RandomAccess {
+
+    /** The mapped file that unmodified entries are read from. */
+    private MappedDataFile source;
+
+    /**
+     * Entries held in memory, or {@code null} where the entry is still read
+     * from the source file.
+     */
+    private String[] entries;
+
+    /**
+     * Source line number of each entry not held in memory, or {@code null}
+     * once the list has been detached from its source.
+     */
+    private int[] lines;
+
+    /** Number of entries in the list. */
+    private int size;
+
+    /**
+     * Constructs a list containing every line of the given file.
+     *
+     * @param source the mapped data file
+     */
+    public LazyEntryList(MappedDataFile source) {
+        this.source = source;
+        this.size = source.lineCount();
+        this.entries = new String[Math.max(size, 16)];
+        this.lines = new int[entries.length];
+        for (int i = 0; i < size; i++) {
+            lines[i] = i;
+        }
+    }
+
+    @Override
+    public String get(int index) {
+        checkIndex(index, size);
+        String entry = entries[index];
+        return entry != null ? entry : source.line(lines[index]);
+    }
+
+    @Override
+    public String set(int index, String entry) {
+        String previous = get(index);
+        entries[index] = entry;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, String entry) {
+        checkIndex(index, size + 1);
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+            if (lines != null) {
+                lines = Arrays.copyOf(lines, size * 2);
+            }
+        }
+        System.arraycopy(entries, index, entries, index + 1, size - index);
+        if (lines != null) {
+            System.arraycopy(lines, index, lines, index + 1, size - index);
+        }
+        entries[index] = entry;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public String remove(int index) {
+        String previous = get(index);
+        System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+        if (lines != null) {
+            System.arraycopy(lines, index + 1, lines, index, size - index - 1);
+        }
+        entries[--size] = null;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes every entry still read from the source file and releases the
+     * mapping. Must be called before the source file is overwritten.
+     */
+    public void detach() {
+        if (source == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (entries[i] == null) {
+                entries[i] = source.line(lines[i]);
+            }
+        }
+        source = null;
+        lines = null;
+    }
+
+    /**
+     * Checks whether the list has been detached from its source file, so
+     * that it holds every entry in memory.
+     *
+     * @return {@code true} once {@link #detach()} has been called
+     */
+    public boolean isDetached() {
+        return source == null;
+    }
+
+    /**
+     * Checks that an index lies within {@code [0, bound)}.
+     *
+     * @param index the index to check
+     * @param bound the exclusive upper bound
+     */
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException(
+                    "Index: " + index + ", Size: " + size
+            );
+        }
+    }
+}
\ No newline at end of file
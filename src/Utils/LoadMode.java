@@ -0,0 +1,16 @@
+package Utils;
+
+/**
+ * Strategies used by {@link FileManager} to load data entries at startup.
+ */
+public enum LoadMode {
+
+    /** Reads and decodes every line of the data file up front. */
+    EAGER,
+
+    /**
+     * Memory-maps the data file, indexes the line offsets and only decodes
+     * a line when it is read.
+     */
+    MAPPED
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package Utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only, memory-mapped view of a data file with an index of line
+ * offsets.
+ *
+ * <p>Only the offsets are computed when the file is opened; a line is
+ * decoded into a {@code String} when {@link #line(int)} is called.</p>
+ */
+public class MappedDataFile {
+
+    /** The mapped contents of the file. */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Start offset of every line, followed by one sentinel offset so that
+     * line {@code i} spans {@code [starts[i], starts[i + 1] - 1)}.
+     */
+    private final int[] starts;
+
+    /** Number of lines in the file. */
+    private final int lineCount;
+
+    /**
+     * Maps the given file and indexes its lines.
+     *
+     * @param filepath the file to map; must be smaller than 2 GB
+     * @throws IOException if the file cannot be mapped
+     */
+    public MappedDataFile(Path filepath) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                filepath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= Integer.MAX_VALUE) {
+                throw new IOException(
+                        "File too large to map: " + filepath
+                );
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        int limit = buffer.limit();
+        int[] offsets = new int[1024];
+        int count = 0;
+        int start = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                if (count + 1 >= offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[count++] = start;
+                start = i + 1;
+            }
+        }
+        if (start < limit) {
+            // Last line has no trailing newline
+            if (count + 1 >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length + 1);
+            }
+            offsets[count++] = start;
+            start = limit + 1;
+        }
+        offsets[count] = start;
+        this.starts = offsets;
+        this.lineCount = count;
+    }
+
+    /**
+     * Gets the number of lines in the file.
+     *
+     * @return the number of lines
+     */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Decodes the line at the given index.
+     *
+     * <p>Like {@link java.nio.file.Files#readAllLines(Path)}, which reads
+     * the file in {@link LoadMode#EAGER} mode, a line that is not valid
+     * UTF-8 is rejected rather than decoded with replacement
+     * characters.</p>
+     *
+     * @param index the zero-based line index
+     * @return the trimmed contents of the line
+     * @throws UncheckedIOException if the line is not valid UTF-8
+     */
+    public String line(int index) {
+        int start = starts[index];
+        byte[] bytes = new byte[starts[index + 1] - 1 - start];
+        buffer.get(start, bytes);
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .decode(ByteBuffer.wrap(bytes)).toString().trim();
+        } catch (CharacterCodingException e) {
+            throw new UncheckedIOException(
+                    "Invalid UTF-8 on line " + (index + 1), e
+            );
+        }
+    }
+}
\ No newline at end of file
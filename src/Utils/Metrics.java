@@ -0,0 +1,196 @@
+package Utils;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the counters, histograms and gauges that instrument the
+ * commands, receivers and data files.
+ *
+ * <p>Metrics are created on first use and kept for the life of the
+ * program, so that the hot paths hold on to them and only pay for an
+ * increment. Recording can be switched off with {@link #setEnabled(boolean)}
+ * or by starting the program with {@code -Dmetrics.enabled=false}. The
+ * metrics are read with {@link #dump()}, or over JMX once
+ * {@link #registerMBean()} has been called.</p>
+ *
+ * <p>Histograms are dumped as their count, sum, 50th, 99th and 99.9th
+ * percentiles and largest value. Latencies are in nanoseconds.</p>
+ */
+public final class Metrics {
+
+    /** System property that switches recording off when {@code false}. */
+    public static final String ENABLED_PROPERTY = "metrics.enabled";
+
+    /** Name under which the metrics are registered with JMX. */
+    public static final String OBJECT_NAME = "DataStore:type=Metrics";
+
+    /** Counters, by name. */
+    private static final Map<String, LongAdder> COUNTERS =
+            new ConcurrentHashMap<>();
+
+    /** Histograms, by name. */
+    private static final Map<String, Histogram> HISTOGRAMS =
+            new ConcurrentHashMap<>();
+
+    /** Gauges, by name. */
+    private static final Map<String, LongSupplier> GAUGES =
+            new ConcurrentHashMap<>();
+
+    /** Whether metrics are recorded. */
+    private static volatile boolean enabled = Boolean.parseBoolean(
+            System.getProperty(ENABLED_PROPERTY, "true")
+    );
+
+    /** Whether the metrics have been registered with JMX. */
+    private static boolean registered;
+
+    /**
+     * Prevents instantiation.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Checks whether metrics are recorded. Callers check this before timing
+     * anything, so that disabled metrics cost nothing more.
+     *
+     * @return {@code true} if metrics are recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches recording of metrics on or off.
+     *
+     * @param enabled whether metrics are recorded
+     */
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Gets the counter with the given name, creating it if needed.
+     *
+     * @param name the name of the counter
+     * @return the counter
+     */
+    public static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Gets the histogram with the given name, creating it if needed.
+     *
+     * @param name the name of the histogram
+     * @return the histogram
+     */
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * Registers a gauge, whose value is read each time the metrics are
+     * read. Replaces any gauge with the same name.
+     *
+     * @param name the name of the gauge
+     * @param gauge the supplier of its value
+     */
+    public static void gauge(String name, LongSupplier gauge) {
+        GAUGES.put(name, gauge);
+    }
+
+    /**
+     * Removes a gauge, so that what it reads can be garbage collected.
+     *
+     * @param name the name of the gauge
+     */
+    public static void removeGauge(String name) {
+        GAUGES.remove(name);
+    }
+
+    /**
+     * Gets the current value of every metric.
+     *
+     * @return the values, sorted by name
+     */
+    public static SortedMap<String, Long> values() {
+        SortedMap<String, Long> values = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> values.put(name, counter.sum()));
+        GAUGES.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        HISTOGRAMS.forEach((name, histogram) -> {
+            values.put(name + ".count", histogram.count());
+            values.put(name + ".sum", histogram.sum());
+            values.put(name + ".p50", histogram.percentile(0.5));
+            values.put(name + ".p99", histogram.percentile(0.99));
+            values.put(name + ".p999", histogram.percentile(0.999));
+            values.put(name + ".max", histogram.max());
+        });
+        return values;
+    }
+
+    /**
+     * Gets every metric as text.
+     *
+     * @return one line per metric, holding its name and value
+     */
+    public static String dump() {
+        StringBuilder text = new StringBuilder();
+        values().forEach((name, value) -> text.append(name).append(' ')
+                .append(value).append(System.lineSeparator()));
+        return text.toString();
+    }
+
+    /**
+     * Clears every counter and histogram. Gauges are left as they are.
+     */
+    public static void reset() {
+        COUNTERS.values().forEach(LongAdder::reset);
+        HISTOGRAMS.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server under
+     * {@link #OBJECT_NAME}, if not done yet.
+     *
+     * <p>Registration is left to long-running programs because starting
+     * JMX slows down start-up.</p>
+     */
+    public static synchronized void registerMBean() {
+        if (registered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new MetricsMXBean() {
+                        @Override
+                        public Map<String, Long> getValues() {
+                            return values();
+                        }
+
+                        @Override
+                        public String dump() {
+                            return Metrics.dump();
+                        }
+
+                        @Override
+                        public void reset() {
+                            Metrics.reset();
+                        }
+                    },
+                    new ObjectName(OBJECT_NAME)
+            );
+            registered = true;
+        } catch (JMException e) {
+            System.err.println("Error registering metrics: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package Utils;
+
+import java.util.Map;
+
+/**
+ * Management interface through which {@link Metrics} are read over JMX,
+ * under the name {@value Metrics#OBJECT_NAME}.
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Gets the current value of every metric, by name.
+     *
+     * @return the values, sorted by name
+     */
+    Map<String, Long> getValues();
+
+    /**
+     * Gets every metric as text, one per line.
+     *
+     * @return the dump
+     */
+    String dump();
+
+    /**
+     * Clears every counter and histogram.
+     */
+    void reset();
+}
\ No newline at end of file
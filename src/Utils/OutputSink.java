@@ -0,0 +1,78 @@
+package Utils;
+
+/**
+ * Destination of the text printed by commands and receivers.
+ *
+ * <p>{@link #STDOUT} prints to {@link System#out} and is used unless
+ * another sink is set on the receiver. {@link #QUIET} discards everything,
+ * {@link BufferedSink} collects text in a large buffer before writing it,
+ * and {@link AsyncSink} hands text over to a background thread, so that
+ * bulk runs do not wait for the terminal.</p>
+ *
+ * <p>Sinks can be used by several threads at once.</p>
+ */
+public interface OutputSink extends AutoCloseable {
+
+    /**
+     * Sink that prints to the current {@link System#out}, flushing as it
+     * does.
+     */
+    OutputSink STDOUT = new OutputSink() {
+        @Override
+        public void print(String text) {
+            System.out.print(text);
+        }
+
+        @Override
+        public void println(String line) {
+            System.out.println(line);
+        }
+
+        @Override
+        public void flush() {
+            System.out.flush();
+        }
+    };
+
+    /**
+     * Sink that discards everything.
+     */
+    OutputSink QUIET = new OutputSink() {
+        @Override
+        public void print(String text) {
+        }
+
+        @Override
+        public void println(String line) {
+        }
+    };
+
+    /**
+     * Prints text as it is.
+     *
+     * @param text the text to print
+     */
+    void print(String text);
+
+    /**
+     * Prints a line, followed by the line separator of the system.
+     *
+     * @param line the line to print
+     */
+    void println(String line);
+
+    /**
+     * Writes out any text held by the sink. Does nothing by default.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Writes out any text held by the sink and releases its resources. The
+     * underlying stream is left open. Flushes by default.
+     */
+    @Override
+    default void close() {
+        flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package Utils;
+
+/**
+ * Strategies used by {@link FileManager} to persist data entries.
+ */
+public enum PersistenceMode {
+
+    /** Rewrites the whole data file on every save. */
+    SNAPSHOT,
+
+    /**
+     * Appends each change to a {@link Journal} on save and only rewrites the
+     * data file when the journal is compacted.
+     */
+    JOURNAL
+}
\ No newline at end of file
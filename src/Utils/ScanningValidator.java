@@ -0,0 +1,131 @@
+package Utils;
+
+/**
+ * Hand-written alternative to the regular expressions in
+ * {@link InputValidator}.
+ *
+ * <p>Each method makes a single pass over its input and allocates nothing.
+ * They accept and reject exactly the same inputs as the corresponding
+ * patterns in {@link InputValidator}.</p>
+ */
+public class ScanningValidator {
+
+    /**
+     * Validates an email address with the same rules as
+     * {@link InputValidator#validate_email(String)}.
+     *
+     * <p>The local part may contain letters, digits, '_', '.' and '-'; the
+     * domain name may contain letters, digits, '.' and '-'. Neither may start
+     * or end with '.' or '-', or contain two of them in a row. The domain
+     * ends with a '.' followed by two or three lowercase letters.</p>
+     *
+     * @param email the email address to validate
+     * @return {@code true} if the email is valid; {@code false} otherwise
+     */
+    public static boolean validate_email(String email) {
+        int length = email.length();
+        int i = 0;
+
+        // Local part, up to the '@'
+        boolean afterSeparator = true;
+        for (; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                break;
+            }
+            if (c == '.' || c == '-') {
+                if (afterSeparator) {
+                    return false;
+                }
+                afterSeparator = true;
+            } else if (isWordChar(c)) {
+                afterSeparator = false;
+            } else {
+                return false;
+            }
+        }
+        if (i == 0 || i == length || afterSeparator) {
+            return false;
+        }
+
+        // Domain name and suffix, after the '@'
+        int lastDot = -1;
+        afterSeparator = true;
+        for (i++; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '.' || c == '-') {
+                if (afterSeparator) {
+                    return false;
+                }
+                afterSeparator = true;
+                if (c == '.') {
+                    lastDot = i;
+                }
+            } else if (isLetterOrDigit(c)) {
+                afterSeparator = false;
+            } else {
+                return false;
+            }
+        }
+        if (lastDot < 0 || afterSeparator) {
+            return false;
+        }
+
+        // Suffix of two or three lowercase letters
+        int suffixLength = length - lastDot - 1;
+        if (suffixLength < 2 || suffixLength > 3) {
+            return false;
+        }
+        for (i = lastDot + 1; i < length; i++) {
+            char c = email.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates a string with the same rules as
+     * {@link InputValidator#validate_string(String)}: it must be non-empty
+     * and consist only of latin letters, digits 0 to 9 and underscores.
+     *
+     * @param string the string to validate
+     * @return {@code true} if the string is valid; {@code false} otherwise
+     */
+    public static boolean validate_string(String string) {
+        int length = string.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isWordChar(string.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a character is a latin letter or a digit.
+     *
+     * @param c the character to check
+     * @return {@code true} if the character matches {@code [A-Za-z0-9]}
+     */
+    private static boolean isLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Checks whether a character is a latin letter, a digit or an
+     * underscore.
+     *
+     * @param c the character to check
+     * @return {@code true} if the character matches {@code [A-Za-z0-9_]}
+     */
+    private static boolean isWordChar(char c) {
+        return c == '_' || isLetterOrDigit(c);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package Utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts data files between the text and binary store formats.
+ *
+ * <p>Run as {@code StoreConverter to-binary <text file> <binary file>} or
+ * {@code StoreConverter to-text <binary file> <text file>}. Lines of the
+ * text file are trimmed, as {@link FileManager} does when loading it.</p>
+ */
+public class StoreConverter {
+
+    /**
+     * Converts a text data file to a binary data file.
+     *
+     * @param text the text data file to read
+     * @param binary the binary data file to write
+     * @return the number of entries converted
+     * @throws IOException if either file cannot be accessed
+     */
+    public static int toBinary(Path text, Path binary) throws IOException {
+        List<String> lines = Files.readAllLines(text);
+        List<String> entries = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            entries.add(line.trim());
+        }
+        BinaryDataFile.write(binary, entries, true);
+        return entries.size();
+    }
+
+    /**
+     * Converts a binary data file to a text data file.
+     *
+     * @param binary the binary data file to read
+     * @param text the text data file to write
+     * @return the number of entries converted
+     * @throws IOException if either file cannot be accessed, or the binary
+     *                     file is corrupt
+     */
+    public static int toText(Path binary, Path text) throws IOException {
+        List<String> entries = BinaryDataFile.read(binary);
+        Files.write(
+                text,
+                entries,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.CREATE
+        );
+        return entries.size();
+    }
+
+    /**
+     * Runs the conversion named by the first argument.
+     *
+     * @param args the direction, {@code to-binary} or {@code to-text},
+     *             followed by the input and output files
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println(
+                    "Usage: StoreConverter to-binary|to-text <input> <output>"
+            );
+            return;
+        }
+        Path input = Paths.get(args[1]);
+        Path output = Paths.get(args[2]);
+        try {
+            int count;
+            if (args[0].equals("to-binary")) {
+                count = toBinary(input, output);
+            } else if (args[0].equals("to-text")) {
+                count = toText(input, output);
+            } else {
+                System.out.println("Error: unknown direction " + args[0]);
+                return;
+            }
+            System.out.println("Converted " + count + " entries");
+        } catch (IOException e) {
+            System.out.println("Error converting file: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package Utils;
+
+/**
+ * Formats of the data file read and written by {@link FileManager}.
+ */
+public enum StoreFormat {
+
+    /** One space-joined entry per line of text. */
+    TEXT,
+
+    /**
+     * Length-prefixed UTF-8 fields behind a versioned header, as described
+     * in {@link BinaryDataFile}.
+     */
+    BINARY
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package Utils;
+
+/**
+ * {@link OutputSink} that collects text in memory until it is taken, so
+ * that output can be held back and then printed or discarded as a whole.
+ */
+public class StringSink implements OutputSink {
+
+    /** Line separator of the system. */
+    private final String separator = System.lineSeparator();
+
+    /** Text printed since the sink was created or last taken. */
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * Adds text to the sink.
+     *
+     * @param text the text to print
+     */
+    @Override
+    public synchronized void print(String text) {
+        this.text.append(text);
+    }
+
+    /**
+     * Adds a line, followed by the line separator of the system, to the
+     * sink.
+     *
+     * @param line the line to print
+     */
+    @Override
+    public synchronized void println(String line) {
+        this.text.append(line).append(separator);
+    }
+
+    /**
+     * Checks whether no text has been printed since the sink was created or
+     * last taken.
+     *
+     * @return {@code true} if the sink holds no text
+     */
+    public synchronized boolean isEmpty() {
+        return text.length() == 0;
+    }
+
+    /**
+     * Takes the text printed since the sink was created or last taken,
+     * leaving the sink empty.
+     *
+     * @return the text
+     */
+    public synchronized String take() {
+        String taken = text.toString();
+        text.setLength(0);
+        return taken;
+    }
+}
\ No newline at end of file
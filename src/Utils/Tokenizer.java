@@ -0,0 +1,179 @@
+package Utils;
+
+/**
+ * Splits command parameters into space-separated fields without copying
+ * them.
+ *
+ * <p>{@link #split(CharSequence)} only records where each field starts and
+ * ends in the original text. A field is copied into a string by
+ * {@link #field(int)} only when it is kept, and can be parsed as a number
+ * or compared in place. Fields are split exactly as
+ * {@code String.split(" ")} splits them: consecutive spaces give empty
+ * fields, trailing empty fields are dropped, and text without any space is
+ * a single field, even when empty.</p>
+ *
+ * <p>A tokenizer is reused from one split to the next, and is not
+ * thread-safe; {@link #local()} gives each thread its own.</p>
+ */
+public final class Tokenizer {
+
+    /** Most fields whose offsets are recorded by the tokenizer of a thread. */
+    private static final int LOCAL_CAPACITY = 8;
+
+    /** Tokenizer of each thread. */
+    private static final ThreadLocal<Tokenizer> LOCAL =
+            ThreadLocal.withInitial(() -> new Tokenizer(LOCAL_CAPACITY));
+
+    /** Offset of the first character of each field. */
+    private final int[] starts;
+
+    /** Offset just past the last character of each field. */
+    private final int[] ends;
+
+    /** Text split last. */
+    private CharSequence text;
+
+    /** Number of fields in the text split last. */
+    private int count;
+
+    /**
+     * Constructs a tokenizer that records the offsets of up to the given
+     * number of fields.
+     *
+     * @param capacity the most fields whose offsets are recorded
+     */
+    public Tokenizer(int capacity) {
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+    }
+
+    /**
+     * Gets the tokenizer of the current thread.
+     *
+     * @return the tokenizer, which records up to eight fields
+     */
+    public static Tokenizer local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Splits text into space-separated fields.
+     *
+     * <p>All fields are counted, but offsets are only recorded for as many
+     * as the capacity of the tokenizer, which callers compare the count
+     * against.</p>
+     *
+     * @param text the text to split
+     * @return the number of fields
+     */
+    public int split(CharSequence text) {
+        this.text = text;
+        int length = text.length();
+        int fields = 0;
+        int nonEmpty = 0;
+        int start = 0;
+        boolean separated = false;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && text.charAt(i) != ' ') {
+                continue;
+            }
+            if (i < length) {
+                separated = true;
+            }
+            if (fields < starts.length) {
+                starts[fields] = start;
+                ends[fields] = i;
+            }
+            fields++;
+            if (i > start) {
+                nonEmpty = fields;
+            }
+            start = i + 1;
+        }
+        // As String.split, drop trailing empty fields unless nothing is split
+        this.count = separated ? nonEmpty : 1;
+        return this.count;
+    }
+
+    /**
+     * Gets the number of fields in the text split last.
+     *
+     * @return the number of fields
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Gets the offset of the first character of a field.
+     *
+     * @param i the index of the field, below the capacity
+     * @return the offset in the text
+     */
+    public int start(int i) {
+        return starts[i];
+    }
+
+    /**
+     * Gets the offset just past the last character of a field.
+     *
+     * @param i the index of the field, below the capacity
+     * @return the offset in the text
+     */
+    public int end(int i) {
+        return ends[i];
+    }
+
+    /**
+     * Copies a field into a string.
+     *
+     * @param i the index of the field, below the capacity
+     * @return the field
+     */
+    public String field(int i) {
+        return text.subSequence(starts[i], ends[i]).toString();
+    }
+
+    /**
+     * Checks whether a field is empty.
+     *
+     * @param i the index of the field, below the capacity
+     * @return {@code true} if the field has no characters
+     */
+    public boolean isEmpty(int i) {
+        return starts[i] == ends[i];
+    }
+
+    /**
+     * Checks whether a field equals the given string, without copying it.
+     *
+     * @param i the index of the field, below the capacity
+     * @param value the string to compare with
+     * @return {@code true} if the field holds the same characters
+     */
+    public boolean fieldEquals(int i, String value) {
+        int start = starts[i];
+        int length = ends[i] - start;
+        if (length != value.length()) {
+            return false;
+        }
+        for (int k = 0; k < length; k++) {
+            if (text.charAt(start + k) != value.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a field as a decimal integer, without copying it.
+     *
+     * @param i the index of the field, below the capacity
+     * @return the integer
+     * @throws NumberFormatException if the field is not an integer, as
+     *                               {@link Integer#parseInt(String)} would
+     */
+    public int parseInt(int i) {
+        return Integer.parseInt(text, starts[i], ends[i], 10);
+    }
+}
\ No newline at end of file
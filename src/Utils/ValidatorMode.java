@@ -0,0 +1,16 @@
+package Utils;
+
+/**
+ * Implementations {@link InputValidator} can use to validate input.
+ */
+public enum ValidatorMode {
+
+    /** Matches input against the regular expressions. */
+    REGEX,
+
+    /**
+     * Checks input with the single-pass, allocation-free
+     * {@link ScanningValidator}.
+     */
+    SCANNER
+}
\ No newline at end of file
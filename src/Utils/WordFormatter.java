@@ -1,5 +1,7 @@
 package Utils;
 
+import java.util.Locale;
+
 /**
  * Utility class for formatting words.
  * <p>
@@ -26,4 +28,51 @@ public class WordFormatter {
                 : word.substring(0, 1).toUpperCase()
                 + word.substring(1).toLowerCase();
     }
+
+    /**
+     * Capitalises a word held in part of a longer text, as
+     * {@link #capitalise(String)} does, without copying the word first.
+     *
+     * <p>ASCII words are converted in place into the result. Other words,
+     * whose case conversion can depend on the locale or change their
+     * length, are handed to {@link #capitalise(String)}.</p>
+     *
+     * @param text the text holding the word
+     * @param start the offset of the first character of the word
+     * @param end the offset just past the last character of the word
+     * @return the word with the first letter capitalised and the rest in
+     * lowercase
+     */
+    public static String capitalise(CharSequence text, int start, int end) {
+        if (start == end) {
+            return "";
+        }
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80 || ((c == 'i' || c == 'I') && !asciiCaseOfI())) {
+                return capitalise(text.subSequence(start, end).toString());
+            }
+            if (i == start) {
+                if (c >= 'a' && c <= 'z') {
+                    c -= 'a' - 'A';
+                }
+            } else if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            chars[i - start] = c;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Checks whether the default locale converts the case of {@code i} and
+     * {@code I} to each other, which Turkish and Azerbaijani do not.
+     *
+     * @return {@code true} if the case of i converts as in English
+     */
+    private static boolean asciiCaseOfI() {
+        String language = Locale.getDefault().getLanguage();
+        return !language.equals("tr") && !language.equals("az");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package Client;
+
+import Receiver.ConcurrentReceiver;
+import Utils.FileManager;
+import Utils.StoreFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link CommandServer} over real connections.
+ */
+class CommandServerTest {
+
+    /** Directory holding the data file of a test. */
+    @TempDir
+    Path directory;
+
+    /**
+     * A client connection that sends one command at a time and reads its
+     * response.
+     */
+    private static final class Connection implements AutoCloseable {
+
+        /** Socket of the connection. */
+        private final Socket socket;
+
+        /** Reader of the responses. */
+        private final BufferedReader reader;
+
+        /** Writer of the commands. */
+        private final PrintWriter writer;
+
+        /**
+         * Connects to a server on the loopback address.
+         *
+         * @param port the port of the server
+         * @throws IOException if the connection fails
+         */
+        Connection(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            reader = new BufferedReader(new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.UTF_8
+            ));
+            writer = new PrintWriter(socket.getOutputStream(), true,
+                    StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Sends a command and reads its response, up to the empty line
+         * that ends it.
+         *
+         * @param command the command to send
+         * @return the lines of the response
+         * @throws IOException if the connection fails or is closed
+         */
+        List<String> send(String command) throws IOException {
+            writer.println(command);
+            List<String> lines = new ArrayList<>();
+            String line;
+            while (!(line = reader.readLine()).isEmpty()) {
+                lines.add(line);
+            }
+            return lines;
+        }
+
+        /**
+         * Closes the connection.
+         *
+         * @throws IOException if the socket cannot be closed
+         */
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    /**
+     * Opens a receiver on a data file in the test directory.
+     *
+     * @return the receiver
+     */
+    private ConcurrentReceiver receiver() {
+        return new ConcurrentReceiver(new FileManager(
+                directory.resolve("store.txt"), StoreFormat.TEXT
+        ));
+    }
+
+    /**
+     * Each connection gets the output of its own commands, and standard
+     * output is left alone.
+     *
+     * @throws IOException if a connection fails
+     */
+    @Test
+    void responsesGoToTheirConnection() throws IOException {
+        PrintStream stdout = System.out;
+        try (CommandServer server = new CommandServer(receiver(), 0);
+             Connection first = new Connection(server.getPort());
+             Connection second = new Connection(server.getPort())) {
+            assertSame(stdout, System.out);
+            assertEquals(List.of("Add"), first.send("add Ann Lee a@x.com"));
+            assertEquals(List.of("Add"), second.send("add Bob Lim b@x.com"));
+            assertEquals(
+                    List.of("List", "01. Ann Lee a@x.com",
+                            "02. Bob Lim b@x.com"),
+                    second.send("list")
+            );
+            assertEquals(List.of("Find", "02. Bob Lim b@x.com"),
+                    first.send("find email b@x.com"));
+            assertEquals(List.of("Error: Unknown command nope."),
+                    first.send("nope"));
+        }
+        assertSame(stdout, System.out);
+    }
+
+    /**
+     * Finds and lists running while other connections add and delete
+     * records always get a complete response, and never lose their
+     * connection.
+     *
+     * @throws Exception if a connection fails
+     */
+    @Test
+    void readsRaceWritesWithoutFailing() throws Exception {
+        try (CommandServer server = new CommandServer(receiver(), 0)) {
+            int port = server.getPort();
+            List<Thread> threads = new ArrayList<>();
+            List<Throwable> errors = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                boolean writer = t % 2 == 0;
+                Thread thread = new Thread(() -> {
+                    try (Connection connection = new Connection(port)) {
+                        for (int i = 0; i < 300; i++) {
+                            if (writer) {
+                                connection.send("add A B same@x.com");
+                                connection.send("delete 1");
+                            } else {
+                                List<String> found = connection.send(
+                                        "find email same@x.com"
+                                );
+                                assertEquals("Find", found.get(0));
+                                connection.send("list");
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                thread.setUncaughtExceptionHandler(
+                        (failed, e) -> {
+                            synchronized (errors) {
+                                errors.add(e);
+                            }
+                        }
+                );
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(errors.isEmpty(), errors::toString);
+        }
+    }
+}
\ No newline at end of file
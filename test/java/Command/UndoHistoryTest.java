@@ -0,0 +1,259 @@
+package Command;
+
+import Invoker.Invoker;
+import Receiver.Receiver;
+import Utils.FileManager;
+import Utils.StoreFormat;
+import Utils.StringSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link UndoHistory} against a model that keeps a copy of the
+ * entries after every recorded command.
+ */
+class UndoHistoryTest {
+
+    /** Names used by the generated commands. */
+    private static final String[] NAMES = {"Ann", "Bob", "Cy", "Dee"};
+
+    /** Directory holding the data file and import files of a test. */
+    @TempDir
+    Path directory;
+
+    /** Receiver the commands run on. */
+    private Receiver receiver;
+
+    /** Output of the receiver and the invoker. */
+    private StringSink output;
+
+    /** Invoker running the commands. */
+    private Invoker invoker;
+
+    /**
+     * Creates an empty receiver on a data file in the test directory.
+     */
+    @BeforeEach
+    void createReceiver() {
+        receiver = new Receiver(new FileManager(
+                directory.resolve("store.txt"), StoreFormat.TEXT
+        ));
+        output = new StringSink();
+        receiver.setOutput(output);
+        invoker = new Invoker(output);
+    }
+
+    /**
+     * Random adds, updates, deletes, batches and imports, mixed with undos
+     * and redos, always leave the entries the model expects at the cursor.
+     *
+     * @throws IOException if an import file cannot be written
+     */
+    @Test
+    void undoAndRedoFollowModel() throws IOException {
+        UndoHistory history = new UndoHistory();
+        List<List<String>> states = new ArrayList<>();
+        states.add(entries());
+        int cursor = 0;
+        Random random = new Random(12);
+
+        for (int step = 0; step < 3000; step++) {
+            int choice = random.nextInt(10);
+            if (choice < 2) {
+                if (cursor > 0) {
+                    invoker.executeCommand(
+                            new UndoCommand(receiver, history), history
+                    );
+                    cursor--;
+                } else {
+                    assertTrue(history.isEmpty());
+                }
+            } else if (choice < 3) {
+                if (cursor + 1 < states.size()) {
+                    invoker.executeCommand(
+                            new RedoCommand(receiver, history), history
+                    );
+                    cursor++;
+                } else {
+                    assertFalse(history.canRedo());
+                }
+            } else {
+                int before = history.size();
+                execute(random, history);
+                if (history.size() > before) {
+                    states.subList(cursor + 1, states.size()).clear();
+                    states.add(entries());
+                    cursor++;
+                }
+            }
+            assertEquals(states.get(cursor), entries(), "step " + step);
+            assertEquals(cursor, history.size());
+        }
+    }
+
+    /**
+     * Undoing and redoing an import prints one line each, like every other
+     * undone or redone change.
+     *
+     * @throws IOException if the import file cannot be written
+     */
+    @Test
+    void importUndoAndRedoPrint() throws IOException {
+        UndoHistory history = new UndoHistory();
+        Path file = directory.resolve("import.txt");
+        Files.write(file, List.of("Ann Lee a@x.com", "Bob Ray b@y.com"));
+        invoker.executeImport(receiver, file, history);
+        output.take();
+
+        history.undo(receiver);
+        assertEquals("Undo" + System.lineSeparator(), output.take());
+        assertEquals(0, receiver.size());
+        history.redo(receiver);
+        assertEquals("Redo" + System.lineSeparator(), output.take());
+        assertEquals(2, receiver.size());
+    }
+
+    /**
+     * The fields kept to redo an undone import count against the byte
+     * budget, and are dropped when they exceed it, without dropping the
+     * older units that can still be undone.
+     *
+     * @throws IOException if the import file cannot be written
+     */
+    @Test
+    void redoDataCountsAgainstBudget() throws IOException {
+        UndoHistory history = new UndoHistory(100, 4096);
+        invoker.executeCommand(
+                new AddCommand(receiver, "Ann Lee a@x.com"), history
+        );
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            lines.add("First" + i + " Last" + i + " user" + i + "@x.com");
+        }
+        Path file = directory.resolve("import.txt");
+        Files.write(file, lines);
+        invoker.executeImport(receiver, file, history);
+        assertEquals(201, receiver.size());
+
+        history.undo(receiver);
+        assertEquals(1, receiver.size());
+        assertFalse(history.canRedo());
+        assertTrue(history.estimatedBytes() <= 4096);
+        assertEquals(1, history.size());
+        history.undo(receiver);
+        assertEquals(0, receiver.size());
+    }
+
+    /**
+     * The oldest units are dropped once the history is deeper than its
+     * maximum depth.
+     */
+    @Test
+    void oldestUnitsDroppedAtMaxDepth() {
+        UndoHistory history = new UndoHistory(3, UndoHistory.DEFAULT_MAX_BYTES);
+        for (int i = 0; i < 5; i++) {
+            invoker.executeCommand(new AddCommand(
+                    receiver, "Ann Lee a" + i + "@x.com"
+            ), history);
+        }
+        assertEquals(3, history.size());
+        for (int i = 0; i < 3; i++) {
+            history.undo(receiver);
+        }
+        assertTrue(history.isEmpty());
+        assertEquals(2, receiver.size());
+    }
+
+    /**
+     * Executes a random command, which may be invalid.
+     *
+     * @param random the source of randomness
+     * @param history the history to record the command in
+     * @throws IOException if an import file cannot be written
+     */
+    private void execute(Random random, UndoHistory history)
+            throws IOException {
+        int choice = random.nextInt(10);
+        if (choice < 4) {
+            invoker.executeCommand(new AddCommand(receiver, entry(random)),
+                    history);
+        } else if (choice < 6) {
+            invoker.executeCommand(new UpdateCommand(receiver,
+                    index(random) + " " + name(random)
+                    + (random.nextBoolean() ? " " + name(random) : "")
+            ), history);
+        } else if (choice < 8) {
+            invoker.executeCommand(
+                    new DeleteCommand(receiver, index(random)), history
+            );
+        } else if (choice < 9) {
+            Command[] commands = new Command[1 + random.nextInt(3)];
+            for (int i = 0; i < commands.length; i++) {
+                commands[i] = random.nextBoolean()
+                        ? new AddCommand(receiver, entry(random))
+                        : new DeleteCommand(receiver, index(random));
+            }
+            invoker.executeBatch(receiver, commands, history);
+        } else {
+            List<String> lines = new ArrayList<>();
+            for (int i = random.nextInt(4); i >= 0; i--) {
+                lines.add(random.nextInt(4) == 0 ? "bad" : entry(random));
+            }
+            Path file = directory.resolve("import.txt");
+            Files.write(file, lines);
+            invoker.executeImport(receiver, file, history);
+        }
+    }
+
+    /**
+     * Generates the parameters of a valid add.
+     *
+     * @param random the source of randomness
+     * @return the parameters
+     */
+    private static String entry(Random random) {
+        return name(random) + " " + name(random) + " e"
+                + random.nextInt(100) + "@x.com";
+    }
+
+    /**
+     * Picks a name.
+     *
+     * @param random the source of randomness
+     * @return the name
+     */
+    private static String name(Random random) {
+        return NAMES[random.nextInt(NAMES.length)];
+    }
+
+    /**
+     * Picks a one-based index, sometimes past the end of the entries.
+     *
+     * @param random the source of randomness
+     * @return the index
+     */
+    private String index(Random random) {
+        return String.valueOf(1 + random.nextInt(receiver.size() + 2));
+    }
+
+    /**
+     * Copies the current entries.
+     *
+     * @return the entries in their text form
+     */
+    private List<String> entries() {
+        return new ArrayList<>(receiver.getDataEntries());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package Invoker;
+
+import Command.AddCommand;
+import Command.UndoCommand;
+import Utils.InvalidInputException;
+import Utils.Metrics;
+import Utils.OutputSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link StoreRegistry} with several named stores used at once.
+ */
+class StoreRegistryTest {
+
+    /** Number of records added to each store. */
+    private static final int ADDS = 300;
+
+    /** Directory holding the data files of the stores. */
+    @TempDir
+    Path directory;
+
+    /**
+     * Two stores opened and changed from two threads at once each keep
+     * their own records, data file and history.
+     *
+     * @throws Exception if a thread is interrupted or a file cannot be read
+     */
+    @Test
+    void namedStoresAreIndependent() throws Exception {
+        StoreRegistry registry = new StoreRegistry(directory);
+        String[] names = {"alpha", "beta"};
+        int[] undos = {0, 100};
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> failures =
+                new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < names.length; t++) {
+            String name = names[t];
+            int undoCount = undos[t];
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    Store store = registry.open(name);
+                    store.getReceiver().setOutput(OutputSink.QUIET);
+                    for (int i = 0; i < ADDS; i++) {
+                        store.execute(new AddCommand(store.getReceiver(),
+                                record(name, i)));
+                    }
+                    for (int i = 0; i < undoCount; i++) {
+                        store.execute(new UndoCommand(store.getReceiver(),
+                                store.getHistory()));
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(60));
+        }
+        assertTrue(failures.isEmpty(), () -> failures.toString());
+
+        for (int t = 0; t < names.length; t++) {
+            Store store = registry.open(names[t]);
+            int kept = ADDS - undos[t];
+            assertEquals(kept, store.getReceiver().size());
+            assertEquals(kept, store.historyDepth());
+            assertEquals(Long.valueOf(kept), Metrics.values()
+                    .get("store." + names[t] + ".history.depth"));
+        }
+        registry.closeAll();
+
+        for (int t = 0; t < names.length; t++) {
+            List<String> lines = Files.readAllLines(
+                    directory.resolve(names[t] + ".txt")
+            );
+            int kept = ADDS - undos[t];
+            assertEquals(kept, lines.size());
+            for (int i = 0; i < kept; i++) {
+                assertEquals(record(names[t], i), lines.get(i));
+            }
+        }
+    }
+
+    /**
+     * A closed store rejects commands, and opening it again loads its
+     * records with an empty history.
+     *
+     * @throws IOException if the data file cannot be read
+     */
+    @Test
+    void closedStoreRejectsCommands() throws IOException {
+        StoreRegistry registry = new StoreRegistry(directory);
+        Store store = registry.open("gamma");
+        store.getReceiver().setOutput(OutputSink.QUIET);
+        store.execute(new AddCommand(store.getReceiver(),
+                record("gamma", 0)));
+        registry.close("gamma");
+
+        assertThrows(InvalidInputException.class, () -> store.execute(
+                new AddCommand(store.getReceiver(), record("gamma", 1))
+        ));
+        assertEquals(List.of(record("gamma", 0)),
+                Files.readAllLines(directory.resolve("gamma.txt")));
+
+        Store reopened = registry.open("gamma");
+        assertNotSame(store, reopened);
+        assertEquals(1, reopened.getReceiver().size());
+        assertEquals(0, reopened.historyDepth());
+        registry.closeAll();
+    }
+
+    /**
+     * Builds the record with the given number of a store, in the form it is
+     * saved in.
+     *
+     * @param name the name of the store
+     * @param i the number of the record
+     * @return the record
+     */
+    private static String record(String name, int i) {
+        String first = Character.toUpperCase(name.charAt(0))
+                + name.substring(1);
+        return first + i + " R" + i + " " + name + i + "@x.com";
+    }
+}
\ No newline at end of file
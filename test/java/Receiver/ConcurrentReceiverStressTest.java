@@ -0,0 +1,262 @@
+package Receiver;
+
+import Command.AddCommand;
+import Command.Command;
+import Command.UndoHistory;
+import Invoker.Invoker;
+import Utils.FileManager;
+import Utils.OutputSink;
+import Utils.StoreFormat;
+import Utils.StringSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress test of {@link ConcurrentReceiver}: writers add and delete records
+ * while readers list, copy and look them up, and a saver saves the store,
+ * all at the same time. Batches, which save while holding the write lock,
+ * also race with saves from other threads.
+ *
+ * <p>Every record is written as {@code T<thread> R<n> t<thread>r<n>@x.com},
+ * so a record whose fields were torn apart by a race is detected by its
+ * form alone.</p>
+ */
+class ConcurrentReceiverStressTest {
+
+    /** Number of threads adding and deleting records. */
+    private static final int WRITERS = 4;
+
+    /** Number of threads reading records. */
+    private static final int READERS = 2;
+
+    /** Number of adds or deletes made by each writer. */
+    private static final int OPERATIONS = 4000;
+
+    /** Number of batches executed by each batching thread. */
+    private static final int BATCHES = 300;
+
+    /** Longest time the batches and saves may take, in seconds. */
+    private static final int BATCH_TIMEOUT_SECONDS = 60;
+
+    /** Form of a record. */
+    private static final Pattern RECORD =
+            Pattern.compile("T(\\d+) R(\\d+) t\\1r\\2@x\\.com");
+
+    /** Form of a listed line. */
+    private static final Pattern LINE =
+            Pattern.compile("\\d+\\. T(\\d+) R(\\d+) t\\1r\\2@x\\.com");
+
+    /** Directory holding the data file of the test. */
+    @TempDir
+    Path directory;
+
+    /**
+     * Records stay well-formed under concurrent reads and writes, and the
+     * store ends up with exactly the records added and not deleted, which
+     * are also what a fresh receiver loads from the saved file.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    void concurrentAddDeleteListFind() throws InterruptedException {
+        Path file = directory.resolve("store.txt");
+        ConcurrentReceiver receiver = new ConcurrentReceiver(
+                new FileManager(file, StoreFormat.TEXT)
+        );
+        StringSink listed = new StringSink();
+        receiver.setOutput(listed);
+
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<Throwable> failures =
+                new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        List<Thread> others = new ArrayList<>();
+
+        for (int t = 0; t < WRITERS; t++) {
+            int id = t;
+            writers.add(thread(failures, start, () -> {
+                for (int n = 0; n < OPERATIONS; n++) {
+                    if (n % 3 == 2) {
+                        if (receiver.delete(0)) {
+                            deleted.incrementAndGet();
+                        }
+                    } else {
+                        receiver.add("T" + id, "R" + n,
+                                "t" + id + "r" + n + "@x.com");
+                        added.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (int t = 0; t < READERS; t++) {
+            others.add(thread(failures, start, () -> {
+                int n = 0;
+                while (writing.get()) {
+                    for (String entry : receiver.getDataEntries()) {
+                        assertTrue(RECORD.matcher(entry).matches(), entry);
+                    }
+                    receiver.list(0, 20);
+                    for (int index : receiver.findByLastName("R" + n)) {
+                        assertTrue(index >= 0);
+                    }
+                    n = (n + 1) % OPERATIONS;
+                }
+            }));
+        }
+        others.add(thread(failures, start, () -> {
+            while (writing.get()) {
+                receiver.storeToFile();
+            }
+        }));
+
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        writing.set(false);
+        for (Thread other : others) {
+            other.join();
+        }
+        assertTrue(failures.isEmpty(), () -> failures.peek().toString());
+
+        List<String> entries = receiver.getDataEntries();
+        assertEquals(added.get() - deleted.get(), receiver.size());
+        assertEquals(receiver.size(), entries.size());
+        Set<String> distinct = new HashSet<>(entries);
+        assertEquals(entries.size(), distinct.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertTrue(RECORD.matcher(entries.get(i)).matches());
+            assertArrayEquals(new int[] {i},
+                    receiver.findByEmail(receiver.getEmail(i)));
+        }
+        for (String line : listed.take().split(System.lineSeparator())) {
+            assertTrue(line.isEmpty() || LINE.matcher(line).matches(), line);
+        }
+
+        receiver.storeToFile();
+        Receiver reloaded = new Receiver(
+                new FileManager(file, StoreFormat.TEXT)
+        );
+        assertEquals(entries, new ArrayList<>(reloaded.getDataEntries()));
+    }
+
+    /**
+     * Batches run inside {@link ConcurrentReceiver#atomically(Runnable)}
+     * save while holding the write lock, racing with saves from other
+     * threads. Neither may wait for the other forever, and every batch is
+     * kept and saved.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    void batchesRaceSaves() throws InterruptedException {
+        Path file = directory.resolve("store.txt");
+        ConcurrentReceiver receiver = new ConcurrentReceiver(
+                new FileManager(file, StoreFormat.TEXT)
+        );
+        receiver.setOutput(OutputSink.QUIET);
+
+        AtomicBoolean batching = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<Throwable> failures =
+                new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> batchers = new ArrayList<>();
+        List<Thread> savers = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            int id = t;
+            batchers.add(thread(failures, start, () -> {
+                Invoker invoker = new Invoker(OutputSink.QUIET);
+                UndoHistory history = new UndoHistory();
+                for (int n = 0; n < BATCHES; n++) {
+                    Command[] commands = new Command[3];
+                    for (int i = 0; i < commands.length; i++) {
+                        int record = n * commands.length + i;
+                        commands[i] = new AddCommand(receiver, "T" + id
+                                + " R" + record + " t" + id + "r" + record
+                                + "@x.com");
+                    }
+                    receiver.atomically(() -> invoker.executeBatch(
+                            receiver, commands, history
+                    ));
+                }
+            }));
+        }
+        for (int t = 0; t < 2; t++) {
+            savers.add(thread(failures, start, () -> {
+                while (batching.get()) {
+                    receiver.storeToFile();
+                }
+            }));
+        }
+
+        start.countDown();
+        long deadline = System.nanoTime()
+                + TimeUnit.SECONDS.toNanos(BATCH_TIMEOUT_SECONDS);
+        for (Thread batcher : batchers) {
+            batcher.join(Math.max(1,
+                    TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())
+            ));
+            assertFalse(batcher.isAlive(), "Batch and save deadlocked");
+        }
+        batching.set(false);
+        for (Thread saver : savers) {
+            saver.join(TimeUnit.SECONDS.toMillis(BATCH_TIMEOUT_SECONDS));
+            assertFalse(saver.isAlive(), "Save and batch deadlocked");
+        }
+        assertTrue(failures.isEmpty(), () -> failures.peek().toString());
+
+        List<String> entries = receiver.getDataEntries();
+        assertEquals(2 * BATCHES * 3, entries.size());
+        for (String entry : entries) {
+            assertTrue(RECORD.matcher(entry).matches(), entry);
+        }
+        Receiver reloaded = new Receiver(
+                new FileManager(file, StoreFormat.TEXT)
+        );
+        assertEquals(entries, new ArrayList<>(reloaded.getDataEntries()));
+    }
+
+    /**
+     * Starts a daemon thread that waits for the start signal and then runs an
+     * action, recording anything it throws.
+     *
+     * @param failures where to record what the action throws
+     * @param start the start signal
+     * @param action the action to run
+     * @return the started thread
+     */
+    private static Thread thread(ConcurrentLinkedQueue<Throwable> failures,
+                                 CountDownLatch start, Runnable action) {
+        Thread thread = new Thread(() -> {
+            try {
+                start.await();
+                action.run();
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
\ No newline at end of file
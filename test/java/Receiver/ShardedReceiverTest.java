@@ -0,0 +1,155 @@
+package Receiver;
+
+import Utils.Durability;
+import Utils.FileManager;
+import Utils.PersistenceMode;
+import Utils.StoreFormat;
+import Utils.StringSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that a {@link ShardedReceiver} behaves as one list, against a model
+ * list of the entries.
+ */
+class ShardedReceiverTest {
+
+    /** Number of shards of the stores under test. */
+    private static final int SHARDS = 3;
+
+    /** Directory holding the shard files and the order file. */
+    @TempDir
+    Path directory;
+
+    /**
+     * Opens the sharded store kept in the test directory.
+     *
+     * @return the store
+     */
+    private ShardedReceiver open() {
+        Path file = directory.resolve("store.txt");
+        ShardedReceiver receiver = new ShardedReceiver(
+                ShardedReceiver.fileManagers(
+                        file, SHARDS, PersistenceMode.SNAPSHOT,
+                        StoreFormat.TEXT, Durability.NONE
+                ),
+                ShardedReceiver.orderFile(file)
+        );
+        receiver.setOutput(new StringSink());
+        return receiver;
+    }
+
+    /**
+     * Every add appends at the end of the whole list, whatever shard the
+     * record is stored in, and earlier records keep their indices.
+     */
+    @Test
+    void addAppendsAtGlobalEnd() {
+        ShardedReceiver receiver = open();
+        List<String> model = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String email = "user" + i + "@example.com";
+            assertEquals(i, receiver.add("First" + i, "Last", email));
+            model.add("First" + i + " Last " + email);
+            assertEquals(model, receiver.getDataEntries());
+        }
+    }
+
+    /**
+     * Random adds, updates, deletes and inserts leave the entries and the
+     * lookups the model expects, and the order survives a reload.
+     */
+    @Test
+    void operationsFollowModel() {
+        ShardedReceiver receiver = open();
+        List<String> model = new ArrayList<>();
+        Random random = new Random(17);
+
+        for (int step = 0; step < 5000; step++) {
+            int choice = random.nextInt(10);
+            String last = "L" + random.nextInt(5);
+            String email = "e" + random.nextInt(50) + "@x.com";
+            if (choice < 4 || model.isEmpty()) {
+                String entry = "F" + step + " " + last + " " + email;
+                assertEquals(model.size(), receiver.add("F" + step, last,
+                        email));
+                model.add(entry);
+            } else if (choice < 6) {
+                int index = random.nextInt(model.size());
+                receiver.delete(index);
+                model.remove(index);
+            } else if (choice < 8) {
+                int index = random.nextInt(model.size() + 1);
+                receiver.insertAtIndex(index, "I" + step, last, email);
+                model.add(index, "I" + step + " " + last + " " + email);
+            } else {
+                int index = random.nextInt(model.size());
+                receiver.update(index, null, last, email);
+                String first = model.get(index).split(" ")[0];
+                model.set(index, first + " " + last + " " + email);
+            }
+            assertEquals(model.size(), receiver.size());
+            if (step % 250 == 0) {
+                assertEquals(model, receiver.getDataEntries());
+                assertArrayEquals(find(model, 2, email),
+                        receiver.findByEmail(email));
+                assertArrayEquals(find(model, 1, last),
+                        receiver.findByLastName(last));
+            }
+        }
+        assertEquals(model, receiver.getDataEntries());
+
+        receiver.storeToFile();
+        assertEquals(model, open().getDataEntries());
+    }
+
+    /**
+     * Without an order file, the records of each shard follow those of the
+     * shard before.
+     *
+     * @throws IOException if the order file cannot be deleted
+     */
+    @Test
+    void missingOrderFileListsShardByShard() throws IOException {
+        ShardedReceiver receiver = open();
+        for (int i = 0; i < 30; i++) {
+            receiver.add("F" + i, "L", "e" + i + "@x.com");
+        }
+        receiver.storeToFile();
+        Files.delete(ShardedReceiver.orderFile(directory.resolve("store.txt")));
+
+        List<String> expected = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            expected.addAll(Files.readAllLines(
+                    directory.resolve("store-" + shard + ".txt")
+            ));
+        }
+        assertEquals(expected, open().getDataEntries());
+    }
+
+    /**
+     * Finds the indices of the model entries with the given field.
+     *
+     * @param model the entries
+     * @param field the number of the field: 1 for the last name, 2 for the
+     *              email
+     * @param value the value to look for
+     * @return the indices, in ascending order
+     */
+    private static int[] find(List<String> model, int field, String value) {
+        return IntStream.range(0, model.size())
+                .filter(i -> model.get(i).split(" ")[field].equals(value))
+                .toArray();
+    }
+}
\ No newline at end of file
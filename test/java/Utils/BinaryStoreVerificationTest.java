@@ -0,0 +1,119 @@
+package Utils;
+
+import Receiver.Receiver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that a binary data file that fails verification is reported, and
+ * is never replaced by a save.
+ */
+class BinaryStoreVerificationTest {
+
+    /** Entries written to the data file before it is damaged. */
+    private static final List<String> ENTRIES = List.of(
+            "Ann Lee a@x.com", "Bob Ray b@y.org", "Cy Dee c@z.io"
+    );
+
+    /** Directory holding the data file of a test. */
+    @TempDir
+    Path directory;
+
+    /**
+     * An intact file loads back the entries written to it.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Test
+    void intactFileLoads() throws IOException {
+        Path file = write();
+        assertEquals(ENTRIES,
+                new FileManager(file, StoreFormat.BINARY).loadFromFile());
+    }
+
+    /**
+     * A flipped byte fails the checksum, and the file is left as it was.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Test
+    void checksumMismatchIsNotOverwritten() throws IOException {
+        Path file = write();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 2] ^= 1;
+        Files.write(file, bytes);
+        assertRejected(file, bytes);
+    }
+
+    /**
+     * A truncated file fails to load, and is left as it was.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Test
+    void truncatedFileIsNotOverwritten() throws IOException {
+        Path file = write();
+        byte[] bytes = Arrays.copyOf(Files.readAllBytes(file), 20);
+        Files.write(file, bytes);
+        assertRejected(file, bytes);
+    }
+
+    /**
+     * A file with another magic number fails to load, and is left as it
+     * was.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Test
+    void badMagicIsNotOverwritten() throws IOException {
+        Path file = write();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[0] ^= 1;
+        Files.write(file, bytes);
+        assertRejected(file, bytes);
+    }
+
+    /**
+     * Writes the entries to a binary data file with a checksum.
+     *
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    private Path write() throws IOException {
+        Path file = directory.resolve("store.bin");
+        BinaryDataFile.write(file, ENTRIES, true);
+        return file;
+    }
+
+    /**
+     * Checks that a damaged file fails to load, both through a file manager
+     * and a receiver, that the file manager then refuses to save, and that
+     * the file keeps its bytes.
+     *
+     * @param file the damaged file
+     * @param bytes the bytes of the damaged file
+     * @throws IOException if the file cannot be read
+     */
+    private static void assertRejected(Path file, byte[] bytes)
+            throws IOException {
+        FileManager fileManager = new FileManager(file, StoreFormat.BINARY);
+        assertThrows(UncheckedIOException.class, fileManager::loadFromFile);
+        assertThrows(UncheckedIOException.class,
+                () -> fileManager.saveToFile(List.of("Tom Cat tc@cat.com")));
+        assertThrows(UncheckedIOException.class, () -> new Receiver(
+                new FileManager(file, StoreFormat.BINARY)
+        ));
+        assertArrayEquals(bytes, Files.readAllBytes(file));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Differential test of {@link Tokenizer} against {@code String.split(" ")}
+ * and {@link Integer#parseInt(String)}, on random parameter strings.
+ */
+class TokenizerTest {
+
+    /** Characters the random texts are made of, weighted towards spaces. */
+    private static final String ALPHABET = "   ab1-9+0Z\u00e9";
+
+    /** Number of random texts compared. */
+    private static final int TEXTS = 200_000;
+
+    /**
+     * Builds a random text of up to {@code maxLength} characters.
+     *
+     * @param random the source of randomness
+     * @param maxLength the longest text to build
+     * @return the text
+     */
+    private static String randomText(Random random, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Every field, and the number of fields, is the same as split by
+     * {@code String.split(" ")}, and fields compare and parse the same as
+     * their copies.
+     */
+    @Test
+    void splitsAsStringSplit() {
+        Tokenizer tokenizer = new Tokenizer(16);
+        Random random = new Random(24);
+        for (int n = 0; n < TEXTS; n++) {
+            String text = randomText(random, 12);
+            String[] expected = text.split(" ");
+            assertEquals(expected.length, tokenizer.split(text), text);
+            assertEquals(expected.length, tokenizer.count(), text);
+            for (int i = 0; i < expected.length; i++) {
+                String field = expected[i];
+                assertEquals(field, tokenizer.field(i), text);
+                assertEquals(field,
+                        text.substring(tokenizer.start(i), tokenizer.end(i)),
+                        text);
+                assertEquals(field.isEmpty(), tokenizer.isEmpty(i), text);
+                assertTrue(tokenizer.fieldEquals(i, field), text);
+                assertFalse(tokenizer.fieldEquals(i, field + "x"), text);
+                assertParsesAsParseInt(tokenizer, i, field);
+            }
+        }
+    }
+
+    /**
+     * Fields past the capacity of the tokenizer are still counted, and the
+     * recorded ones are still correct.
+     */
+    @Test
+    void countsFieldsPastCapacity() {
+        Tokenizer tokenizer = Tokenizer.local();
+        Random random = new Random(25);
+        for (int n = 0; n < TEXTS / 10; n++) {
+            String text = randomText(random, 40);
+            String[] expected = text.split(" ");
+            assertEquals(expected.length, tokenizer.split(text), text);
+            for (int i = 0; i < Math.min(expected.length, 8); i++) {
+                assertEquals(expected[i], tokenizer.field(i), text);
+            }
+        }
+    }
+
+    /**
+     * Checks that a field parses in place to the same integer as
+     * {@link Integer#parseInt(String)} gives for its copy, or fails as it
+     * does.
+     *
+     * @param tokenizer the tokenizer holding the field
+     * @param i the index of the field
+     * @param field the copy of the field
+     */
+    private static void assertParsesAsParseInt(Tokenizer tokenizer, int i,
+                                               String field) {
+        int expected;
+        try {
+            expected = Integer.parseInt(field);
+        } catch (NumberFormatException e) {
+            assertThrows(NumberFormatException.class,
+                    () -> tokenizer.parseInt(i), field);
+            return;
+        }
+        assertEquals(expected, tokenizer.parseInt(i), field);
+    }
+}
\ No newline at end of file
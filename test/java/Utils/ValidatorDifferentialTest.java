@@ -0,0 +1,123 @@
+package Utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link ValidatorMode#REGEX} and {@link ValidatorMode#SCANNER}
+ * accept and reject exactly the same inputs, over the corpus in
+ * {@code validator-corpus.txt}.
+ *
+ * <p>The corpus holds one input per line, and is read as is, including any
+ * leading or trailing whitespace. It starts with hand-written edge cases of
+ * the email and string rules, followed by mutations of valid emails and
+ * random strings.</p>
+ */
+class ValidatorDifferentialTest {
+
+    /** Name of the corpus resource, next to this class. */
+    private static final String CORPUS = "validator-corpus.txt";
+
+    /**
+     * Restores the default validator after each test.
+     */
+    @AfterEach
+    void restoreMode() {
+        InputValidator.setMode(ValidatorMode.SCANNER);
+    }
+
+    /**
+     * Both implementations give the same result for every email in the
+     * corpus.
+     *
+     * @throws IOException if the corpus cannot be read
+     */
+    @Test
+    void emailsAgree() throws IOException {
+        int accepted = 0;
+        for (String input : corpus()) {
+            InputValidator.setMode(ValidatorMode.REGEX);
+            boolean regex = InputValidator.validate_email(input);
+            InputValidator.setMode(ValidatorMode.SCANNER);
+            boolean scanner = InputValidator.validate_email(input);
+            assertEquals(regex, scanner, "validate_email(\"" + input + "\")");
+            if (regex) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted > 0, "corpus has no valid email");
+    }
+
+    /**
+     * Both implementations give the same result for every string in the
+     * corpus.
+     *
+     * @throws IOException if the corpus cannot be read
+     */
+    @Test
+    void stringsAgree() throws IOException {
+        int accepted = 0;
+        for (String input : corpus()) {
+            InputValidator.setMode(ValidatorMode.REGEX);
+            boolean regex = InputValidator.validate_string(input);
+            InputValidator.setMode(ValidatorMode.SCANNER);
+            boolean scanner = InputValidator.validate_string(input);
+            assertEquals(regex, scanner,
+                    "validate_string(\"" + input + "\")");
+            if (regex) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted > 0, "corpus has no valid string");
+    }
+
+    /**
+     * The corpus covers the cases the email rules single out.
+     *
+     * @throws IOException if the corpus cannot be read
+     */
+    @Test
+    void corpusCoversEdgeCases() throws IOException {
+        List<String> corpus = corpus();
+        assertTrue(corpus.contains("john.doe@example.com"));
+        assertTrue(corpus.contains(".a@b.com"));
+        assertTrue(corpus.contains("a..b@c.com"));
+        assertTrue(corpus.contains("a@b.comm"));
+        assertTrue(corpus.contains("\u00e9@b.com"));
+        assertFalse(InputValidator.validate_email("a@b.comm"));
+    }
+
+    /**
+     * Reads the corpus, one input per line.
+     *
+     * @return the inputs
+     * @throws IOException if the corpus cannot be read
+     */
+    private static List<String> corpus() throws IOException {
+        InputStream stream =
+                ValidatorDifferentialTest.class.getResourceAsStream(CORPUS);
+        assertNotNull(stream, "missing " + CORPUS);
+        List<String> inputs = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                inputs.add(line);
+            }
+        }
+        return inputs;
+    }
+}
\ No newline at end of file
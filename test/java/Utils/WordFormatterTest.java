@@ -0,0 +1,80 @@
+package Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test of {@link WordFormatter#capitalise(CharSequence, int,
+ * int)} against {@link WordFormatter#capitalise(String)}.
+ */
+class WordFormatterTest {
+
+    /**
+     * Characters the random words are made of, including ones whose case
+     * conversion depends on the locale or changes their length.
+     */
+    private static final String ALPHABET =
+            "aBzZiI09-_.\u00e9\u00c9\u00df\u0130\u0131";
+
+    /**
+     * Checks random words held in a longer text against the String-based
+     * method, in the current default locale.
+     *
+     * @param seed the seed of the random words
+     */
+    private static void assertCapitalisesAsString(long seed) {
+        Random random = new Random(seed);
+        for (int n = 0; n < 100_000; n++) {
+            int length = random.nextInt(10);
+            StringBuilder text = new StringBuilder("x ");
+            for (int i = 0; i < length; i++) {
+                text.append(
+                        ALPHABET.charAt(random.nextInt(ALPHABET.length()))
+                );
+            }
+            text.append(" y");
+            String word = text.substring(2, 2 + length);
+            assertEquals(WordFormatter.capitalise(word),
+                    WordFormatter.capitalise(text, 2, 2 + length), word);
+        }
+    }
+
+    /**
+     * Words give the same result in place as copied, in English.
+     */
+    @Test
+    void capitalisesAsStringInEnglish() {
+        withLocale(Locale.ENGLISH, () -> assertCapitalisesAsString(1));
+    }
+
+    /**
+     * Words give the same result in place as copied in Turkish, where
+     * {@code i} and {@code I} are not each other's case.
+     */
+    @Test
+    void capitalisesAsStringInTurkish() {
+        withLocale(Locale.forLanguageTag("tr-TR"),
+                () -> assertCapitalisesAsString(2));
+    }
+
+    /**
+     * Runs a check with the given default locale, restoring the previous
+     * one afterwards.
+     *
+     * @param locale the default locale to run with
+     * @param check the check to run
+     */
+    private static void withLocale(Locale locale, Runnable check) {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(locale);
+        try {
+            check.run();
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+}
\ No newline at end of file